@@ -1,5 +1,6 @@
 package net.slipcor.pvparena;
 
+import net.slipcor.pvparena.api.AsyncPlaceholderLoader;
 import net.slipcor.pvparena.api.PVPArenaPlaceholderExpansion;
 import net.slipcor.pvparena.arena.Arena;
 import net.slipcor.pvparena.arena.ArenaClass;
@@ -8,8 +9,10 @@ import net.slipcor.pvparena.commands.*;
 import net.slipcor.pvparena.config.Debugger;
 import net.slipcor.pvparena.config.SpawnOffset;
 import net.slipcor.pvparena.core.Config.CFG;
+import net.slipcor.pvparena.core.ConfigSaveScheduler;
 import net.slipcor.pvparena.core.Language;
 import net.slipcor.pvparena.core.Language.MSG;
+import net.slipcor.pvparena.core.PlayerStateJournal;
 import net.slipcor.pvparena.core.StringParser;
 import net.slipcor.pvparena.listeners.BlockListener;
 import net.slipcor.pvparena.listeners.EntityListener;
@@ -22,6 +25,12 @@ import net.slipcor.pvparena.loadables.ArenaRegionShapeManager;
 import net.slipcor.pvparena.managers.ArenaManager;
 import net.slipcor.pvparena.managers.TabManager;
 import net.slipcor.pvparena.managers.WorkflowManager;
+import net.slipcor.pvparena.matchmaking.DuelMatchmaker;
+import net.slipcor.pvparena.modules.elo.ELORatingStore;
+import net.slipcor.pvparena.runnables.DurabilityResetService;
+import net.slipcor.pvparena.statistics.PlayerArenaStatsWriter;
+import net.slipcor.pvparena.statistics.StatsLeaderboardCache;
+import net.slipcor.pvparena.statistics.connector.ConnectionPool;
 import net.slipcor.pvparena.statistics.connector.DatabaseConnector;
 import net.slipcor.pvparena.statistics.connector.MySqlConnector;
 import net.slipcor.pvparena.statistics.connector.SQLiteConnector;
@@ -75,6 +84,7 @@ public class PVPArena extends JavaPlugin {
     private UpdateChecker updateChecker;
     private SpawnOffset spawnOffset;
     private boolean shuttingDown;
+    private boolean onlyPVPinArena;
 
     public static PVPArena getInstance() {
         return instance;
@@ -137,6 +147,13 @@ public class PVPArena extends JavaPlugin {
         return this.shuttingDown;
     }
 
+    /**
+     * @return true if PVP is only allowed between arena players
+     */
+    public boolean isOnlyPVPinArena() {
+        return this.onlyPVPinArena;
+    }
+
     private void loadArenaCommands() {
         this.arenaCommands.add(new PAA_ArenaClassChest());
         this.arenaCommands.add(new PAA_BlackList());
@@ -183,6 +200,7 @@ public class PVPArena extends JavaPlugin {
 
     private void loadGlobalCommands() {
         this.globalCommands.add(new PAA_Create());
+        this.globalCommands.add(new PAA_DatabasePool());
         this.globalCommands.add(new PAA_Debug());
         this.globalCommands.add(new PAA_Modules());
         this.globalCommands.add(new PAA_ReloadAll());
@@ -323,8 +341,16 @@ public class PVPArena extends JavaPlugin {
     @Override
     public void onDisable() {
         this.shuttingDown = true;
+        DuelMatchmaker.shutdown();
+        PlayerArenaStatsWriter.shutdown();
+        StatsLeaderboardCache.shutdown();
+        AsyncPlaceholderLoader.shutdown();
         ofNullable(this.dbConnector).ifPresent(DatabaseConnector::closeConnection);
         ArenaManager.reset(true);
+        ELORatingStore.shutdown();
+        DurabilityResetService.shutdown();
+        ConfigSaveScheduler.shutdown();
+        PlayerStateJournal.shutdown();
         Debugger.destroy();
         ofNullable(this.getUpdateChecker()).ifPresent(UpdateChecker::runOnDisable);
         Language.logInfo(MSG.GENERAL_PLUGIN_DISABLED, this.getDescription().getFullName());
@@ -353,6 +379,7 @@ public class PVPArena extends JavaPlugin {
         new File(this.getDataFolder().getPath() + "/dumps").mkdir();
         new File(this.getDataFolder().getPath() + "/files").mkdir();
         new File(this.getDataFolder().getPath() + "/templates").mkdir();
+        PlayerStateJournal.init(new File(this.getDataFolder().getPath() + "/dumps"));
 
         FileConfiguration cfg = this.getConfig();
         List<String> toDelete = cfg.getStringList("todelete");
@@ -428,21 +455,25 @@ public class PVPArena extends JavaPlugin {
             this.wandItem = Material.STICK;
         }
 
+        this.onlyPVPinArena = this.getConfig().getBoolean("onlyPVPinArena");
         this.spawnOffset = new SpawnOffset(this.getConfig().getConfigurationSection("spawnOffset"));
+        ConfigSaveScheduler.init(this.getConfig().getConfigurationSection("configSave"));
+        DuelMatchmaker.init(this.getConfig().getConfigurationSection("duelQueue"));
     }
 
     private void loadDatabase() {
         Configuration config = this.getConfig();
         if(config.getBoolean("stats")) {
             String dbType = config.getString("database.type");
+            ConnectionPool.Settings poolSettings = ConnectionPool.Settings.fromConfig(config.getConfigurationSection("database.pool"), 5);
 
             if("sqlite".equalsIgnoreCase(dbType)) {
                 PVPArena.getInstance().getLogger().info("Using SQLite database");
-                this.dbConnector = new SQLiteConnector();
+                this.dbConnector = new SQLiteConnector(poolSettings);
             } else if("mysql".equalsIgnoreCase(dbType)) {
                 PVPArena.getInstance().getLogger().info("Using MySQL database");
                 ConfigurationSection mysqlSection = config.getConfigurationSection("database.mysql");
-                this.dbConnector = new MySqlConnector(mysqlSection);
+                this.dbConnector = new MySqlConnector(mysqlSection, poolSettings);
             } else {
                 this.getLogger().severe("Invalid database type in config.yml (valid types: sqlite, mysql)");
                 throw new RuntimeException();
@@ -456,6 +487,8 @@ public class PVPArena extends JavaPlugin {
             }
 
             this.dbConnector.initDatabase();
+            PlayerArenaStatsWriter.init(config.getConfigurationSection("database.writeBehind"));
+            StatsLeaderboardCache.init(config.getConfigurationSection("database.leaderboard"));
         }
     }
 
@@ -0,0 +1,154 @@
+package net.slipcor.pvparena.api;
+
+import net.slipcor.pvparena.config.Debugger;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Non-blocking loading of placeholders needing database data
+ *
+ * When a value is missing or outdated, the last known value (or a configurable loading value) is returned right
+ * away and a single background load is scheduled for this placeholder. Next requests get the loaded value.
+ * Null values (failed parsing or query) are only kept for a second, so they're loaded again soon.
+ * If non-blocking mode is disabled, values are loaded directly by the calling thread.
+ */
+public final class AsyncPlaceholderLoader {
+    private static final int MAX_ENTRIES = 1024;
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 10;
+    private static final long NULL_VALUE_TTL_MILLIS = 1000;
+
+    private static AsyncPlaceholderLoader instance;
+
+    private final boolean nonBlocking;
+    private final String loadingValue;
+    private final long refreshIntervalMillis;
+    private final ExecutorService executor;
+
+    private final Map<String, LoadedValue> values = Collections.synchronizedMap(
+            new LinkedHashMap<String, LoadedValue>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LoadedValue> eldest) {
+                    return this.size() > MAX_ENTRIES;
+                }
+            });
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private AsyncPlaceholderLoader(boolean nonBlocking, String loadingValue, long refreshIntervalMillis) {
+        this.nonBlocking = nonBlocking;
+        this.loadingValue = loadingValue;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-Placeholders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the loader with the "placeholders" settings of the global config
+     * @param config placeholders config section, can be null
+     */
+    public static void init(ConfigurationSection config) {
+        shutdown();
+        boolean nonBlocking = ofNullable(config).map(cfg -> cfg.getBoolean("nonBlocking", true)).orElse(true);
+        String loadingValue = ofNullable(config).map(cfg -> cfg.getString("loadingValue", "...")).orElse("...");
+        long refreshInterval = ofNullable(config).map(cfg -> cfg.getLong("refreshInterval", DEFAULT_REFRESH_INTERVAL_SECONDS)).orElse(DEFAULT_REFRESH_INTERVAL_SECONDS);
+        instance = new AsyncPlaceholderLoader(nonBlocking, loadingValue, Math.max(0, refreshInterval) * 1000);
+    }
+
+    public static AsyncPlaceholderLoader getInstance() {
+        if (instance == null) {
+            init(null);
+        }
+        return instance;
+    }
+
+    /**
+     * @return the running loader if placeholders are hooked, null otherwise
+     */
+    public static AsyncPlaceholderLoader getInstanceIfStarted() {
+        return instance;
+    }
+
+    public static void shutdown() {
+        if (instance != null) {
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * Get a placeholder value
+     * @param key unique key of the placeholder value (identifier and context)
+     * @param loader loads the value, called from a background thread in non-blocking mode
+     * @return the loaded value, the last known one or the loading value if not loaded yet
+     */
+    public String get(String key, Supplier<String> loader) {
+        if (!this.nonBlocking) {
+            return loader.get();
+        }
+
+        final LoadedValue loaded = this.values.get(key);
+        if (loaded != null && System.currentTimeMillis() - loaded.loadTime < this.getTimeToLive(loaded)) {
+            this.hitCount.incrementAndGet();
+            return loaded.value;
+        }
+
+        this.missCount.incrementAndGet();
+        if (this.inFlight.add(key)) {
+            this.executor.execute(() -> {
+                try {
+                    this.values.put(key, new LoadedValue(loader.get()));
+                } catch (RuntimeException e) {
+                    Debugger.trace("Exception caught while loading placeholder '{}': {}", key, e);
+                } finally {
+                    this.inFlight.remove(key);
+                }
+            });
+        }
+        return (loaded == null) ? this.loadingValue : loaded.value;
+    }
+
+    private long getTimeToLive(LoadedValue loaded) {
+        return (loaded.value == null) ? Math.min(NULL_VALUE_TTL_MILLIS, this.refreshIntervalMillis) : this.refreshIntervalMillis;
+    }
+
+    public boolean isNonBlocking() {
+        return this.nonBlocking;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    private static final class LoadedValue {
+        private final String value;
+        private final long loadTime = System.currentTimeMillis();
+
+        private LoadedValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package net.slipcor.pvparena.api;
 
 import me.clip.placeholderapi.PlaceholderAPI;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import net.slipcor.pvparena.PVPArena;
 import net.slipcor.pvparena.arena.Arena;
 import net.slipcor.pvparena.arena.ArenaPlayer;
 import net.slipcor.pvparena.arena.ArenaTeam;
@@ -10,15 +11,16 @@ import net.slipcor.pvparena.core.Config;
 import net.slipcor.pvparena.managers.ArenaManager;
 import net.slipcor.pvparena.modules.ELORating;
 import net.slipcor.pvparena.modules.elo.ELODatabase;
-import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDao;
-import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDaoImpl;
-import net.slipcor.pvparena.statistics.model.PlayerArenaStats;
+import net.slipcor.pvparena.modules.elo.ELORatingStore;
+import net.slipcor.pvparena.statistics.StatsLeaderboardCache;
+import net.slipcor.pvparena.statistics.model.LeaderboardEntry;
 import net.slipcor.pvparena.statistics.model.StatEntry;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -30,7 +32,12 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
 
     private final PlaceholderMultilineCache cache = new PlaceholderMultilineCache();
 
-    public PVPArenaPlaceholderExpansion() {}
+    private final AsyncPlaceholderLoader loader;
+
+    public PVPArenaPlaceholderExpansion() {
+        AsyncPlaceholderLoader.init(PVPArena.getInstance().getConfig().getConfigurationSection("placeholders"));
+        this.loader = AsyncPlaceholderLoader.getInstance();
+    }
 
     /**
      * Name of the Expansion author
@@ -119,7 +126,7 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
     }
 
     private String colorPlayer(PlaceholderArgs phArgs) {
-        ArenaTeam team =  phArgs.getArena().getEveryone().stream()
+        ArenaTeam team =  phArgs.getArena().getMembership().getEveryone().stream()
                 .filter(ap -> ap.getName().equalsIgnoreCase(phArgs.getArg(2)))
                 .findAny()
                 .map(ArenaPlayer::getArenaTeam)
@@ -142,7 +149,7 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
     private String getCapacityPlaceholder(PlaceholderArgs phArgs) {
         Arena arena = phArgs.getArena();
         if(phArgs.getArgsLength() <= 2) {
-            int nbPlayers = arena.getFighters().size();
+            int nbPlayers = arena.getMembership().getFighters().size();
             int maxPlayers = arena.getConfig().getInt(Config.CFG.READY_MAXPLAYERS);
             return this.getFormattedCapacity(nbPlayers, maxPlayers);
 
@@ -165,18 +172,21 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
     }
 
     private String getArenaStatsPlaceholder(PlaceholderArgs phArgs) {
-        PlayerArenaStatsDao statsDao = PlayerArenaStatsDaoImpl.getInstance();
-        try {
-            int rowIndex = Integer.parseInt(phArgs.getArg(4));
-            if(rowIndex >= 0 && rowIndex < MULTILINE_LIMIT) {
-                StatEntry statEntry = StatEntry.parse(phArgs.getArg(2));
-                Supplier<List<PlayerArenaStats>> statsSupplier = () -> statsDao.findBestStatByArena(statEntry, phArgs.getArena(), MULTILINE_LIMIT);
-                return this.cache.getPlayerStat(phArgs, statEntry, statsSupplier).get(rowIndex);
+        String arenaUuid = phArgs.getArena().getConfig().getString(Config.CFG.ID);
+        return this.loader.get(phArgs.getIdentifier(), () -> {
+            try {
+                int rowIndex = Integer.parseInt(phArgs.getArg(4));
+                if (rowIndex >= 0 && rowIndex < MULTILINE_LIMIT) {
+                    StatEntry statEntry = StatEntry.parse(phArgs.getArg(2));
+                    Supplier<List<LeaderboardEntry>> statsSupplier = () -> StatsLeaderboardCache.getInstance().getTop(arenaUuid, statEntry, MULTILINE_LIMIT)
+                            .orElse(Collections.emptyList());
+                    return this.cache.getPlayerStat(phArgs, statsSupplier).get(rowIndex);
+                }
+            } catch (NullPointerException | NumberFormatException | IndexOutOfBoundsException e) {
+                Debugger.trace("Exception caught while parsing stat placeholder '{}': {}", phArgs.getIdentifier(), e);
             }
-        } catch (NullPointerException | NumberFormatException | IndexOutOfBoundsException e) {
-            Debugger.trace("Exception caught while parsing stat placeholder '{}': {}", phArgs.getIdentifier(), e);
-        }
-        return null;
+            return null;
+        });
     }
 
     private String getScorePlaceholder(PlaceholderArgs phArgs) {
@@ -213,13 +223,35 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
             return null; // ELO module not enabled
         }
 
+        // Use per-arena ELO if context player is in an arena with per-arena ELO enabled
+        String arenaUUID = null;
+        if (contextPlayer != null && contextPlayer.getPlayer() != null) {
+            Arena currentArena = ArenaPlayer.fromPlayer(contextPlayer.getPlayer()).getArena();
+            if (currentArena != null) {
+                ELORating eloModule = currentArena.getMods().stream()
+                        .filter(mod -> mod instanceof ELORating)
+                        .map(mod -> (ELORating) mod)
+                        .findFirst()
+                        .orElse(null);
+                if (eloModule != null && eloModule.isPerArena()) {
+                    arenaUUID = currentArena.getName();
+                }
+            }
+        }
+
+        final String contextArenaUUID = arenaUUID;
+        return this.loader.get(String.format("%s|%s", identifier, contextArenaUUID),
+                () -> this.loadELOPlaceholder(eloDatabase, params, contextArenaUUID));
+    }
+
+    private String loadELOPlaceholder(ELODatabase eloDatabase, String[] params, String arenaUUID) {
         String action = params[1].toLowerCase();
 
         // %pvpa_elo_top_<rank>% or %pvpa_elo_top_<rank>_rating%
         if ("top".equals(action) && params.length >= 3) {
             try {
                 int rank = Integer.parseInt(params[2]);
-                Map<String, Double> topRatings = eloDatabase.getTopRatings(rank + 1, null); // Global ELO
+                Map<String, Double> topRatings = ELORatingStore.getInstance().getTopRatings(eloDatabase, rank + 1, null); // Global ELO
                 
                 if (topRatings.isEmpty() || rank >= topRatings.size()) {
                     return "N/A";
@@ -252,43 +284,14 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
             targetPlayerName = String.join("_", java.util.Arrays.copyOfRange(params, 1, params.length - 1));
         }
 
-        // Try to get player by name first (online), then by UUID lookup
-        OfflinePlayer targetPlayer = Bukkit.getPlayerExact(targetPlayerName);
-        if (targetPlayer == null) {
-            // Try offline player lookup (deprecated but needed for offline players)
-            targetPlayer = Bukkit.getOfflinePlayer(targetPlayerName);
-        }
-        if (targetPlayer == null || targetPlayer.getUniqueId() == null) {
+        String playerUUID = this.findPlayerUUID(targetPlayerName);
+        if (playerUUID == null) {
             return "N/A";
         }
 
-        String playerUUID = targetPlayer.getUniqueId().toString();
-        double rating = eloDatabase.getPlayerRating(playerUUID, null, 1000.0); // Global ELO
-
-        // Determine if per-arena ELO should be used
-        Arena currentArena = null;
-        if (contextPlayer != null && contextPlayer.getPlayer() != null) {
-            ArenaPlayer aPlayer = ArenaPlayer.fromPlayer(contextPlayer.getPlayer());
-            currentArena = aPlayer.getArena();
-        }
-
-        // Check if any arena has per-arena ELO enabled
-        String arenaUUID = null;
-        if (currentArena != null) {
-            ELORating eloModule = currentArena.getMods().stream()
-                    .filter(mod -> mod instanceof ELORating)
-                    .map(mod -> (ELORating) mod)
-                    .findFirst()
-                    .orElse(null);
-            if (eloModule != null && eloModule.isPerArena()) {
-                arenaUUID = currentArena.getName();
-                rating = eloDatabase.getPlayerRating(playerUUID, arenaUUID, 1000.0);
-            }
-        }
-
         // %pvpa_elo_<player>_rank%
         if (params.length >= 3 && "rank".equalsIgnoreCase(params[params.length - 1])) {
-            Map<String, Double> topRatings = eloDatabase.getTopRatings(1000, arenaUUID); // Get large list
+            Map<String, Double> topRatings = ELORatingStore.getInstance().getTopRatings(eloDatabase, 1000, arenaUUID); // Get large list
             List<Map.Entry<String, Double>> sorted = topRatings.entrySet().stream()
                     .sorted((a, b) -> Double.compare(b.getValue(), a.getValue()))
                     .collect(java.util.stream.Collectors.toList());
@@ -302,6 +305,7 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
         }
 
         // %pvpa_elo_<player>_rating% or %pvpa_elo_<player>%
+        double rating = ELORatingStore.getInstance().getRating(eloDatabase, playerUUID, arenaUUID, 1000.0);
         return String.format("%.0f", rating);
     }
 
@@ -332,19 +336,30 @@ public class PVPArenaPlaceholderExpansion extends PlaceholderExpansion {
             }
         }
 
-        // Try to get player by name first (online), then by UUID lookup
+        final String targetPlayerName = playerName;
+        return this.loader.get(String.format("%s|%s", phArgs.getIdentifier(), targetPlayerName), () -> {
+            String playerUUID = this.findPlayerUUID(targetPlayerName);
+            if (playerUUID == null) {
+                return "N/A";
+            }
+            double rating = ELORatingStore.getInstance().getRating(eloDatabase, playerUUID, arenaUUID, 1000.0);
+            return String.format("%.0f", rating);
+        });
+    }
+
+    /**
+     * Find the UUID of a player by name, online players first
+     */
+    private String findPlayerUUID(String playerName) {
         OfflinePlayer targetPlayer = Bukkit.getPlayerExact(playerName);
         if (targetPlayer == null) {
             // Try offline player lookup (deprecated but needed for offline players)
             targetPlayer = Bukkit.getOfflinePlayer(playerName);
         }
         if (targetPlayer == null || targetPlayer.getUniqueId() == null) {
-            return "N/A";
+            return null;
         }
-
-        String playerUUID = targetPlayer.getUniqueId().toString();
-        double rating = eloDatabase.getPlayerRating(playerUUID, arenaUUID, 1000.0);
-        return String.format("%.0f", rating);
+        return targetPlayer.getUniqueId().toString();
     }
 
     /**
@@ -1,18 +1,28 @@
 package net.slipcor.pvparena.api;
 
 import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.events.PADeathEvent;
+import net.slipcor.pvparena.events.PAEndEvent;
+import net.slipcor.pvparena.events.PAJoinEvent;
+import net.slipcor.pvparena.events.PAKillEvent;
+import net.slipcor.pvparena.events.PALeaveEvent;
+import net.slipcor.pvparena.events.PAStartEvent;
+import net.slipcor.pvparena.events.goal.PAGoalEvent;
 import net.slipcor.pvparena.managers.WorkflowManager;
-import net.slipcor.pvparena.statistics.model.PlayerArenaStats;
-import net.slipcor.pvparena.statistics.model.StatEntry;
+import net.slipcor.pvparena.statistics.StatsLeaderboardCache;
+import net.slipcor.pvparena.statistics.model.LeaderboardEntry;
 import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 import static java.util.Arrays.asList;
@@ -21,23 +31,39 @@ import static net.slipcor.pvparena.arena.PlayerStatus.*;
 
 /**
  * Cache class used to limit DB/code calls when multiline placeholders are displayed. Stores a cache of a response for a
- * common placeholder identifier (eg: pvpa_mystat for placeholders pvpa_mystat_1 and pvpa_mystat_2). This cache provide
- * a kind of garbage collector which each tick will clear outdated cached response and will mark as "outdated" current
- * cache values. In consequences, cache will be stored for a duration of only two ticks.
+ * common placeholder identifier (eg: pvpa_mystat for placeholders pvpa_mystat_1 and pvpa_mystat_2).
+ *
+ * Each placeholder family has its own time to live. Score lines are also dropped as soon as something changes in
+ * their arena (kills, deaths, goal events, joins and leaves) and stat lines as soon as stat leaderboards are updated.
+ * So static leaderboards stay cached for minutes while live scores are refreshed on change. The cache size is
+ * bounded, least recently used lines are dropped first.
  */
-public class PlaceholderMultilineCache {
-    private final ConcurrentMap<String, List<String>> cacheMap;
-    private final List<String> purgeableKeys;
+public class PlaceholderMultilineCache implements Listener {
+    private static final int MAX_ENTRIES = 256;
 
-    public PlaceholderMultilineCache() {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.purgeableKeys = new ArrayList<>();
+    /**
+     * Placeholder families, with the max time their lines are kept without any invalidation
+     */
+    enum Family {
+        STATS(300_000),
+        SCORE(5_000);
 
-        Bukkit.getScheduler().runTaskTimer(PVPArena.getInstance(), () -> {
-                purgeableKeys.forEach(cacheMap::remove);
-                purgeableKeys.clear();
-                purgeableKeys.addAll(cacheMap.keySet());
-        }, 1, 0);
+        private final long ttlMillis;
+
+        Family(long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+    }
+
+    private final Map<String, CacheEntry> cacheMap = new LinkedHashMap<String, CacheEntry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return this.size() > MAX_ENTRIES;
+        }
+    };
+
+    public PlaceholderMultilineCache() {
+        Bukkit.getPluginManager().registerEvents(this, PVPArena.getInstance());
     }
 
     /**
@@ -46,101 +72,160 @@ public class PlaceholderMultilineCache {
      * the response.
      *
      * @param phArgs Placeholder arguments
-     * @param statEntry The stat asked by user (eg: WINS)
-     * @param statsSupplier The supplier of statistics (that executing SQL requests)
+     * @param statsSupplier The supplier of leaderboard lines
      * @return list of interpreted placeholders
      */
-    public List<String> getPlayerStat(PlaceholderArgs phArgs, StatEntry statEntry, Supplier<List<PlayerArenaStats>> statsSupplier) {
-        String commonId = phArgs.getIdentifierUntil(2);
-        String accessKey = phArgs.getIdentifierUntil(3);
-        return ofNullable(this.cacheMap.get(accessKey))
-                .orElseGet(() -> {
-                    List<PlayerArenaStats> statsList = statsSupplier.get();
-                    String scoreKey = String.format("%s_%s", commonId, "score");
-                    String playerKey = String.format("%s_%s", commonId, "player");
-                    List<String> scoreListCache = new ArrayList<>();
-                    List<String> playerListCache = new ArrayList<>();
-                    statsList.forEach(st -> {
-                        ofNullable(st.getPlayerName()).ifPresent(playerName -> {
-                            scoreListCache.add(st.getValueByStatType(statEntry).toString());
-                            playerListCache.add(playerName);
-                        });
-                    });
-                    this.cacheMap.put(scoreKey, scoreListCache);
-                    this.cacheMap.put(playerKey, playerListCache);
-                    return this.cacheMap.get(accessKey);
-                });
+    public List<String> getPlayerStat(PlaceholderArgs phArgs, Supplier<List<LeaderboardEntry>> statsSupplier) {
+        final long statsVersion = StatsLeaderboardCache.getInstance().getVersion();
+        return this.get(phArgs, 2, Family.STATS, statsVersion, () -> {
+            List<String> scoreListCache = new ArrayList<>();
+            List<String> playerListCache = new ArrayList<>();
+            statsSupplier.get().forEach(st ->
+                    ofNullable(st.getPlayerName()).ifPresent(playerName -> {
+                        scoreListCache.add(String.valueOf(st.getValue()));
+                        playerListCache.add(playerName);
+                    }));
+            Map<String, List<String>> lines = new HashMap<>();
+            lines.put("score", scoreListCache);
+            lines.put("player", playerListCache);
+            return lines;
+        });
     }
 
     /**
      * Returns the list of interpreted placeholder for FFA score.
-     * Ask for the cache and if it is empty, make the request passed the supplier and refill the cache before returning
-     * the response.
+     * Ask for the cache and if it is empty, compute scores and refill the cache before returning the response.
      *
      * @param phArgs Placeholder arguments
      * @return list of interpreted placeholders
      */
     public List<String> getFreeForAllScore(PlaceholderArgs phArgs) {
-        String commonId = phArgs.getIdentifierUntil(1);
-        String accessKey = phArgs.getIdentifierUntil(2);
-        return ofNullable(this.cacheMap.get(accessKey))
-                .orElseGet(() -> {
-                    Map<String, String> sortableMap = new HashMap<>();
-                    List<String> scoreListCache = new ArrayList<>();
-                    List<String> playerListCache = new ArrayList<>();
-                    String scoreKey = String.format("%s_%s", commonId, "value");
-                    String playerKey = String.format("%s_%s", commonId, "player");
-                    phArgs.getArena().getEveryone().forEach(arenaPlayer -> {
-                        int value = WorkflowManager.handleGetLives(phArgs.getArena(), arenaPlayer);
-                        if (value >= 0 && asList(FIGHT, DEAD, LOST).contains(arenaPlayer.getStatus())) {
-                            sortableMap.put(arenaPlayer.getName(), String.valueOf(value));
-                        }
-                    });
-                    sortableMap.entrySet().stream()
-                            .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
-                            .forEach(entry -> {
-                                playerListCache.add(entry.getKey());
-                                scoreListCache.add(entry.getValue());
-                            });
-                    this.cacheMap.put(scoreKey, scoreListCache);
-                    this.cacheMap.put(playerKey, playerListCache);
-                    return this.cacheMap.get(accessKey);
-                });
+        return this.get(phArgs, 1, Family.SCORE, 0, () -> {
+            Map<String, Integer> sortableMap = new HashMap<>();
+            phArgs.getArena().getMembership().getEveryone().forEach(arenaPlayer -> {
+                int value = WorkflowManager.handleGetLives(phArgs.getArena(), arenaPlayer);
+                if (value >= 0 && asList(FIGHT, DEAD, LOST).contains(arenaPlayer.getStatus())) {
+                    sortableMap.put(arenaPlayer.getName(), value);
+                }
+            });
+            return toSortedLines(sortableMap, "player");
+        });
     }
 
     /**
      * Returns the list of interpreted placeholder for Team score.
-     * Ask for the cache and if it is empty, make the request passed the supplier and refill the cache before returning
-     * the response.
+     * Ask for the cache and if it is empty, compute scores and refill the cache before returning the response.
      *
      * @param phArgs Placeholder arguments
      * @return list of interpreted placeholders
      */
     public List<String> getTeamsScore(PlaceholderArgs phArgs) {
-        String commonId = phArgs.getIdentifierUntil(1);
-        String accessKey = phArgs.getIdentifierUntil(2);
-        return ofNullable(this.cacheMap.get(accessKey))
-                .orElseGet(() -> {
-                    Map<String, String> sortableMap = new HashMap<>();
-                    List<String> scoreListCache = new ArrayList<>();
-                    List<String> teamListCache = new ArrayList<>();
-                    String scoreKey = String.format("%s_%s", commonId, "value");
-                    String teamKey = String.format("%s_%s", commonId, "team");
-                    phArgs.getArena().getTeams().forEach(team ->
-                        team.getTeamMembers().stream().findAny().ifPresent(randomTeamPlayer -> {
-                            int value = WorkflowManager.handleGetLives(phArgs.getArena(), randomTeamPlayer);
-                            sortableMap.put(team.getName(), String.valueOf(value));
-                        })
-                    );
-                    sortableMap.entrySet().stream()
-                            .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
-                            .forEach(entry -> {
-                                teamListCache.add(entry.getKey());
-                                scoreListCache.add(entry.getValue());
-                            });
-                    this.cacheMap.put(scoreKey, scoreListCache);
-                    this.cacheMap.put(teamKey, teamListCache);
-                    return this.cacheMap.get(accessKey);
+        return this.get(phArgs, 1, Family.SCORE, 0, () -> {
+            Map<String, Integer> sortableMap = new HashMap<>();
+            phArgs.getArena().getTeams().forEach(team ->
+                    team.getTeamMembers().stream().findAny().ifPresent(randomTeamPlayer -> {
+                        int value = WorkflowManager.handleGetLives(phArgs.getArena(), randomTeamPlayer);
+                        sortableMap.put(team.getName(), value);
+                    })
+            );
+            return toSortedLines(sortableMap, "team");
+        });
+    }
+
+    /**
+     * Drop cached lines of an arena
+     *
+     * @param arena the arena
+     * @param family the placeholder family to drop
+     */
+    public void invalidate(Arena arena, Family family) {
+        synchronized (this.cacheMap) {
+            this.cacheMap.values().removeIf(entry -> entry.family == family && entry.arenaName.equals(arena.getName()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onKill(PAKillEvent event) {
+        this.invalidate(event.getArena(), Family.SCORE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PADeathEvent event) {
+        this.invalidate(event.getArena(), Family.SCORE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onGoal(PAGoalEvent event) {
+        ofNullable(event.getArena()).ifPresent(arena -> this.invalidate(arena, Family.SCORE));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PAJoinEvent event) {
+        this.invalidate(event.getArena(), Family.SCORE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLeave(PALeaveEvent event) {
+        this.invalidate(event.getArena(), Family.SCORE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onStart(PAStartEvent event) {
+        this.invalidate(event.getArena(), Family.SCORE);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEnd(PAEndEvent event) {
+        this.invalidate(event.getArena(), Family.SCORE);
+    }
+
+    private List<String> get(PlaceholderArgs phArgs, int commonIdIndex, Family family, long version,
+                             Supplier<Map<String, List<String>>> loader) {
+        final String commonId = phArgs.getIdentifierUntil(commonIdIndex);
+        final String lineKey = phArgs.getArg(commonIdIndex + 1);
+        final long now = System.currentTimeMillis();
+
+        CacheEntry entry;
+        synchronized (this.cacheMap) {
+            entry = this.cacheMap.get(commonId);
+        }
+        if (entry == null || entry.expiresAt < now || entry.version != version) {
+            entry = new CacheEntry(phArgs.getArena().getName(), family, version, now + family.ttlMillis, loader.get());
+            synchronized (this.cacheMap) {
+                this.cacheMap.put(commonId, entry);
+            }
+        }
+        return entry.lines.get(lineKey);
+    }
+
+    private static Map<String, List<String>> toSortedLines(Map<String, Integer> sortableMap, String nameKey) {
+        List<String> valueListCache = new ArrayList<>();
+        List<String> nameListCache = new ArrayList<>();
+        sortableMap.entrySet().stream()
+                .sorted(Collections.reverseOrder(Map.Entry.comparingByValue()))
+                .forEach(entry -> {
+                    nameListCache.add(entry.getKey());
+                    valueListCache.add(String.valueOf(entry.getValue()));
                 });
+        Map<String, List<String>> lines = new HashMap<>();
+        lines.put("value", valueListCache);
+        lines.put(nameKey, nameListCache);
+        return lines;
+    }
+
+    private static final class CacheEntry {
+        private final String arenaName;
+        private final Family family;
+        private final long version;
+        private final long expiresAt;
+        private final Map<String, List<String>> lines;
+
+        private CacheEntry(String arenaName, Family family, long version, long expiresAt, Map<String, List<String>> lines) {
+            this.arenaName = arenaName;
+            this.family = family;
+            this.version = version;
+            this.expiresAt = expiresAt;
+            this.lines = lines;
+        }
     }
 }
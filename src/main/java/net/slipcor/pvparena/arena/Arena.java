@@ -26,6 +26,7 @@ import net.slipcor.pvparena.managers.TeamManager;
 import net.slipcor.pvparena.managers.TeleportManager;
 import net.slipcor.pvparena.managers.WorkflowManager;
 import net.slipcor.pvparena.regions.ArenaRegion;
+import net.slipcor.pvparena.regions.RegionChunkIndex;
 import net.slipcor.pvparena.regions.RegionProtection;
 import net.slipcor.pvparena.regions.RegionType;
 import net.slipcor.pvparena.runnables.StartRunnable;
@@ -91,6 +92,8 @@ public class Arena {
 
     private Set<PABlock> blocks = new HashSet<>();
     private Set<PASpawn> spawns = new HashSet<>();
+    private ArenaSpawnIndex spawnIndex;
+    private SpawnProtectionZones spawnProtectionZones;
 
     private final Map<Player, UUID> entities = new HashMap<>();
 
@@ -113,8 +116,10 @@ public class Arena {
     public BukkitRunnable startRunner;
 
     private Config config;
+    private ArenaCombatRules combatRules;
     private long startTime;
     private ArenaScoreboard scoreboard = null;
+    private final ArenaMembership membership = new ArenaMembership();
 
     private ArenaTimer timer;
 
@@ -130,6 +135,18 @@ public class Arena {
         return this.config;
     }
 
+    /**
+     * @return combat rules of the current config, built again after config changes
+     */
+    public ArenaCombatRules getCombatRules() {
+        ArenaCombatRules rules = this.combatRules;
+        if (rules == null || !rules.isUpToDate(this.config)) {
+            rules = new ArenaCombatRules(this.config);
+            this.combatRules = rules;
+        }
+        return rules;
+    }
+
     public Set<PABlock> getBlocks() {
         return this.blocks;
     }
@@ -184,11 +201,20 @@ public class Arena {
 
     /**
      * hand over everyone being part of the arena
+     *
+     * @return a copy, safe to use while players join or leave. Read-only loops should use {@link #getMembership()}
      */
     public Set<ArenaPlayer> getEveryone() {
-        return ArenaPlayer.getAllArenaPlayers().stream()
-                .filter(ap -> this.equals(ap.getArena()))
-                .collect(Collectors.toSet());
+        return new HashSet<>(this.membership.getEveryone());
+    }
+
+    /**
+     * hand over the player index of the arena
+     *
+     * @return live views of everyone, fighters, spectators and players by status
+     */
+    public ArenaMembership getMembership() {
+        return this.membership;
     }
 
     public boolean isFightInProgress() {
@@ -196,7 +222,7 @@ public class Arena {
     }
 
     public Set<ArenaPlayer> getFighters() {
-        return this.teams.stream().flatMap(team -> team.getTeamMembers().stream()).collect(Collectors.toSet());
+        return new HashSet<>(this.membership.getFighters());
     }
 
     public boolean isFreeForAll() {
@@ -220,6 +246,7 @@ public class Arena {
 
         if (goal.isFreeForAll()) {
             this.teams.clear();
+            this.membership.clearFighters();
             this.teams.add(new ArenaTeam("free", "WHITE"));
         }
 
@@ -270,6 +297,7 @@ public class Arena {
 
     public void setLocked(final boolean locked) {
         this.locked = locked;
+        ArenaManager.getAvailabilityIndex().update(this);
     }
 
     public String getName() {
@@ -348,6 +376,17 @@ public class Arena {
         return this.teams;
     }
 
+    /**
+     * remove a team, its members are not fighters anymore
+     *
+     * @param team the team to remove
+     */
+    public void removeTeam(final ArenaTeam team) {
+        if (team != null && this.teams.remove(team)) {
+            team.getTeamMembers().forEach(this.membership::removeFighter);
+        }
+    }
+
     public Set<ArenaTeam> getNotEmptyTeams() {
         return this.teams.stream()
                 .filter(ArenaTeam::isNotEmpty)
@@ -421,17 +460,27 @@ public class Arena {
 
     public void addRegion(final ArenaRegion region) {
         this.regions.add(region);
+        RegionChunkIndex.add(region);
         debug(this, "adding region: " + region.getRegionName());
     }
 
+    public void removeRegion(final ArenaRegion region) {
+        this.regions.remove(region);
+        RegionChunkIndex.remove(region);
+        debug(this, "removing region: " + region.getRegionName());
+    }
+
     public void broadcast(final String msg) {
         debug(this, "@all: " + msg);
-        final Set<ArenaPlayer> players = this.getEveryone();
-        for (ArenaPlayer arenaPlayer : players) {
+        final String rendered = this.renderMessage(msg);
+        if (rendered == null) {
+            return;
+        }
+        for (ArenaPlayer arenaPlayer : this.membership.getEveryone()) {
             if (arenaPlayer.getArena() == null || !arenaPlayer.getArena().equals(this)) {
                 continue;
             }
-            this.msg(arenaPlayer.getPlayer(), msg);
+            sendRendered(arenaPlayer.getPlayer(), rendered);
         }
     }
 
@@ -457,10 +506,13 @@ public class Arena {
      */
     public void broadcastExcept(final CommandSender sender, final String msg) {
         debug(this, sender, "@all/" + sender.getName() + ": " + msg);
-        final Set<ArenaPlayer> players = this.getEveryone();
-        for (ArenaPlayer arenaPlayer : players) {
+        final String rendered = this.renderMessage(msg);
+        if (rendered == null) {
+            return;
+        }
+        for (ArenaPlayer arenaPlayer : this.membership.getEveryone()) {
             if (this.equals(arenaPlayer.getArena()) && !arenaPlayer.getName().equals(sender.getName())) {
-                this.msg(arenaPlayer.getPlayer(), msg);
+                sendRendered(arenaPlayer.getPlayer(), rendered);
             }
         }
     }
@@ -645,6 +697,28 @@ public class Arena {
         }
     }
 
+    /**
+     * wrap a message with the arena prefix, once for all its recipients
+     *
+     * @param msg the message to wrap
+     * @return the line to send with {@link #sendRendered(CommandSender, String)}, null if the message is blank
+     */
+    public String renderMessage(final String msg) {
+        return StringUtils.isBlank(msg) ? null : Language.parse(MSG.MESSAGES_GENERAL, this.prefix, msg);
+    }
+
+    /**
+     * send a line already wrapped by {@link #renderMessage(String)} or {@link #renderGlobalMessage(String)}
+     *
+     * @param sender   the recipient, can be null
+     * @param rendered the wrapped line, can be null
+     */
+    public static void sendRendered(final CommandSender sender, final String rendered) {
+        if (sender != null && rendered != null) {
+            sender.sendMessage(rendered);
+        }
+    }
+
     /**
      * return an understandable representation of a player's death cause
      *
@@ -968,8 +1042,8 @@ public class Arena {
 
             arenaPlayer.reset();
         }
-        for (ArenaPlayer player : ArenaPlayer.getAllArenaPlayers()) {
-            if (this.equals(player.getArena()) && player.getStatus() == PlayerStatus.WATCH) {
+        for (ArenaPlayer player : new HashSet<>(this.membership.getSpectators())) {
+            if (this.equals(player.getArena())) {
 
                 this.callExitEvent(player.getPlayer());
                 this.resetPlayer(player, this.config.getString(CFG.TP_EXIT, OLD), false, force);
@@ -1077,6 +1151,7 @@ public class Arena {
 
     public void setFightInProgress(final boolean fightInProgress) {
         this.fightInProgress = fightInProgress;
+        ArenaManager.getAvailabilityIndex().update(this);
         debug(this, "fighting : " + fightInProgress);
     }
 
@@ -1194,18 +1269,65 @@ public class Arena {
     public void addBlock(final PABlock paBlock) {
         this.removeBlock(paBlock);
         this.blocks.add(paBlock);
+        this.spawnIndex = null;
     }
 
     public void removeBlock(final PABlock paBlock) {
         this.blocks.removeIf(block -> block.getName().equals(paBlock.getName()));
+        this.spawnIndex = null;
     }
 
     public void setSpawns(Set<PASpawn> spawns) {
         this.spawns = spawns;
+        this.spawnIndex = null;
     }
 
     public void setBlocks(Set<PABlock> blocks) {
         this.blocks = blocks;
+        this.spawnIndex = null;
+    }
+
+    /**
+     * hand over the name index of spawns and blocks, built on first use after each change
+     *
+     * @return the spawn index
+     */
+    public ArenaSpawnIndex getSpawnIndex() {
+        ArenaSpawnIndex index = this.spawnIndex;
+        if (index == null) {
+            index = new ArenaSpawnIndex(this.spawns, this.blocks);
+            this.spawnIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * hand over the spawn protection zones, built again after spawns, teams or classes setup change
+     *
+     * @param radius the protection radius
+     * @return the spawn protection zones
+     */
+    public SpawnProtectionZones getSpawnProtectionZones(final int radius) {
+        final ArenaSpawnIndex index = this.getSpawnIndex();
+        final boolean spawnPerClass = this.config.getBoolean(CFG.GENERAL_SPAWN_PER_CLASS);
+        final boolean freeForAll = this.isFreeForAll();
+        SpawnProtectionZones zones = this.spawnProtectionZones;
+        if (zones == null || !zones.isUpToDate(index, radius, spawnPerClass, freeForAll)) {
+            zones = new SpawnProtectionZones(index, radius, spawnPerClass, freeForAll);
+            this.spawnProtectionZones = zones;
+        }
+        return zones;
+    }
+
+    /**
+     * compile the spawn protection zones of all teams, before the fight starts
+     */
+    public void compileSpawnProtectionZones() {
+        final int radius = this.config.getInt(CFG.PROTECT_SPAWN);
+        this.spawnProtectionZones = null;
+        if (radius > 0) {
+            this.getSpawnProtectionZones(radius).compile(this);
+        }
     }
 
     /**
@@ -1219,16 +1341,21 @@ public class Arena {
         // remove spawn with same name, team and class before
         boolean removed = this.removeSpawn(paSpawn);
         this.spawns.add(paSpawn);
+        this.spawnIndex = null;
         this.config.addSpawn(paSpawn);
         return removed;
     }
 
     public boolean removeSpawn(final PASpawn paSpawn) {
-        return this.spawns.removeIf(spawn ->
+        final boolean removed = this.spawns.removeIf(spawn ->
                 spawn.getName().equals(paSpawn.getName())
                         && (spawn.getTeamName() == null || spawn.getTeamName().equals(paSpawn.getTeamName()))
                         && (spawn.getClassName() == null || spawn.getClassName().equals(paSpawn.getClassName()))
         );
+        if (removed) {
+            this.spawnIndex = null;
+        }
+        return removed;
     }
 
     public static void pmsg(final CommandSender sender, MSG msg, Object... args) {
@@ -1238,8 +1365,21 @@ public class Arena {
     public static void pmsg(final CommandSender sender, final String msg) {
         if (sender != null && !StringUtils.isBlank(msg)) {
             debug(sender, "@{} : {}", sender.getName(), msg);
-            String prefix = PVPArena.getInstance().getConfig().getString("globalPrefix", "PVP Arena");
-            sender.sendMessage(Language.parse(MSG.MESSAGES_GENERAL, prefix, msg));
+            sender.sendMessage(renderGlobalMessage(msg));
+        }
+    }
+
+    /**
+     * wrap a message with the global prefix, once for all its recipients
+     *
+     * @param msg the message to wrap
+     * @return the line to send with {@link #sendRendered(CommandSender, String)}, null if the message is blank
+     */
+    public static String renderGlobalMessage(final String msg) {
+        if (StringUtils.isBlank(msg)) {
+            return null;
         }
+        String prefix = PVPArena.getInstance().getConfig().getString("globalPrefix", "PVP Arena");
+        return Language.parse(MSG.MESSAGES_GENERAL, prefix, msg);
     }
 }
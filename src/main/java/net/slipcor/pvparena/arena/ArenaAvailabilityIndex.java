@@ -0,0 +1,112 @@
+package net.slipcor.pvparena.arena;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <pre>Arena Availability Index class</pre>
+ * <p/>
+ * Index of loaded arenas by state, kept up to date when arenas are locked or unlocked, when fights start or stop and
+ * when players join or leave. Unlocked arenas are sorted by fill level, fullest first, so joining commands don't have
+ * to copy and measure every arena. Player specific checks (permissions, join regions...) are still done by callers.
+ */
+public class ArenaAvailabilityIndex {
+
+    private final Set<Arena> arenas = new HashSet<>();
+    private final Map<Arena, Integer> fillLevels = new HashMap<>();
+    private final NavigableSet<Arena> openArenas = new TreeSet<>(
+            Comparator.<Arena>comparingInt(this.fillLevels::get).reversed().thenComparing(Arena::getName));
+    private final Set<Arena> idleArenas = new LinkedHashSet<>();
+    private final Set<Arena> fightingArenas = new HashSet<>();
+
+    private final NavigableSet<Arena> openArenasView = Collections.unmodifiableNavigableSet(this.openArenas);
+    private final Set<Arena> idleArenasView = Collections.unmodifiableSet(this.idleArenas);
+
+    /**
+     * Start indexing a loaded arena
+     *
+     * @param arena the arena
+     */
+    public void add(final Arena arena) {
+        this.arenas.add(arena);
+        this.update(arena);
+    }
+
+    /**
+     * Stop indexing a removed arena
+     *
+     * @param arena the arena
+     */
+    public void remove(final Arena arena) {
+        this.unindex(arena);
+        this.arenas.remove(arena);
+    }
+
+    /**
+     * Index an arena again after its lock, fight or player count changed. Arenas not loaded yet are ignored.
+     *
+     * @param arena the arena, can be null
+     */
+    public void update(final Arena arena) {
+        if (arena == null || !this.arenas.contains(arena)) {
+            return;
+        }
+        this.unindex(arena);
+        if (arena.isFightInProgress()) {
+            this.fightingArenas.add(arena);
+        }
+        if (!arena.isLocked()) {
+            this.fillLevels.put(arena, arena.getMembership().getEveryone().size());
+            this.openArenas.add(arena);
+            if (!arena.isFightInProgress()) {
+                this.idleArenas.add(arena);
+            }
+        }
+    }
+
+    /**
+     * @return unlocked arenas, the ones having most players first
+     */
+    public NavigableSet<Arena> getOpenArenas() {
+        return this.openArenasView;
+    }
+
+    /**
+     * @return unlocked arenas without fight in progress
+     */
+    public Set<Arena> getIdleArenas() {
+        return this.idleArenasView;
+    }
+
+    /**
+     * @param arena an unlocked arena
+     * @return number of players of the arena when it was last indexed, 0 for locked arenas
+     */
+    public int getFillLevel(final Arena arena) {
+        return this.fillLevels.getOrDefault(arena, 0);
+    }
+
+    /**
+     * @return true if a fight is in progress in any arena, locked or not
+     */
+    public boolean isAnyFightInProgress() {
+        return !this.fightingArenas.isEmpty();
+    }
+
+    private void unindex(final Arena arena) {
+        // sorted set has to be updated before fill levels, as its order depends on them
+        if (this.fillLevels.containsKey(arena)) {
+            this.openArenas.remove(arena);
+            this.fillLevels.remove(arena);
+        }
+        this.idleArenas.remove(arena);
+        this.fightingArenas.remove(arena);
+    }
+}
@@ -16,6 +16,7 @@ import org.bukkit.plugin.IllegalPluginAccessException;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -40,6 +41,7 @@ public final class ArenaClass {
     private final ItemStack[] items;
     private final ItemStack offHand;
     private final ItemStack[] armors;
+    private Kit kit;
 
     private static final Map<String, ArenaClass> globals = new HashMap<>();
 
@@ -114,6 +116,7 @@ public final class ArenaClass {
     }
 
     public static void equip(final Player player, final ItemStack[] items) {
+        final List<String> eggTypes = new ArrayList<>();
         int i = 0;
         for (ItemStack item : items) {
             if (isArmorItem(item.getType())) {
@@ -124,25 +127,14 @@ public final class ArenaClass {
                     continue;
                 }
                 if (item.hasItemMeta() && item.getItemMeta().hasDisplayName() && "SPAWN".equals(item.getItemMeta().getDisplayName())) {
-                    final String eggType = item.getType().name().replace("_SPAWN_EGG", "");
-
-                    try {
-                        Bukkit.getScheduler().runTaskLater(PVPArena.getInstance(), new Runnable(){
-                            @Override
-                            public void run() {
-                                ArenaPlayer.fromPlayer(player).getArena().addEntity(
-                                        player, player.getWorld().spawnEntity(player.getLocation(), EntityType.valueOf(eggType)));
-                            }
-                        }, 20L);
-                    } catch(final IllegalPluginAccessException e) {
-
-                    }
+                    eggTypes.add(item.getType().name().replace("_SPAWN_EGG", ""));
                 } else {
                     player.getInventory().addItem(item);
                 }
             }
             i++;
         }
+        spawnEggEntities(player, eggTypes);
     }
 
     public static void equip(final Player player, final ItemStack[][] itemArray) {
@@ -156,28 +148,57 @@ public final class ArenaClass {
             equipArmor(itemStack, player.getInventory());
         }
 
+        final List<String> eggTypes = new ArrayList<>();
         for (ItemStack item : itemArray[0]) {
             if (item.getType().name().endsWith("_SPAWN_EGG")) {
-                final String eggType = item.getType().name().replace("_SPAWN_EGG", "");
-
-                try {
-                    Bukkit.getScheduler().runTaskLater(PVPArena.getInstance(), () ->
-                            ArenaPlayer.fromPlayer(player).getArena().addEntity(
-                                player, player.getWorld().spawnEntity(player.getLocation(), EntityType.valueOf(eggType))), 20L);
-                } catch(final IllegalPluginAccessException ignored) {
-
-                }
+                eggTypes.add(item.getType().name().replace("_SPAWN_EGG", ""));
             } else {
                 player.getInventory().addItem(item);
             }
         }
+        spawnEggEntities(player, eggTypes);
+    }
+
+    /**
+     * spawn the entities of spawn eggs next to the player a second later, all with the same task
+     *
+     * @param player   the player owning the entities
+     * @param eggTypes entity type names
+     */
+    private static void spawnEggEntities(final Player player, final List<String> eggTypes) {
+        if (eggTypes.isEmpty()) {
+            return;
+        }
+        try {
+            Bukkit.getScheduler().runTaskLater(PVPArena.getInstance(), () -> {
+                final Arena arena = ArenaPlayer.fromPlayer(player).getArena();
+                if (arena == null) {
+                    return;
+                }
+                for (String eggType : eggTypes) {
+                    try {
+                        arena.addEntity(player, player.getWorld().spawnEntity(player.getLocation(), EntityType.valueOf(eggType)));
+                    } catch (final IllegalArgumentException e) {
+                        debug(player, "unknown spawn egg entity: {}", eggType);
+                    }
+                }
+            }, 20L);
+        } catch(final IllegalPluginAccessException ignored) {
+
+        }
     }
 
     public void equip(final Player player) {
         debug(player, "Equipping player " + player.getName() + " with items!");
+        final PlayerInventory inventory = player.getInventory();
+        if (inventory.isEmpty()) {
+            // usual case, inventory has just been cleared
+            this.getKit().applyTo(inventory);
+            return;
+        }
         for (ItemStack item : this.armors) {
             if (item != null) {
-                equipArmor(item, player.getInventory());
+                equipArmor(item.clone(), inventory);
             }
         }
         for (ItemStack item : this.items) {
@@ -185,12 +206,21 @@ public final class ArenaClass {
                 continue;
             }
             if (isArmorItem(item.getType())) {
-                equipArmor(item, player.getInventory());
+                equipArmor(item.clone(), inventory);
             } else {
-                player.getInventory().addItem(item);
+                inventory.addItem(item.clone());
             }
         }
-        player.getInventory().setItemInOffHand(this.offHand);
+        inventory.setItemInOffHand(this.offHand);
+    }
+
+    private Kit getKit() {
+        Kit result = this.kit;
+        if (result == null) {
+            result = new Kit(this.items, this.offHand, this.armors);
+            this.kit = result;
+        }
+        return result;
     }
 
     private static void equipArmor(final ItemStack stack, final PlayerInventory inv) {
@@ -262,8 +292,132 @@ public final class ArenaClass {
         return isBootsItem(material) || isLeggingsItem(material) || isChestplateItem(material) || isHelmetItem(material);
     }
 
+    private static int getArmorSlot(Material material) {
+        if (isHelmetItem(material)) {
+            return Kit.HELMET;
+        } else if (isChestplateItem(material)) {
+            return Kit.CHESTPLATE;
+        } else if (isLeggingsItem(material)) {
+            return Kit.LEGGINGS;
+        } else if (isBootsItem(material)) {
+            return Kit.BOOTS;
+        }
+        return -1;
+    }
+
     @Override
     public String toString() {
         return this.name;
     }
+
+    /**
+     * Class items laid out the way {@link #equip(Player)} would put them in an empty inventory, so they can be set
+     * with a few bulk calls. Items are placed the same way as {@link PlayerInventory#addItem(ItemStack...)}: merged
+     * into similar stacks first, then in the first empty slot.
+     */
+    private static final class Kit {
+        private static final int STORAGE_SIZE = 36;
+        private static final int MAX_STACK_SIZE = 64;
+        // indexes of PlayerInventory#setArmorContents
+        private static final int BOOTS = 0;
+        private static final int LEGGINGS = 1;
+        private static final int CHESTPLATE = 2;
+        private static final int HELMET = 3;
+
+        private final ItemStack[] storage = new ItemStack[STORAGE_SIZE];
+        private final ItemStack[] armor = new ItemStack[4];
+        private final ItemStack offHand;
+
+        private Kit(final ItemStack[] items, final ItemStack offHand, final ItemStack[] armors) {
+            for (ItemStack item : armors) {
+                if (item != null) {
+                    this.equipArmor(item);
+                }
+            }
+            for (ItemStack item : items) {
+                if (item == null || item.getType() == Material.AIR) {
+                    continue;
+                }
+                if (isArmorItem(item.getType())) {
+                    this.equipArmor(item);
+                } else {
+                    this.addItem(item);
+                }
+            }
+            this.offHand = (offHand == null) ? null : offHand.clone();
+        }
+
+        /**
+         * @param inventory an empty player inventory
+         */
+        private void applyTo(final PlayerInventory inventory) {
+            // items are copied by the inventory, templates can be handed over
+            inventory.setStorageContents(this.storage);
+            inventory.setArmorContents(this.armor);
+            inventory.setItemInOffHand(this.offHand);
+        }
+
+        private void equipArmor(final ItemStack stack) {
+            final int slot = getArmorSlot(stack.getType());
+            if (slot < 0) {
+                return;
+            }
+            if (this.armor[slot] != null) {
+                this.addItem(stack);
+            } else {
+                this.armor[slot] = stack.clone();
+            }
+        }
+
+        private void addItem(final ItemStack stack) {
+            final ItemStack item = stack.clone();
+            while (true) {
+                final int partial = this.firstPartial(item);
+                if (partial < 0) {
+                    final int free = this.firstEmpty();
+                    if (free < 0) {
+                        // inventory full, leftovers are lost
+                        return;
+                    }
+                    if (item.getAmount() <= MAX_STACK_SIZE) {
+                        this.storage[free] = item;
+                        return;
+                    }
+                    final ItemStack fullStack = item.clone();
+                    fullStack.setAmount(MAX_STACK_SIZE);
+                    this.storage[free] = fullStack;
+                    item.setAmount(item.getAmount() - MAX_STACK_SIZE);
+                } else {
+                    final ItemStack partialItem = this.storage[partial];
+                    final int total = item.getAmount() + partialItem.getAmount();
+                    final int maxAmount = partialItem.getMaxStackSize();
+                    if (total <= maxAmount) {
+                        partialItem.setAmount(total);
+                        return;
+                    }
+                    partialItem.setAmount(maxAmount);
+                    item.setAmount(total - maxAmount);
+                }
+            }
+        }
+
+        private int firstPartial(final ItemStack item) {
+            for (int i = 0; i < STORAGE_SIZE; i++) {
+                final ItemStack slotItem = this.storage[i];
+                if (slotItem != null && slotItem.getAmount() < slotItem.getMaxStackSize() && slotItem.isSimilar(item)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int firstEmpty() {
+            for (int i = 0; i < STORAGE_SIZE; i++) {
+                if (this.storage[i] == null) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.core.Config;
+import net.slipcor.pvparena.core.Config.CFG;
+
+/**
+ * <pre>Arena Combat Rules class</pre>
+ * <p/>
+ * Config values read on each hit between players, taken from the arena config once. Rules are built again by
+ * {@link Arena#getCombatRules()} when the config is reloaded or changed.
+ */
+public final class ArenaCombatRules {
+
+    private final Config config;
+    private final long revision;
+
+    private final boolean teamKill;
+    private final boolean damageFromOutsiders;
+    private final int spawnProtectionRadius;
+    private final boolean bloodParticles;
+
+    ArenaCombatRules(final Config config) {
+        this.config = config;
+        this.revision = config.getRevision();
+        this.teamKill = config.getBoolean(CFG.PERMS_TEAMKILL);
+        this.damageFromOutsiders = config.getBoolean(CFG.DAMAGE_FROMOUTSIDERS);
+        this.spawnProtectionRadius = config.getInt(CFG.PROTECT_SPAWN);
+        this.bloodParticles = config.getBoolean(CFG.DAMAGE_BLOODPARTICLES);
+    }
+
+    /**
+     * @param config the current arena config
+     * @return true if the rules were built from this config and it hasn't changed since
+     */
+    boolean isUpToDate(final Config config) {
+        return this.config == config && this.revision == config.getRevision();
+    }
+
+    /**
+     * @return true if team mates can hurt each other
+     */
+    public boolean isTeamKill() {
+        return this.teamKill;
+    }
+
+    /**
+     * @return true if arena players can be hurt by entities not fighting in the arena
+     */
+    public boolean isDamageFromOutsiders() {
+        return this.damageFromOutsiders;
+    }
+
+    /**
+     * @return distance around spawns where players can't be hurt, 0 if disabled
+     */
+    public int getSpawnProtectionRadius() {
+        return this.spawnProtectionRadius;
+    }
+
+    /**
+     * @return true if blood particles are shown on hit
+     */
+    public boolean isBloodParticles() {
+        return this.bloodParticles;
+    }
+}
@@ -0,0 +1,92 @@
+package net.slipcor.pvparena.arena;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <pre>Arena Membership class</pre>
+ * <p/>
+ * Index of the players of an arena, kept up to date by {@link ArenaPlayer#setArena(Arena)},
+ * {@link ArenaPlayer#setStatus(PlayerStatus)} and team changes. Returned sets are read-only live views, so they can be
+ * looped over without building a new set each time. They must not be iterated while players join, leave or change
+ * status, use {@link Arena#getEveryone()} or {@link Arena#getFighters()} copies in that case.
+ */
+public class ArenaMembership {
+
+    private final Set<ArenaPlayer> everyone = new HashSet<>();
+    private final Set<ArenaPlayer> fighters = new HashSet<>();
+    private final Map<PlayerStatus, Set<ArenaPlayer>> byStatus = new EnumMap<>(PlayerStatus.class);
+
+    private final Set<ArenaPlayer> everyoneView = Collections.unmodifiableSet(this.everyone);
+    private final Set<ArenaPlayer> fightersView = Collections.unmodifiableSet(this.fighters);
+    private final Map<PlayerStatus, Set<ArenaPlayer>> byStatusViews = new EnumMap<>(PlayerStatus.class);
+
+    ArenaMembership() {
+        for (PlayerStatus status : PlayerStatus.values()) {
+            final Set<ArenaPlayer> players = new HashSet<>();
+            this.byStatus.put(status, players);
+            this.byStatusViews.put(status, Collections.unmodifiableSet(players));
+        }
+    }
+
+    /**
+     * @return everyone being part of the arena
+     */
+    public Set<ArenaPlayer> getEveryone() {
+        return this.everyoneView;
+    }
+
+    /**
+     * @return players being member of an arena team, they stay fighters until they leave their team
+     */
+    public Set<ArenaPlayer> getFighters() {
+        return this.fightersView;
+    }
+
+    /**
+     * @return players watching the arena
+     */
+    public Set<ArenaPlayer> getSpectators() {
+        return this.byStatusViews.get(PlayerStatus.WATCH);
+    }
+
+    /**
+     * @param status a player status
+     * @return arena players having this status
+     */
+    public Set<ArenaPlayer> getByStatus(final PlayerStatus status) {
+        return this.byStatusViews.get(status);
+    }
+
+    void add(final ArenaPlayer arenaPlayer) {
+        this.everyone.add(arenaPlayer);
+        this.byStatus.get(arenaPlayer.getStatus()).add(arenaPlayer);
+    }
+
+    void remove(final ArenaPlayer arenaPlayer) {
+        this.everyone.remove(arenaPlayer);
+        this.byStatus.values().forEach(players -> players.remove(arenaPlayer));
+    }
+
+    void changeStatus(final ArenaPlayer arenaPlayer, final PlayerStatus oldStatus, final PlayerStatus newStatus) {
+        if (this.everyone.contains(arenaPlayer)) {
+            this.byStatus.get(oldStatus).remove(arenaPlayer);
+            this.byStatus.get(newStatus).add(arenaPlayer);
+        }
+    }
+
+    void addFighter(final ArenaPlayer arenaPlayer) {
+        this.fighters.add(arenaPlayer);
+    }
+
+    void removeFighter(final ArenaPlayer arenaPlayer) {
+        this.fighters.remove(arenaPlayer);
+    }
+
+    void clearFighters() {
+        this.fighters.clear();
+    }
+}
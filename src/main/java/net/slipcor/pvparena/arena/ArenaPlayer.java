@@ -10,6 +10,7 @@ import net.slipcor.pvparena.core.ColorUtils;
 import net.slipcor.pvparena.core.Config;
 import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.core.Language;
+import net.slipcor.pvparena.core.PlayerStateJournal;
 import net.slipcor.pvparena.events.PAPlayerClassChangeEvent;
 import net.slipcor.pvparena.loadables.ArenaModule;
 import net.slipcor.pvparena.loadables.ArenaModuleManager;
@@ -17,8 +18,7 @@ import net.slipcor.pvparena.loadables.ModuleType;
 import net.slipcor.pvparena.managers.ArenaManager;
 import net.slipcor.pvparena.managers.InventoryManager;
 import net.slipcor.pvparena.managers.SpawnManager;
-import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDao;
-import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDaoImpl;
+import net.slipcor.pvparena.statistics.PlayerArenaStatsWriter;
 import net.slipcor.pvparena.statistics.model.PlayerArenaStats;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -46,7 +46,6 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +53,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -71,7 +71,11 @@ import static net.slipcor.pvparena.config.Debugger.debug;
  */
 
 public class ArenaPlayer {
-    private static final Map<UUID, ArenaPlayer> totalPlayers = new HashMap<>();
+    /**
+     * Every known arena player. Lookups happen on each player event, async chat included, so this map is concurrent
+     * and read without locking.
+     */
+    private static final Map<UUID, ArenaPlayer> totalPlayers = new ConcurrentHashMap<>();
 
     private Player player;
 
@@ -194,7 +198,7 @@ public class ArenaPlayer {
     }
 
     public boolean canLeaveWithoutEndingArena() {
-        Supplier<Long> fightingPlayersSupplier = () -> this.arena.getFighters()
+        Supplier<Long> fightingPlayersSupplier = () -> this.arena.getMembership().getFighters()
                 .stream()
                 .filter(pl -> pl.getStatus() == PlayerStatus.FIGHT)
                 .count();
@@ -235,19 +239,17 @@ public class ArenaPlayer {
      * @return an ArenaPlayer instance belonging to that player
      */
     public static ArenaPlayer fromPlayer(final String name) {
-        synchronized (ArenaPlayer.class) {
-            Player player = Bukkit.getPlayerExact(name);
-
-            // Offline player or NPC
-            if (player == null) {
-                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(name);
-                if(offlinePlayer.getPlayer() == null) {
-                    throw new RuntimeException(String.format("Player %s not found", name));
-                }
-                player = offlinePlayer.getPlayer();
+        Player player = Bukkit.getPlayerExact(name);
+
+        // Offline player or NPC
+        if (player == null) {
+            OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(name);
+            if(offlinePlayer.getPlayer() == null) {
+                throw new RuntimeException(String.format("Player %s not found", name));
             }
-            return fromPlayer(player);
+            player = offlinePlayer.getPlayer();
         }
+        return fromPlayer(player);
     }
 
     /**
@@ -257,11 +259,12 @@ public class ArenaPlayer {
      * @return an ArenaPlayer instance belonging to that player
      */
     public static ArenaPlayer fromPlayer(final Player player) {
-        synchronized (ArenaPlayer.class) {
-            ArenaPlayer aPlayer = new ArenaPlayer(player);
-            totalPlayers.putIfAbsent(player.getUniqueId(), aPlayer);
-            return totalPlayers.get(player.getUniqueId());
+        final UUID uuid = player.getUniqueId();
+        final ArenaPlayer aPlayer = totalPlayers.get(uuid);
+        if (aPlayer != null) {
+            return aPlayer;
         }
+        return totalPlayers.computeIfAbsent(uuid, k -> new ArenaPlayer(player));
     }
 
     /**
@@ -445,14 +448,23 @@ public class ArenaPlayer {
     private void clearDump() {
         debug(this, "clearing dump of {}", this.player.getName());
         this.debugPrint();
-        final File file = new File(PVPArena.getInstance().getDataFolder().getPath()
-                + "/dumps/" + this.player.getName() + ".yml");
+        final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+        if (journal != null) {
+            journal.clear(this.player.getUniqueId());
+            journal.clearLegacyDump(this.player.getName());
+            return;
+        }
+        final File file = getDumpFile(this.player.getName());
         if (!file.exists()) {
             return;
         }
         file.delete();
     }
 
+    private static File getDumpFile(final String playerName) {
+        return new File(PVPArena.getInstance().getDataFolder().getPath() + "/dumps/" + playerName + ".yml");
+    }
+
     public void clearFlyState() {
         this.flying = null;
     }
@@ -495,17 +507,13 @@ public class ArenaPlayer {
         debug(this, "------------------");
     }
 
+    /**
+     * save the player state, inventory and location, to restore them if the server stops before the player leaves.
+     * The state is serialized right now and written to the player state journal in background.
+     */
     public void dump() {
         debug(this, "dumping...");
         this.debugPrint();
-        final File file = new File(PVPArena.getInstance().getDataFolder().getPath()
-                + "/dumps/" + this.player.getName() + ".yml");
-        try {
-            file.createNewFile();
-        } catch (final Exception e) {
-            e.printStackTrace();
-            return;
-        }
 
         final YamlConfiguration cfg = new YamlConfiguration();
         cfg.set("arena", this.arena.getName());
@@ -517,7 +525,12 @@ public class ArenaPlayer {
             cfg.set("inventory", this.savedInventory);
             cfg.set("loc", Config.parseToString(this.location));
 
-            cfg.save(file);
+            final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+            if (journal != null) {
+                journal.put(this.player.getUniqueId(), cfg.saveToString());
+            } else {
+                cfg.save(getDumpFile(this.player.getName()));
+            }
         } catch (final Exception e) {
             e.printStackTrace();
         }
@@ -660,22 +673,27 @@ public class ArenaPlayer {
     public void readDump() {
         debug(this, "reading dump: {}", this.player.getName());
         this.debugPrint();
-        final File file = new File(PVPArena.getInstance().getDataFolder().getPath()
-                + "/dumps/" + this.player.getName() + ".yml");
-        if (!file.exists()) {
+        final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+        final String content = (journal == null) ? null : journal.get(this.player.getUniqueId());
+        final File file = (journal == null) ? getDumpFile(this.player.getName()) : journal.getLegacyDump(this.player.getName());
+        if (content == null && (file == null || !file.exists())) {
             debug(this, "no dump!");
             return;
         }
 
         final YamlConfiguration cfg = new YamlConfiguration();
         try {
-            cfg.load(file);
+            if (content != null) {
+                cfg.loadFromString(content);
+            } else {
+                cfg.load(file);
+            }
         } catch (final Exception e) {
             e.printStackTrace();
             return;
         }
 
-        this.arena = ArenaManager.getArenaByName(cfg.getString("arena"));
+        this.setArena(ArenaManager.getArenaByName(cfg.getString("arena")));
         this.savedInventory = cfg.getList("inventory").toArray(new ItemStack[0]);
                 /*StringParser.getItemStacksFromString(cfg.getString(
                 "inventory", "AIR"));*/
@@ -694,8 +712,7 @@ public class ArenaPlayer {
             this.state = PlayerState.undump(cfg, this.player.getName());
         }
 
-        file.delete();
-        this.debugPrint();
+        this.clearDump();
     }
 
     /**
@@ -722,7 +739,7 @@ public class ArenaPlayer {
                 team.remove(this);
             }
         }
-        this.arena = null;
+        this.setArena(null);
         this.arenaClass = null;
         this.spectating = false;
         this.getPlayer().setFireTicks(0);
@@ -739,21 +756,20 @@ public class ArenaPlayer {
     }
 
     public void unload() {
-        totalPlayers.remove(this.getPlayer().getUniqueId());
+        totalPlayers.remove(this.getPlayer().getUniqueId(), this);
+        if (this.arena != null) {
+            this.arena.getMembership().remove(this);
+        }
     }
 
     public void saveStatistics() {
         if (PVPArena.getInstance().getConfig().getBoolean("stats")) {
-            PlayerArenaStatsDao statsDao = PlayerArenaStatsDaoImpl.getInstance();
-            Optional<PlayerArenaStats> savedStats = statsDao.findByPlayerAndArena(this.player, this.arena);
-            if(savedStats.isPresent()) {
-                PlayerArenaStats statsToUpdate = savedStats.get();
-                statsToUpdate.mergeWithDiff(this.statistics);
-                statsDao.save(statsToUpdate);
-            } else if (this.arena != null) {
-                this.statistics.setArenaUuid(this.arena.getConfig().getString(CFG.ID));
-                this.statistics.setPlayerUuid(this.player.getUniqueId().toString());
-                statsDao.save(this.statistics);
+            if (this.arena != null) {
+                PlayerArenaStatsWriter.getInstance().enqueue(
+                        this.player.getUniqueId().toString(),
+                        this.arena.getConfig().getString(CFG.ID),
+                        this.statistics
+                );
             }
             this.statistics.clearValues();
         }
@@ -765,7 +781,18 @@ public class ArenaPlayer {
      * @param arena the arena to set
      */
     public final void setArena(final Arena arena) {
+        if (this.arena == arena) {
+            return;
+        }
+        final Arena previous = this.arena;
+        if (previous != null) {
+            previous.getMembership().remove(this);
+        }
         this.arena = arena;
+        if (arena != null) {
+            arena.getMembership().add(this);
+        }
+        ArenaManager.onMembershipChange(previous, arena);
     }
 
     public void setQueuedArena(Arena queuedArena) {
@@ -845,7 +872,11 @@ public class ArenaPlayer {
 
     public void setStatus(final PlayerStatus status) {
         debug(this,"{}>{}", this.player.getName(), status.name());
+        final PlayerStatus oldStatus = this.status;
         this.status = status;
+        if (this.arena != null) {
+            this.arena.getMembership().changeStatus(this, oldStatus, status);
+        }
     }
 
     /**
@@ -170,7 +170,7 @@ public class ArenaScoreboard {
         if (this.displayed) {
             Bukkit.getScheduler().runTaskLater(PVPArena.getInstance(), () -> {
                 if (this.arena.isFreeForAll()) {
-                    for (ArenaPlayer arenaPlayer : this.arena.getEveryone()) {
+                    for (ArenaPlayer arenaPlayer : this.arena.getMembership().getEveryone()) {
                         int value = WorkflowManager.handleGetLives(this.arena, arenaPlayer);
                         if (value >= 0 && asList(FIGHT, DEAD, LOST).contains(arenaPlayer.getStatus())) {
                             ofNullable(this.getLivesObjective()).ifPresent(objective ->
@@ -190,7 +190,7 @@ public class ArenaScoreboard {
                                         .setScore(WorkflowManager.handleGetLives(this.arena, randomTeamPlayer))
                         );
                     }
-                    for (ArenaPlayer arenaPlayer : this.arena.getEveryone()) {
+                    for (ArenaPlayer arenaPlayer : this.arena.getMembership().getEveryone()) {
                         Player player = arenaPlayer.getPlayer();
                         if (!this.scoreboard.equals(player.getScoreboard()) && player.isOnline()) {
                             player.setScoreboard(this.scoreboard);
@@ -0,0 +1,225 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.classes.PABlock;
+import net.slipcor.pvparena.classes.PABlockLocation;
+import net.slipcor.pvparena.classes.PALocation;
+import net.slipcor.pvparena.classes.PASpawn;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * <pre>Arena Spawn Index class</pre>
+ * <p/>
+ * Name index of the spawns and blocks of an arena. Names are kept in sorted maps, so "starting with" lookups only
+ * visit matching names, and exact names are hashed. Query results are read-only and cached until the index is
+ * dropped, which happens each time spawns or blocks of the arena are changed. Distance matrices used by smart
+ * distribution are kept the same way.
+ */
+public class ArenaSpawnIndex {
+
+    private final NavigableMap<String, List<PASpawn>> spawnsByName = new TreeMap<>();
+    private final NavigableMap<String, List<PABlock>> blocksByName = new TreeMap<>();
+    private final Map<String, List<PASpawn>> spawnsByLowerName = new HashMap<>();
+    private final Map<String, List<PABlock>> blocksByLowerName = new HashMap<>();
+    private final Collection<PASpawn> spawns;
+
+    private final Map<String, Object> results = new ConcurrentHashMap<>();
+    private final Map<Set<PASpawn>, SpawnDistanceMatrix> distanceMatrices = new ConcurrentHashMap<>();
+
+    ArenaSpawnIndex(final Collection<PASpawn> spawns, final Collection<PABlock> blocks) {
+        this.spawns = Collections.unmodifiableList(new ArrayList<>(spawns));
+        for (PASpawn spawn : spawns) {
+            this.spawnsByName.computeIfAbsent(spawn.getName(), k -> new ArrayList<>()).add(spawn);
+            this.spawnsByLowerName.computeIfAbsent(lower(spawn.getName()), k -> new ArrayList<>()).add(spawn);
+        }
+        for (PABlock block : blocks) {
+            this.blocksByName.computeIfAbsent(block.getName(), k -> new ArrayList<>()).add(block);
+            this.blocksByLowerName.computeIfAbsent(lower(block.getName()), k -> new ArrayList<>()).add(block);
+        }
+    }
+
+    /**
+     * @param prefix spawn name prefix
+     * @return spawns having a name starting with prefix
+     */
+    public Set<PASpawn> getSpawnsStartingWith(final String prefix) {
+        return this.cached("spawns|" + prefix, () ->
+                toSet(prefixed(this.spawnsByName, prefix), spawn -> true, Function.identity()));
+    }
+
+    /**
+     * @param prefix spawn name prefix
+     * @param teamName exact team name
+     * @return spawns having a name starting with prefix and this team
+     */
+    public Set<PASpawn> getSpawnsStartingWith(final String prefix, final String teamName) {
+        return this.cached("teamSpawns|" + prefix + '|' + teamName, () ->
+                toSet(prefixed(this.spawnsByName, prefix),
+                        spawn -> Objects.equals(spawn.getTeamName(), teamName),
+                        Function.identity()));
+    }
+
+    /**
+     * @param prefix spawn name prefix
+     * @param teamName exact team name
+     * @param className exact class name
+     * @return spawns having a name starting with prefix, this team and this class
+     */
+    public Set<PASpawn> getSpawnsStartingWith(final String prefix, final String teamName, final String className) {
+        return this.cached("classSpawns|" + prefix + '|' + teamName + '|' + className, () ->
+                toSet(prefixed(this.spawnsByName, prefix),
+                        spawn -> Objects.equals(spawn.getTeamName(), teamName)
+                                && Objects.equals(spawn.getClassName(), className),
+                        Function.identity()));
+    }
+
+    /**
+     * @param prefix spawn name prefix
+     * @return locations of spawns having a name starting with prefix
+     */
+    public Set<PALocation> getSpawnLocationsStartingWith(final String prefix) {
+        return this.cached("spawnLocations|" + prefix, () ->
+                toSet(prefixed(this.spawnsByName, prefix), spawn -> true, PASpawn::getPALocation));
+    }
+
+    /**
+     * @param part part of spawn name
+     * @return locations of spawns having a name containing part
+     */
+    public Set<PALocation> getSpawnLocationsContaining(final String part) {
+        return this.cached("spawnsContaining|" + part, () ->
+                toSet(this.spawns, spawn -> spawn.getName().contains(part), PASpawn::getPALocation));
+    }
+
+    /**
+     * @param name exact spawn name
+     * @return a spawn having this name, null if none
+     */
+    public PASpawn getSpawnByExactName(final String name) {
+        return first(this.spawnsByName.get(name), spawn -> true);
+    }
+
+    /**
+     * @param name spawn name, case insensitive
+     * @param teamName team name, case insensitive
+     * @param className class name, case insensitive
+     * @return a spawn matching all criteria, null if none
+     */
+    public PASpawn getSpawnByExactNameIgnoreCase(final String name, final String teamName, final String className) {
+        return first(this.spawnsByLowerName.get(lower(name)), spawn ->
+                equalsIgnoreCase(spawn.getTeamName(), teamName) && equalsIgnoreCase(spawn.getClassName(), className));
+    }
+
+    /**
+     * @param prefix block name prefix
+     * @param teamName exact team name, can be null
+     * @return blocks having a name starting with prefix and this team
+     */
+    public Set<PABlock> getBlocksStartingWith(final String prefix, final String teamName) {
+        return this.cached("blocks|" + prefix + '|' + teamName, () ->
+                toSet(prefixed(this.blocksByName, prefix),
+                        block -> Objects.equals(block.getTeamName(), teamName),
+                        Function.identity()));
+    }
+
+    /**
+     * @param prefix block name prefix
+     * @param teamName exact team name, can be null
+     * @return locations of blocks having a name starting with prefix and this team
+     */
+    public Set<PABlockLocation> getBlockLocationsStartingWith(final String prefix, final String teamName) {
+        return this.cached("blockLocations|" + prefix + '|' + teamName, () ->
+                toSet(this.getBlocksStartingWith(prefix, teamName), block -> true, PABlock::getLocation));
+    }
+
+    /**
+     * @param prefix block name prefix
+     * @return blocks having a name starting with prefix, whatever their team
+     */
+    public Set<PABlock> getBlocksStartingWith(final String prefix) {
+        return this.cached("allBlocks|" + prefix, () ->
+                toSet(prefixed(this.blocksByName, prefix), block -> true, Function.identity()));
+    }
+
+    /**
+     * @param name exact block name
+     * @return a block having this name, null if none
+     */
+    public PABlock getBlockByExactName(final String name) {
+        return first(this.blocksByName.get(name), block -> true);
+    }
+
+    /**
+     * @param name block name, case insensitive
+     * @param teamName team name, case insensitive
+     * @return a block matching all criteria, null if none
+     */
+    public PABlock getBlockByExactNameIgnoreCase(final String name, final String teamName) {
+        return first(this.blocksByLowerName.get(lower(name)), block -> equalsIgnoreCase(block.getTeamName(), teamName));
+    }
+
+    /**
+     * @param spawns a set of spawns of the arena
+     * @return squared distances between these spawns, computed on first request
+     */
+    public SpawnDistanceMatrix getDistanceMatrix(final Set<PASpawn> spawns) {
+        SpawnDistanceMatrix matrix = this.distanceMatrices.get(spawns);
+        if (matrix == null) {
+            matrix = new SpawnDistanceMatrix(spawns);
+            this.distanceMatrices.putIfAbsent(Collections.unmodifiableSet(new HashSet<>(spawns)), matrix);
+        }
+        return matrix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Set<T> cached(final String key, final Supplier<Set<T>> loader) {
+        Object result = this.results.get(key);
+        if (result == null) {
+            result = loader.get();
+            this.results.putIfAbsent(key, result);
+        }
+        return (Set<T>) result;
+    }
+
+    private static <T> Collection<T> prefixed(final NavigableMap<String, List<T>> byName, final String prefix) {
+        final List<T> result = new ArrayList<>();
+        byName.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values().forEach(result::addAll);
+        return result;
+    }
+
+    private static <T, R> Set<R> toSet(final Collection<T> items, final Predicate<T> filter, final Function<T, R> mapper) {
+        final Set<R> result = items.stream().filter(filter).map(mapper).collect(Collectors.toCollection(HashSet::new));
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static <T> T first(final List<T> items, final Predicate<T> filter) {
+        if (items == null) {
+            return null;
+        }
+        return items.stream().filter(filter).findAny().orElse(null);
+    }
+
+    private static boolean equalsIgnoreCase(final String a, final String b) {
+        return a == null ? b == null : a.equalsIgnoreCase(b);
+    }
+
+    private static String lower(final String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -46,7 +46,10 @@ public class ArenaTeam {
     public void add(final ArenaPlayer arenaPlayer) {
         this.players.add(arenaPlayer);
         debug(arenaPlayer, "Added player {} to team {}", arenaPlayer.getName(), this.name);
-        arenaPlayer.getArena().increasePlayerCount();
+        if (arenaPlayer.getArena() != null) {
+            arenaPlayer.getArena().getMembership().addFighter(arenaPlayer);
+            arenaPlayer.getArena().increasePlayerCount();
+        }
     }
 
     /**
@@ -134,6 +137,9 @@ public class ArenaTeam {
      */
     public void remove(final ArenaPlayer player) {
         this.players.remove(player);
+        if (player.getArena() != null) {
+            player.getArena().getMembership().removeFighter(player);
+        }
     }
 
     /**
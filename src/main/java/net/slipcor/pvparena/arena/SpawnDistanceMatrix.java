@@ -0,0 +1,85 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.classes.PASpawn;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <pre>Spawn Distance Matrix class</pre>
+ * <p/>
+ * Pairwise squared distances of a set of spawns, computed once and kept by {@link ArenaSpawnIndex} until spawns of
+ * the arena change. Used to spread players over spawns without measuring the same distances again for each player.
+ */
+public class SpawnDistanceMatrix {
+
+    private final Map<PASpawn, Integer> indexes = new HashMap<>();
+    private final double[] distances;
+    private final int size;
+
+    SpawnDistanceMatrix(final Collection<PASpawn> spawns) {
+        this.size = spawns.size();
+        final PASpawn[] spawnArray = spawns.toArray(new PASpawn[0]);
+        this.distances = new double[this.size * this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.indexes.put(spawnArray[i], i);
+            for (int j = i + 1; j < this.size; j++) {
+                final double distance = spawnArray[i].getPALocation().getDistanceSquared(spawnArray[j].getPALocation());
+                this.distances[i * this.size + j] = distance;
+                this.distances[j * this.size + i] = distance;
+            }
+        }
+    }
+
+    /**
+     * Sort spawns so that each one is the farthest from the previous ones, i.e. the one having the biggest sum of
+     * squared distances to them. The first spawn is kept first, ties are won by the first spawn in the given order.
+     *
+     * @param spawns spawns of the matrix, in their preferred order
+     * @return the same spawns, in distribution order
+     */
+    public PASpawn[] orderFarthestFirst(final Collection<PASpawn> spawns) {
+        final int count = spawns.size();
+        final PASpawn[] candidates = spawns.toArray(new PASpawn[0]);
+        final int[] matrixIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            matrixIndexes[i] = this.indexes.get(candidates[i]);
+        }
+
+        // sum of squared distances from each candidate to the spawns taken so far
+        final double[] scores = new double[count];
+        final boolean[] taken = new boolean[count];
+        final PASpawn[] result = new PASpawn[count];
+
+        int current = 0;
+        for (int position = 0; position < count; position++) {
+            if (position > 0) {
+                current = -1;
+                double bestScore = 0;
+                for (int i = 0; i < count; i++) {
+                    if (taken[i]) {
+                        continue;
+                    }
+                    if (current < 0) {
+                        current = i;
+                    }
+                    if (scores[i] > bestScore) {
+                        bestScore = scores[i];
+                        current = i;
+                    }
+                }
+            }
+
+            taken[current] = true;
+            result[position] = candidates[current];
+            final int row = matrixIndexes[current] * this.size;
+            for (int i = 0; i < count; i++) {
+                if (!taken[i]) {
+                    scores[i] += this.distances[row + matrixIndexes[i]];
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,188 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.classes.PALocation;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.slipcor.pvparena.classes.PASpawn.FIGHT;
+
+/**
+ * <pre>Spawn Protection Zones class</pre>
+ * <p/>
+ * Fight spawns of an arena grouped the way players are spawned (per team, per team and class, or all of them in free
+ * for all arenas), compiled into flat coordinate arrays bucketed by horizontal cells of the protection radius. Checking
+ * if a player stands in a zone only reads the cells around them. Zones are compiled when the fight starts and built
+ * again by {@link Arena#getSpawnProtectionZones(int)} after spawns or the radius change.
+ */
+public final class SpawnProtectionZones {
+
+    private final ArenaSpawnIndex source;
+    private final int radius;
+    private final boolean spawnPerClass;
+    private final boolean freeForAll;
+
+    private Zone allSpawns;
+    private final Map<String, Zone> teamZones = new HashMap<>();
+    private final Map<String, Map<String, Zone>> classZones = new HashMap<>();
+
+    SpawnProtectionZones(final ArenaSpawnIndex source, final int radius, final boolean spawnPerClass,
+                         final boolean freeForAll) {
+        this.source = source;
+        this.radius = radius;
+        this.spawnPerClass = spawnPerClass;
+        this.freeForAll = freeForAll;
+    }
+
+    /**
+     * Compile the zones of all teams (and classes) of the arena
+     *
+     * @param arena the arena
+     */
+    void compile(final Arena arena) {
+        for (ArenaTeam team : arena.getTeams()) {
+            if (this.spawnPerClass) {
+                for (ArenaClass arenaClass : arena.getClasses()) {
+                    this.getZone(team, arenaClass);
+                }
+            } else {
+                this.getZone(team, null);
+            }
+        }
+    }
+
+    boolean isUpToDate(final ArenaSpawnIndex index, final int radius, final boolean spawnPerClass,
+                       final boolean freeForAll) {
+        return this.source == index && this.radius == radius
+                && this.spawnPerClass == spawnPerClass && this.freeForAll == freeForAll;
+    }
+
+    /**
+     * @param team       the team of the player
+     * @param arenaClass the class of the player, only used if spawns are set per class
+     * @param location   the location of the player
+     * @return true if the location is within protection radius of a spawn of the team (and class)
+     */
+    public boolean isProtected(final ArenaTeam team, final ArenaClass arenaClass, final Location location) {
+        if (this.spawnPerClass && arenaClass == null) {
+            return false;
+        }
+        return this.getZone(team, arenaClass).countSpawnsInRange(location) > 0;
+    }
+
+    private Zone getZone(final ArenaTeam team, final ArenaClass arenaClass) {
+        if (this.spawnPerClass) {
+            return this.classZones.computeIfAbsent(team.getName(), k -> new HashMap<>())
+                    .computeIfAbsent(arenaClass.getName(), className -> new Zone(
+                            this.source.getSpawnLocationsContaining(team.getName() + className + FIGHT),
+                            this.radius, true));
+        }
+        if (this.freeForAll) {
+            if (this.allSpawns == null) {
+                this.allSpawns = new Zone(this.source.getSpawnLocationsStartingWith(FIGHT), this.radius, true);
+            }
+            return this.allSpawns;
+        }
+        return this.teamZones.computeIfAbsent(team.getName(), teamName -> new Zone(
+                this.source.getSpawnLocationsStartingWith(teamName + FIGHT), this.radius, true));
+    }
+
+    /**
+     * A set of spawn locations with a range around them, bucketed by horizontal cells of the range
+     */
+    public static final class Zone {
+        private final double rangeSquared;
+        private final boolean inclusive;
+        private final double cellSize;
+        private final String[] worlds;
+        private final double[] coords;
+        private final Map<Long, int[]> cells = new HashMap<>();
+
+        /**
+         * @param spawns    spawn locations
+         * @param range     distance around each spawn
+         * @param inclusive true if locations exactly at range distance are in range
+         */
+        public Zone(final Collection<PALocation> spawns, final double range, final boolean inclusive) {
+            this.rangeSquared = range * range;
+            this.inclusive = inclusive;
+            this.cellSize = Math.max(1, range);
+            this.worlds = new String[spawns.size()];
+            this.coords = new double[spawns.size() * 3];
+
+            final Map<Long, Integer> cellCounts = new HashMap<>();
+            final long[] cellKeys = new long[spawns.size()];
+            int index = 0;
+            for (PALocation spawn : spawns) {
+                this.worlds[index] = spawn.getWorldName();
+                this.coords[index * 3] = spawn.getX();
+                this.coords[index * 3 + 1] = spawn.getY();
+                this.coords[index * 3 + 2] = spawn.getZ();
+                cellKeys[index] = this.cellKey(this.cell(spawn.getX()), this.cell(spawn.getZ()));
+                cellCounts.merge(cellKeys[index], 1, Integer::sum);
+                index++;
+            }
+
+            // flat buckets of spawn indexes, first slot is the bucket fill level
+            cellCounts.forEach((key, count) -> this.cells.put(key, new int[count + 1]));
+            for (int i = 0; i < cellKeys.length; i++) {
+                final int[] bucket = this.cells.get(cellKeys[i]);
+                bucket[++bucket[0]] = i;
+            }
+        }
+
+        /**
+         * @param location a location
+         * @return number of spawns having the location in range
+         */
+        public int countSpawnsInRange(final Location location) {
+            final World world = location.getWorld();
+            if (this.worlds.length == 0 || world == null) {
+                return 0;
+            }
+            final double x = location.getX();
+            final double y = location.getY();
+            final double z = location.getZ();
+            final int cellX = this.cell(x);
+            final int cellZ = this.cell(z);
+
+            int count = 0;
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    final int[] bucket = this.cells.get(this.cellKey(cellX + dx, cellZ + dz));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i = 1; i <= bucket[0]; i++) {
+                        if (this.isInRange(bucket[i], world, x, y, z)) {
+                            count++;
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        private boolean isInRange(final int index, final World world, final double x, final double y, final double z) {
+            if (!world.getName().equals(this.worlds[index])) {
+                return false;
+            }
+            final double diffX = this.coords[index * 3] - x;
+            final double diffY = this.coords[index * 3 + 1] - y;
+            final double diffZ = this.coords[index * 3 + 2] - z;
+            final double distanceSquared = diffX * diffX + diffY * diffY + diffZ * diffZ;
+            return this.inclusive ? distanceSquared <= this.rangeSquared : distanceSquared < this.rangeSquared;
+        }
+
+        private int cell(final double coordinate) {
+            return (int) Math.floor(coordinate / this.cellSize);
+        }
+
+        private long cellKey(final int cellX, final int cellZ) {
+            return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+        }
+    }
+}
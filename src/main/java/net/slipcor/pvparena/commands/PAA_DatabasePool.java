@@ -0,0 +1,86 @@
+package net.slipcor.pvparena.commands;
+
+import net.slipcor.pvparena.api.AsyncPlaceholderLoader;
+import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.statistics.connector.ConnectionPool;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <pre>PVP Arena DBPOOL Command class</pre>
+ * <p/>
+ * A command to display database connection pool and placeholder loading metrics
+ */
+
+public class PAA_DatabasePool extends AbstractGlobalCommand {
+
+    public PAA_DatabasePool() {
+        super(new String[]{"pvparena.cmds.dbpool"});
+    }
+
+    @Override
+    public void commit(final CommandSender sender, final String[] args) {
+        if (!this.hasPerms(sender)) {
+            return;
+        }
+
+        if (!argCountValid(sender, args, new Integer[]{0})) {
+            return;
+        }
+
+        final List<ConnectionPool> pools = ConnectionPool.getPools();
+        Arena.pmsg(sender, String.format("%s%s-- PVP Arena database pools --", ChatColor.YELLOW, ChatColor.UNDERLINE));
+        if (pools.isEmpty()) {
+            Arena.pmsg(sender, String.format("%sNo database connection pool", ChatColor.GRAY));
+        }
+
+        for (ConnectionPool pool : pools) {
+            Arena.pmsg(sender, String.format("%s-----------------------------------", ChatColor.GRAY));
+            Arena.pmsg(sender, String.format("%s%s%s: %d active, %d idle, %d open (min %d, max %d)", ChatColor.GREEN,
+                    pool.getName(), ChatColor.WHITE, pool.getActiveCount(), pool.getIdleCount(), pool.getTotalCount(),
+                    pool.getSettings().getMinSize(), pool.getSettings().getMaxSize()));
+            Arena.pmsg(sender, String.format("%sTimeouts: %s%d%s, evicted: %s%d", ChatColor.YELLOW, ChatColor.WHITE,
+                    pool.getTimeoutCount(), ChatColor.YELLOW, ChatColor.WHITE, pool.getEvictedCount()));
+
+            final long[] histogram = pool.getWaitTimeHistogram();
+            final StringBuilder waitTimes = new StringBuilder();
+            for (int i = 0; i < histogram.length; i++) {
+                final String bucket = (i < ConnectionPool.WAIT_TIME_BUCKETS.length)
+                        ? "<=" + ConnectionPool.WAIT_TIME_BUCKETS[i]
+                        : ">" + ConnectionPool.WAIT_TIME_BUCKETS[i - 1];
+                waitTimes.append(String.format(" %s%sms:%s%d", ChatColor.YELLOW, bucket, ChatColor.WHITE, histogram[i]));
+            }
+            Arena.pmsg(sender, String.format("%sWait time:%s", ChatColor.YELLOW, waitTimes));
+        }
+
+        final AsyncPlaceholderLoader placeholderLoader = AsyncPlaceholderLoader.getInstanceIfStarted();
+        if (placeholderLoader != null && placeholderLoader.isNonBlocking()) {
+            Arena.pmsg(sender, String.format("%s-----------------------------------", ChatColor.GRAY));
+            Arena.pmsg(sender, String.format("%sPlaceholders%s: %d hits, %d misses, %d loading", ChatColor.GREEN, ChatColor.WHITE,
+                    placeholderLoader.getHitCount(), placeholderLoader.getMissCount(), placeholderLoader.getInFlightCount()));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getName();
+    }
+
+    @Override
+    public List<String> getMain() {
+        return Collections.singletonList("dbpool");
+    }
+
+    @Override
+    public List<String> getShort() {
+        return Collections.singletonList("!db");
+    }
+
+    @Override
+    public CommandTree<String> getSubs(final Arena nothing) {
+        return new CommandTree<>(null);
+    }
+}
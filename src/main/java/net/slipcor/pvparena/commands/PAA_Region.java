@@ -10,6 +10,7 @@ import net.slipcor.pvparena.loadables.ArenaRegionShape;
 import net.slipcor.pvparena.loader.Loadable;
 import net.slipcor.pvparena.managers.RegionManager;
 import net.slipcor.pvparena.regions.ArenaRegion;
+import net.slipcor.pvparena.regions.RegionChunkIndex;
 import net.slipcor.pvparena.regionshapes.CuboidRegion;
 import org.bukkit.block.BlockFace;
 import org.bukkit.command.CommandSender;
@@ -101,7 +102,7 @@ public class PAA_Region extends AbstractArenaCommand {
             arena.getConfig().setManually("arenaregion." + region.getRegionName(), null);
             arena.msg(sender, MSG.REGION_REMOVED, region.getRegionName());
 
-            arena.getRegions().remove(region);
+            arena.removeRegion(region);
             arena.getConfig().save();
             RegionManager.getInstance().reloadCache();
 
@@ -194,6 +195,7 @@ public class PAA_Region extends AbstractArenaCommand {
                 region.getShape().extend(direction, amount * -1);
                 arena.msg(sender, MSG.REGION_CONTACTED, amount, direction);
             }
+            RegionChunkIndex.update(region);
 
             region.getShape().showBorder(player);
             region.saveToConfig();
@@ -60,7 +60,7 @@ public class PAA_Teams extends AbstractArenaCommand {
 
         if ("remove".equals(args[0])) {
             arena.msg(sender, MSG.TEAMS_REMOVE, team.getColoredName());
-            arena.getTeams().remove(team);
+            arena.removeTeam(team);
             arena.getConfig().setManually("teams." + team.getName(), null);
             arena.getConfig().save();
         } else if ("add".equals(args[0])) {
@@ -80,7 +80,7 @@ public class PAA_Teams extends AbstractArenaCommand {
             try {
                 final ChatColor color = ChatColor.valueOf(args[2].toUpperCase());
                 final ArenaTeam newTeam = new ArenaTeam(args[1], color.name());
-                arena.getTeams().remove(arena.getTeam(args[1]));
+                arena.removeTeam(arena.getTeam(args[1]));
                 arena.getTeams().add(newTeam);
                 arena.getConfig().setManually("teams." + newTeam.getName(), color.name());
                 arena.getConfig().save();
@@ -1,25 +1,22 @@
 package net.slipcor.pvparena.commands;
 
 import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.arena.ArenaAvailabilityIndex;
 import net.slipcor.pvparena.arena.ArenaPlayer;
-import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.core.Language.MSG;
 import net.slipcor.pvparena.core.RandomUtils;
 import net.slipcor.pvparena.managers.ArenaManager;
-import net.slipcor.pvparena.managers.PermissionManager;
-import net.slipcor.pvparena.managers.TeamManager;
 import net.slipcor.pvparena.managers.WorkflowManager;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import static net.slipcor.pvparena.config.Debugger.debug;
 
@@ -74,117 +71,55 @@ public class PAG_AutoJoinOne extends AbstractGlobalCommand {
             return;
         }
 
-        // Get the last arena this player was in (to exclude it)
-        final String lastArenaName = lastArenaMap.get(player.getUniqueId());
-
-        // Get all enabled arenas that the player can join
-        final Set<Arena> availableArenas = ArenaManager.getArenas().stream()
-                .filter(arena -> {
-                    // Filter out locked (disabled) arenas
-                    if (arena.isLocked()) {
-                        return false;
-                    }
-
-                    // Exclude the last arena the player was in
-                    if (lastArenaName != null && arena.getName().equalsIgnoreCase(lastArenaName)) {
-                        debug(player, "Excluding last arena: {}", lastArenaName);
-                        return false;
-                    }
-
-                    // Check if player has permission to join this arena
-                    if (!PermissionManager.hasExplicitArenaPerm(player, arena, "join")) {
-                        return false;
-                    }
-
-                    // Check if arena is full
-                    if (TeamManager.isArenaFull(arena)) {
-                        return false;
-                    }
-
-                    // Check if fight is in progress and join is not allowed
-                    if (arena.isFightInProgress() && !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_DURING_MATCH) &&
-                            (!arena.getConfig().getBoolean(CFG.JOIN_ALLOW_REJOIN) || !arena.hasAlreadyPlayed(player.getName()))) {
-                        return false;
-                    }
-
-                    // Check if player has already played and rejoin is not allowed
-                    if (!arena.getGoal().allowsJoinInBattle() &&
-                            !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_REJOIN) && arena.hasAlreadyPlayed(player.getName())) {
-                        return false;
-                    }
-
-                    // Check join region if set
-                    if (!ArenaManager.checkJoinRegion(player, arena)) {
-                        return false;
-                    }
-
-                    // Check if player is too far away
-                    if (net.slipcor.pvparena.regions.ArenaRegion.tooFarAway(arena, player)) {
-                        return false;
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toSet());
-
         // Check if any arena (not just available) has an ongoing fight (PVPEvent) - if so, cancel autojoin
-        boolean hasOngoingEvent = ArenaManager.getArenas().stream()
-                .anyMatch(Arena::isFightInProgress);
-        
-        if (hasOngoingEvent) {
+        final ArenaAvailabilityIndex availability = ArenaManager.getAvailabilityIndex();
+        if (availability.isAnyFightInProgress()) {
             // Cancel autojoin and show message
             Arena.pmsg(player, MSG.CMD_AUTOJOINONE_EVENT_ONGOING);
             debug(player, "Autojoin cancelled: Found arena(s) with ongoing fight");
             return;
         }
 
-        // If no arenas available after excluding last arena, try again without exclusion
-        Set<Arena> finalAvailableArenas = availableArenas;
-        if (availableArenas.isEmpty() && lastArenaName != null) {
-            debug(player, "No arenas available after excluding last arena, retrying without exclusion");
-            // Retry without excluding the last arena
-            finalAvailableArenas = ArenaManager.getArenas().stream()
-                    .filter(arena -> {
-                        if (arena.isLocked()) return false;
-                        if (!PermissionManager.hasExplicitArenaPerm(player, arena, "join")) return false;
-                        if (TeamManager.isArenaFull(arena)) return false;
-                        if (arena.isFightInProgress() && !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_DURING_MATCH) &&
-                                (!arena.getConfig().getBoolean(CFG.JOIN_ALLOW_REJOIN) || !arena.hasAlreadyPlayed(player.getName()))) {
-                            return false;
-                        }
-                        if (!arena.getGoal().allowsJoinInBattle() &&
-                                !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_REJOIN) && arena.hasAlreadyPlayed(player.getName())) {
-                            return false;
-                        }
-                        if (!ArenaManager.checkJoinRegion(player, arena)) return false;
-                        if (net.slipcor.pvparena.regions.ArenaRegion.tooFarAway(arena, player)) return false;
-                        return true;
-                    })
-                    .collect(Collectors.toSet());
-        }
-
-        if (finalAvailableArenas.isEmpty()) {
-            Arena.pmsg(player, MSG.ERROR_NO_ARENAS);
-            return;
-        }
+        // Get the last arena this player was in (to exclude it)
+        final String lastArenaName = lastArenaMap.get(player.getUniqueId());
 
+        // Unlocked arenas the player can join, the ones having most players first
+        final List<Arena> emptyArenas = new ArrayList<>();
+        Arena lastArena = null;
         Arena selectedArena = null;
+        for (Arena arena : availability.getOpenArenas()) {
+            if (!ArenaManager.isAutoJoinable(player, arena)) {
+                continue;
+            }
+
+            // Exclude the last arena the player was in
+            if (lastArenaName != null && arena.getName().equalsIgnoreCase(lastArenaName)) {
+                debug(player, "Excluding last arena: {}", lastArenaName);
+                lastArena = arena;
+                continue;
+            }
+
+            if (availability.getFillLevel(arena) > 0) {
+                // Select the arena with players
+                selectedArena = arena;
+                debug(player, "Found arena with players, selecting it");
+                break;
+            }
+            emptyArenas.add(arena);
+        }
 
-        // Check for arenas with players first
-        Set<Arena> arenasWithPlayers = finalAvailableArenas.stream()
-                .filter(arena -> arena.getEveryone().size() > 0)
-                .collect(Collectors.toSet());
-
-        if (!arenasWithPlayers.isEmpty()) {
-            // Select the first arena with players
-            selectedArena = arenasWithPlayers.iterator().next();
-            debug(player, "Found {} arena(s) with players, selecting first one", arenasWithPlayers.size());
-        } else {
+        if (selectedArena == null && !emptyArenas.isEmpty()) {
             // No arenas have players, randomly select from available arenas
-            selectedArena = RandomUtils.getRandom(finalAvailableArenas, new Random());
-            debug(player, "No arenas have players, randomly selecting from {} available arena(s)", finalAvailableArenas.size());
+            selectedArena = RandomUtils.getRandom(emptyArenas, new Random());
+            debug(player, "No arenas have players, randomly selecting from {} available arena(s)", emptyArenas.size());
+        }
+
+        if (selectedArena == null && lastArena != null) {
+            // If no arenas available after excluding last arena, use it anyway
+            debug(player, "No arenas available after excluding last arena, using it anyway");
+            selectedArena = lastArena;
         }
-        
+
         if (selectedArena == null) {
             Arena.pmsg(player, MSG.ERROR_NO_ARENAS);
             return;
@@ -43,7 +43,7 @@ public class PAG_Spectate extends AbstractArenaCommand {
         }
 
         // Only check the first player who joins the arena
-        if(arena.getEveryone().isEmpty()) {
+        if(arena.getMembership().getEveryone().isEmpty()) {
             final Set<String> errors = ConfigurationManager.isSetup(arena);
             if (CollectionUtils.isNotEmpty(errors)) {
                 errors.forEach(error -> arena.msg(sender, MSG.ERROR_ERROR, error));
@@ -181,7 +181,7 @@ public class PAG_VanillaJoin extends AbstractGlobalCommand {
 
         // Check for arenas with players first
         Set<Arena> arenasWithPlayers = finalAvailableArenas.stream()
-                .filter(arena -> arena.getEveryone().size() > 0)
+                .filter(arena -> arena.getMembership().getEveryone().size() > 0)
                 .collect(Collectors.toSet());
 
         if (!arenasWithPlayers.isEmpty()) {
@@ -73,7 +73,7 @@ public class PAI_List extends AbstractArenaCommand {
 
         final Map<PlayerStatus, Set<String>> stats = new HashMap<>();
 
-        for (ArenaPlayer player : arena.getEveryone()) {
+        for (ArenaPlayer player : arena.getMembership().getEveryone()) {
             final Set<String> players = stats.containsKey(player.getStatus()) ? stats.get(player.getStatus()) : new HashSet<String>();
 
             players.add(player.getName());
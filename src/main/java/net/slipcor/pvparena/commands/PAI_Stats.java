@@ -5,12 +5,14 @@ import net.slipcor.pvparena.core.Language;
 import net.slipcor.pvparena.core.Language.MSG;
 import net.slipcor.pvparena.core.StringParser;
 import net.slipcor.pvparena.managers.StatisticsManager;
+import net.slipcor.pvparena.statistics.StatsLeaderboardCache;
 import net.slipcor.pvparena.statistics.model.StatEntry;
 import org.bukkit.command.CommandSender;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * <pre>PVP Arena STATS Command class</pre>
@@ -53,7 +55,18 @@ public class PAI_Stats extends AbstractArenaCommand {
             }
         }
 
-        Map<String, Long> playersStats = StatisticsManager.getStats(arena, statType, max);
+        final int leaderboardSize = StatsLeaderboardCache.getInstance().getSize();
+        if (max > leaderboardSize) {
+            Arena.pmsg(sender, MSG.STATS_LIMITED, String.valueOf(leaderboardSize));
+            max = leaderboardSize;
+        }
+
+        Optional<Map<String, Long>> playersStats = StatisticsManager.getStats(arena, statType, max);
+
+        if (!playersStats.isPresent()) {
+            Arena.pmsg(sender, MSG.STATS_LOADING);
+            return;
+        }
 
         final String s2 = Language.parse(MSG.getByName("STATTYPE_" + statType.name()));
 
@@ -62,7 +75,7 @@ public class PAI_Stats extends AbstractArenaCommand {
 
         Arena.pmsg(sender, s1);
 
-        playersStats.forEach((key, value) -> Arena.pmsg(sender, key + " : " + value));
+        playersStats.get().forEach((key, value) -> Arena.pmsg(sender, key + " : " + value));
     }
 
     @Override
@@ -0,0 +1,145 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.core.Config.CFG;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the boolean, int, double and string values of a {@link Config}, resolved for every {@link CFG} node and
+ * stored in arrays indexed by node ordinal. Reading a node is then a single array access instead of a map lookup with
+ * unboxing. A snapshot is built on first read and built again once the revision of its config has changed.
+ */
+final class CompiledConfig {
+    private static final byte MISSING = 0;
+    private static final byte DEFAULT = 1;
+    private static final byte IN_FILE = 2;
+
+    private final long revision;
+
+    private final boolean[] booleans;
+    private final int[] ints;
+    private final double[] doubles;
+    private final String[] strings;
+
+    private final byte[] booleanStates;
+    private final byte[] intStates;
+    private final byte[] doubleStates;
+    private final byte[] stringStates;
+
+    CompiledConfig(final long revision, final Map<String, Boolean> booleanMap, final Map<String, Integer> intMap,
+                   final Map<String, Double> doubleMap, final Map<String, String> stringMap) {
+        final CFG[] nodes = CFG.values();
+        this.revision = revision;
+        this.booleans = new boolean[nodes.length];
+        this.ints = new int[nodes.length];
+        this.doubles = new double[nodes.length];
+        this.strings = new String[nodes.length];
+        this.booleanStates = new byte[nodes.length];
+        this.intStates = new byte[nodes.length];
+        this.doubleStates = new byte[nodes.length];
+        this.stringStates = new byte[nodes.length];
+
+        for (CFG node : nodes) {
+            final int i = node.ordinal();
+            final Object def = node.getValue();
+
+            final Boolean bool = booleanMap.get(node.getNode());
+            if (bool != null) {
+                this.booleans[i] = bool;
+                this.booleanStates[i] = IN_FILE;
+            } else if (def instanceof Boolean) {
+                this.booleans[i] = (Boolean) def;
+                this.booleanStates[i] = DEFAULT;
+            }
+
+            final Integer integer = intMap.get(node.getNode());
+            if (integer != null) {
+                this.ints[i] = integer;
+                this.intStates[i] = IN_FILE;
+            } else if (def instanceof Integer) {
+                this.ints[i] = (Integer) def;
+                this.intStates[i] = DEFAULT;
+            }
+
+            final Double dbl = doubleMap.get(node.getNode());
+            if (dbl != null) {
+                this.doubles[i] = dbl;
+                this.doubleStates[i] = IN_FILE;
+            } else if (def instanceof Double) {
+                this.doubles[i] = (Double) def;
+                this.doubleStates[i] = DEFAULT;
+            }
+
+            final String string = stringMap.get(node.getNode());
+            if (string != null) {
+                this.strings[i] = string;
+                this.stringStates[i] = IN_FILE;
+            } else if (def instanceof String) {
+                this.strings[i] = (String) def;
+                this.stringStates[i] = DEFAULT;
+            }
+        }
+    }
+
+    /**
+     * @return the config revision this snapshot was built from
+     */
+    long getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * @return true if the node has a boolean value, set in file or by default
+     */
+    boolean hasBoolean(final CFG cfg) {
+        return this.booleanStates[cfg.ordinal()] != MISSING;
+    }
+
+    boolean getBoolean(final CFG cfg) {
+        return this.booleans[cfg.ordinal()];
+    }
+
+    /**
+     * @return true if the node has an int value, set in file or by default
+     */
+    boolean hasInt(final CFG cfg) {
+        return this.intStates[cfg.ordinal()] != MISSING;
+    }
+
+    int getInt(final CFG cfg) {
+        return this.ints[cfg.ordinal()];
+    }
+
+    int getInt(final CFG cfg, final int def) {
+        final int i = cfg.ordinal();
+        return this.intStates[i] == IN_FILE ? this.ints[i] : def;
+    }
+
+    /**
+     * @return true if the node has a double value, set in file or by default
+     */
+    boolean hasDouble(final CFG cfg) {
+        return this.doubleStates[cfg.ordinal()] != MISSING;
+    }
+
+    double getDouble(final CFG cfg) {
+        return this.doubles[cfg.ordinal()];
+    }
+
+    double getDouble(final CFG cfg, final double def) {
+        final int i = cfg.ordinal();
+        return this.doubleStates[i] == IN_FILE ? this.doubles[i] : def;
+    }
+
+    /**
+     * @return the string value of the node, set in file or by default, null if none
+     */
+    String getString(final CFG cfg) {
+        return this.strings[cfg.ordinal()];
+    }
+
+    String getString(final CFG cfg, final String def) {
+        final int i = cfg.ordinal();
+        return this.stringStates[i] == IN_FILE ? this.strings[i] : def;
+    }
+}
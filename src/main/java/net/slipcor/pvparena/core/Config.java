@@ -19,9 +19,17 @@ import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
 import org.bukkit.inventory.ItemStack;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.BaseConstructor;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -58,6 +66,8 @@ public class Config {
     private final Map<String, Integer> ints;
     private final Map<String, Double> doubles;
     private final Map<String, String> strings;
+    private volatile CompiledConfig compiled;
+    private volatile long revision;
 
     public enum CFG {
 
@@ -595,6 +605,8 @@ public class Config {
      * @return true, if the load succeeded, false otherwise.
      */
     public boolean load() {
+        // pending saves of this file have to be written before reading it again
+        ofNullable(ConfigSaveScheduler.getInstanceIfStarted()).ifPresent(scheduler -> scheduler.flush(this.configFile, null));
         try {
             this.cfg.load(this.configFile);
             this.reloadMaps();
@@ -605,6 +617,93 @@ public class Config {
         }
     }
 
+    /**
+     * Read and parse the YAML of a config file into plain maps, lists and scalars. No Bukkit object is created
+     * (serialized items stay maps), so this can run on any thread. Use {@link #load(Map)} on the main thread to load
+     * the result.
+     *
+     * @param configFile the config file
+     * @return the YAML content
+     * @throws IOException if the file can't be read
+     */
+    public static Map<?, ?> parseRaw(final File configFile) throws IOException {
+        // pending saves of this file have to be written before reading it again
+        ofNullable(ConfigSaveScheduler.getInstanceIfStarted()).ifPresent(scheduler -> scheduler.flush(configFile, null));
+        final String contents = new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8);
+        final Object input = newSafeYaml().load(contents);
+        return (input instanceof Map) ? (Map<?, ?>) input : new LinkedHashMap<>();
+    }
+
+    /**
+     * SafeConstructor takes LoaderOptions since SnakeYAML 2 (Minecraft 1.20+) and had a no-arg constructor before,
+     * some 1.x versions having both
+     */
+    private static Yaml newSafeYaml() {
+        BaseConstructor constructor;
+        try {
+            constructor = SafeConstructor.class.getConstructor(LoaderOptions.class).newInstance(new LoaderOptions());
+        } catch (final ReflectiveOperationException e) {
+            try {
+                constructor = SafeConstructor.class.getConstructor().newInstance();
+            } catch (final ReflectiveOperationException ex) {
+                throw new IllegalStateException("Unsupported SnakeYAML version", ex);
+            }
+        }
+        return new Yaml(constructor);
+    }
+
+    /**
+     * Load YAML content read by {@link #parseRaw(File)}, deserializing Bukkit objects (items...) the same way
+     * {@link YamlConfiguration} does. Must be called on the main thread.
+     *
+     * @param rawContent the YAML content
+     * @return true, if the load succeeded, false otherwise.
+     */
+    public boolean load(final Map<?, ?> rawContent) {
+        try {
+            fillSection(this.cfg, rawContent);
+            this.reloadMaps();
+            return true;
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static void fillSection(final ConfigurationSection section, final Map<?, ?> content) {
+        for (Map.Entry<?, ?> entry : content.entrySet()) {
+            final String key = String.valueOf(entry.getKey());
+            final Object value = entry.getValue();
+            if (value instanceof Map && !((Map<?, ?>) value).containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) {
+                fillSection(section.createSection(key), (Map<?, ?>) value);
+            } else {
+                section.set(key, deserialize(value));
+            }
+        }
+    }
+
+    private static Object deserialize(final Object value) {
+        if (value instanceof List) {
+            final List<Object> result = new ArrayList<>();
+            for (Object element : (List<?>) value) {
+                result.add(deserialize(element));
+            }
+            return result;
+        }
+        if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            if (map.containsKey(ConfigurationSerialization.SERIALIZED_TYPE_KEY)) {
+                final Map<String, Object> typed = new LinkedHashMap<>();
+                map.forEach((key, element) -> typed.put(String.valueOf(key), deserialize(element)));
+                return ConfigurationSerialization.deserializeObject(typed);
+            }
+            final Map<Object, Object> result = new LinkedHashMap<>();
+            map.forEach((key, element) -> result.put(key, deserialize(element)));
+            return result;
+        }
+        return value;
+    }
+
     /**
      * Iterates through all keys in the config-file, and populates the value
      * maps. Boolean values are stored in the booleans-map, Strings in the
@@ -624,14 +723,41 @@ public class Config {
                 this.strings.put(s, (String) object);
             }
         }
+        this.revision++;
     }
 
     /**
-     * Sort and save the YamlConfiguration to the config-file.
+     * Sort and save the YamlConfiguration to the config-file. The file is written later by
+     * {@link ConfigSaveScheduler} if it's running, right now otherwise.
      *
-     * @return true, if the save succeeded, false otherwise.
+     * @return true, if the save succeeded or has been scheduled, false otherwise.
      */
     public boolean save() {
+        final ConfigSaveScheduler scheduler = ConfigSaveScheduler.getInstanceIfStarted();
+        if (scheduler != null) {
+            if (PVPArena.getInstance().isEnabled()) {
+                scheduler.schedule(this.configFile, this);
+            } else {
+                scheduler.flush(this.configFile, this);
+            }
+            return true;
+        }
+
+        try {
+            ConfigSaveScheduler.writeAtomically(this.configFile, this.saveToString());
+            return true;
+        } catch (final Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Sort and serialize the YamlConfiguration
+     *
+     * @return the YAML content of the config-file
+     */
+    public String saveToString() {
         YamlConfiguration outputConfig = new YamlConfiguration();
         outputConfig.options().copyDefaults(true);
         outputConfig.options().indent(2);
@@ -641,14 +767,7 @@ public class Config {
         configMap.entrySet().spliterator().forEachRemaining(entry ->
             outputConfig.set(entry.getKey(), entry.getValue())
         );
-
-        try {
-            outputConfig.save(this.configFile);
-            return true;
-        } catch (final Exception e) {
-            e.printStackTrace();
-            return false;
-        }
+        return outputConfig.saveToString();
     }
 
     /**
@@ -657,6 +776,7 @@ public class Config {
      * @return true, if the delete succeeded, false otherwise.
      */
     public boolean delete() {
+        ofNullable(ConfigSaveScheduler.getInstanceIfStarted()).ifPresent(scheduler -> scheduler.cancel(this.configFile));
         return this.configFile.delete();
     }
 
@@ -718,6 +838,10 @@ public class Config {
      * @return the boolean value of the path if the path exists, false otherwise
      */
     public boolean getBoolean(final CFG cfg) {
+        final CompiledConfig values = this.getCompiled();
+        if (values.hasBoolean(cfg)) {
+            return values.getBoolean(cfg);
+        }
         return this.getBoolean(cfg, (Boolean) cfg.getValue());
     }
 
@@ -741,6 +865,10 @@ public class Config {
      * @return the int value of the path if the path exists, 0 otherwise
      */
     public int getInt(final CFG cfg) {
+        final CompiledConfig values = this.getCompiled();
+        if (values.hasInt(cfg)) {
+            return values.getInt(cfg);
+        }
         return this.getInt(cfg, (Integer) cfg.getValue());
     }
 
@@ -752,9 +880,7 @@ public class Config {
      * @return the int value of the path if it exists, def otherwise
      */
     public int getInt(final CFG cfg, final int def) {
-        final String path = cfg.getNode();
-        final Integer result = this.ints.get(path);
-        return result == null ? def : result;
+        return this.getCompiled().getInt(cfg, def);
     }
 
     /**
@@ -764,6 +890,10 @@ public class Config {
      * @return the double value of the path if the path exists, 0D otherwise
      */
     public double getDouble(final CFG cfg) {
+        final CompiledConfig values = this.getCompiled();
+        if (values.hasDouble(cfg)) {
+            return values.getDouble(cfg);
+        }
         return this.getDouble(cfg, (Double) cfg.getValue());
     }
 
@@ -775,9 +905,7 @@ public class Config {
      * @return the double value of the path if it exists, def otherwise
      */
     public double getDouble(final CFG cfg, final double def) {
-        final String path = cfg.getNode();
-        final Double result = this.doubles.get(path);
-        return result == null ? def : result;
+        return this.getCompiled().getDouble(cfg, def);
     }
 
     /**
@@ -787,7 +915,8 @@ public class Config {
      * @return the string value of the path if the path exists, null otherwise
      */
     public String getString(final CFG cfg) {
-        return this.getString(cfg, (String) cfg.getValue());
+        final String result = this.getCompiled().getString(cfg);
+        return result == null ? this.getString(cfg, (String) cfg.getValue()) : result;
     }
 
     /**
@@ -798,8 +927,7 @@ public class Config {
      * @return the string value of the path if it exists, def otherwise
      */
     public String getString(final CFG cfg, final String def) {
-        String result = this.strings.get(cfg.getNode());
-        return result == null ? def : result;
+        return this.getCompiled().getString(cfg, def);
     }
 
     /**
@@ -813,6 +941,31 @@ public class Config {
         return "none".equalsIgnoreCase(result) ? null : result;
     }
 
+    /**
+     * Get the number of times values were reloaded or set, so that objects built from config values know when to
+     * build them again.
+     *
+     * @return the config revision
+     */
+    public long getRevision() {
+        return this.revision;
+    }
+
+    /**
+     * Get the value snapshot of CFG nodes, building it if the revision changed since it was last built.
+     *
+     * @return the current value snapshot
+     */
+    private CompiledConfig getCompiled() {
+        final long currentRevision = this.revision;
+        CompiledConfig values = this.compiled;
+        if (values == null || values.getRevision() != currentRevision) {
+            values = new CompiledConfig(currentRevision, this.booleans, this.ints, this.doubles, this.strings);
+            this.compiled = values;
+        }
+        return values;
+    }
+
     public Material getMaterial(final CFG cfg) {
         return this.getMaterial(cfg, Material.valueOf((String) cfg.getValue()));
     }
@@ -916,6 +1069,7 @@ public class Config {
         }
 
         this.cfg.set(path, value);
+        this.revision++;
     }
 
     public void set(final CFG cfg, final Object value) {
@@ -0,0 +1,186 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.PVPArena;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Optional.ofNullable;
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * Debounced writer of arena config files
+ *
+ * Saving a config only marks it dirty. All configs marked during the save delay are serialized together on the main
+ * thread, then written by an I/O thread to a temp file which replaces the config file with an atomic rename.
+ * Pending saves of a file are flushed before it's loaded again, and all of them when the plugin is disabled.
+ */
+public final class ConfigSaveScheduler {
+    private static final long DEFAULT_DELAY_MILLIS = 1000;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static ConfigSaveScheduler instance;
+
+    private final long delayTicks;
+    private final ExecutorService executor;
+    private final Map<File, Config> pending = new LinkedHashMap<>();
+    private BukkitTask flushTask;
+
+    private ConfigSaveScheduler(long delayMillis) {
+        this.delayTicks = Math.max(1, delayMillis / 50);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-ConfigWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the scheduler with the "configSave" settings of the global config
+     * @param config configSave config section, can be null
+     */
+    public static void init(ConfigurationSection config) {
+        shutdown();
+        long delay = ofNullable(config).map(cfg -> cfg.getLong("delay", DEFAULT_DELAY_MILLIS)).orElse(DEFAULT_DELAY_MILLIS);
+        if (delay > 0) {
+            instance = new ConfigSaveScheduler(delay);
+        }
+    }
+
+    /**
+     * @return the running scheduler, null if saves are synchronous
+     */
+    public static ConfigSaveScheduler getInstanceIfStarted() {
+        return instance;
+    }
+
+    /**
+     * Write all pending saves and stop the scheduler. Next saves are synchronous.
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.flushAll();
+            instance.executor.shutdown();
+            instance = null;
+        }
+    }
+
+    /**
+     * Mark a config as dirty, it will be written after the save delay
+     * @param file the config file
+     * @param config the config to save
+     */
+    public synchronized void schedule(File file, Config config) {
+        this.pending.put(file, config);
+        if (this.flushTask == null) {
+            this.flushTask = Bukkit.getScheduler().runTaskLater(PVPArena.getInstance(), this::writePending, this.delayTicks);
+        }
+    }
+
+    /**
+     * Write a config now and wait for all writes of its file to be done
+     * @param file the config file
+     * @param config the config to save, null to only write a pending save
+     */
+    public void flush(File file, Config config) {
+        final Config toWrite;
+        synchronized (this) {
+            final Config pendingConfig = this.pending.remove(file);
+            toWrite = (config == null) ? pendingConfig : config;
+        }
+        if (toWrite != null) {
+            this.enqueue(file, toWrite.saveToString());
+        }
+        this.waitForWrites();
+    }
+
+    /**
+     * Drop a pending save, for instance when the config file is deleted
+     * @param file the config file
+     */
+    public void cancel(File file) {
+        synchronized (this) {
+            this.pending.remove(file);
+        }
+        this.waitForWrites();
+    }
+
+    /**
+     * Write all pending saves and wait for them
+     */
+    public void flushAll() {
+        this.writePending();
+        this.waitForWrites();
+    }
+
+    /**
+     * Write a content to a temp file, then replace the target file by the temp file
+     * @param file the target file
+     * @param content file content
+     * @throws IOException if writing fails
+     */
+    public static void writeAtomically(File file, String content) throws IOException {
+        final Path target = file.toPath();
+        final Path temp = target.resolveSibling(file.getName() + ".tmp");
+        Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void writePending() {
+        final List<Map.Entry<File, Config>> toWrite;
+        synchronized (this) {
+            if (this.flushTask != null) {
+                this.flushTask.cancel();
+                this.flushTask = null;
+            }
+            toWrite = new ArrayList<>(this.pending.entrySet());
+            this.pending.clear();
+        }
+        // snapshots are serialized on the calling (main) thread, only file writes are done in background
+        toWrite.forEach(entry -> this.enqueue(entry.getKey(), entry.getValue().saveToString()));
+        if (!toWrite.isEmpty()) {
+            debug("{} config file(s) saved", toWrite.size());
+        }
+    }
+
+    private void enqueue(File file, String content) {
+        this.executor.execute(() -> {
+            try {
+                writeAtomically(file, content);
+            } catch (IOException e) {
+                PVPArena.getInstance().getLogger().severe(String.format("Unable to save %s: %s", file.getName(), e.getMessage()));
+            }
+        });
+    }
+
+    private void waitForWrites() {
+        try {
+            this.executor.submit(() -> {}).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to flush config saves: " + e.getMessage());
+        }
+    }
+}
@@ -199,6 +199,7 @@ public final class Language {
         ERROR_NOPERM_C_CHECK("nopermto.cmds.check", "use the check command"),
         ERROR_NOPERM_C_CLASS("nopermto.cmds.class", "use the class command"),
         ERROR_NOPERM_C_CREATE("nopermto.cmds.create", "use the create command"),
+        ERROR_NOPERM_C_DBPOOL("nopermto.cmds.dbpool", "use the dbpool command"),
         ERROR_NOPERM_C_DEBUG("nopermto.cmds.debug", "use the debug command"),
         ERROR_NOPERM_C_DISABLE("nopermto.cmds.disable", "use the disable command"),
         ERROR_NOPERM_C_EDIT("nopermto.cmds.edit", "use the edit command"),
@@ -390,6 +391,8 @@ public final class Language {
         CFG_SET_ITEMS_NOT("cfg.set.items_not", "Please use either hand or inventory to set an item node!"),
 
         STATS_HEAD("stats.head", "Statistics TOP %1% (%2%)"),
+        STATS_LIMITED("stats.limited", "Only the top &e%1%&r players of each statistic are kept."),
+        STATS_LOADING("stats.loading", "Statistics are loading, please try again in a moment."),
         STATS_TYPENOTFOUND("stats.typenotfound", "Statistics type not found! Valid values: &e%1%&r"),
 
         STATTYPE_DAMAGE("stattype.DAMAGE", StatEntry.DAMAGE.getLabel()),
@@ -572,6 +575,7 @@ public final class Language {
         CMD_DUELJOIN_MATCH_FOUND("cmd.dueljoin.matchFound", "Match found! Joining arena %1%..."),
         CMD_DUELJOIN_PLAYER_JOINED("cmd.dueljoin.playerJoined", "Player %1% joined the queue. Queue size: %2%"),
         CMD_DUELJOIN_NO_ARENAS("cmd.dueljoin.noArenas", "No duel arenas available at the moment. Please try again later."),
+        CMD_DUELJOIN_UNAVAILABLE("cmd.dueljoin.unavailable", "The duel queue is not available. Please try again later."),
         CMD_DUELJOIN_TIMEOUT("cmd.dueljoin.timeout", "You were removed from the duel queue due to timeout (6 minutes)."),
         CMD_DUELJOIN_LEFT_ARENA_JOIN("cmd.dueljoin.leftArenaJoin", "You left the duel queue because you joined another arena."),
 
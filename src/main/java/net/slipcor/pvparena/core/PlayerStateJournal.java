@@ -0,0 +1,401 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.PVPArena;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * Journal of the player states saved when players join an arena, keyed by player UUID
+ *
+ * States are serialized on the main thread and appended to a single journal file by an I/O thread. Records queued
+ * while a write is running are written together and synced to disk once. Each record has a checksum, so a record
+ * torn by a crash is dropped when the journal is read again at startup. Records of players who left are removed
+ * by rewriting the journal when there is nothing left to write.
+ * Dump files of previous versions (dumps/[player name].yml) are still read until the player states are restored.
+ */
+public final class PlayerStateJournal {
+    private static final String JOURNAL_FILE = "states.journal";
+    private static final byte PUT = 1;
+    private static final byte CLEAR = 2;
+    private static final int MIN_COMPACTION_RECORDS = 64;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static PlayerStateJournal instance;
+
+    private final File folder;
+    private final Path journalPath;
+    private final Map<UUID, String> states = new ConcurrentHashMap<>();
+    private final Set<String> legacyDumps = ConcurrentHashMap.newKeySet();
+    private final Queue<Record> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PVPArena-StateJournal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // only used by the I/O thread
+    private final Map<UUID, String> persisted = new HashMap<>();
+    private FileChannel channel;
+    private int recordCount;
+
+    private PlayerStateJournal(File folder) {
+        this.folder = folder;
+        this.journalPath = new File(folder, JOURNAL_FILE).toPath();
+    }
+
+    /**
+     * Read the journal and start writing to it
+     * @param folder the dumps folder
+     */
+    public static void init(File folder) {
+        shutdown();
+        final PlayerStateJournal journal = new PlayerStateJournal(folder);
+        try {
+            journal.open();
+            instance = journal;
+        } catch (IOException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to open player state journal: " + e.getMessage());
+            journal.executor.shutdown();
+        }
+    }
+
+    /**
+     * @return the running journal, null if it couldn't be opened
+     */
+    public static PlayerStateJournal getInstanceIfStarted() {
+        return instance;
+    }
+
+    /**
+     * Write all pending states, compact the journal and close it
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            final PlayerStateJournal journal = instance;
+            instance = null;
+            journal.executor.execute(() -> {
+                journal.compact();
+                journal.closeChannel();
+            });
+            journal.waitForWrites();
+            journal.executor.shutdown();
+        }
+    }
+
+    /**
+     * Save the state of a player
+     * @param playerUUID player UUID
+     * @param content serialized player state
+     */
+    public void put(UUID playerUUID, String content) {
+        this.states.put(playerUUID, content);
+        final Record record = new Record(PUT, playerUUID, content);
+        if (record.bytes.length > Record.MAX_CONTENT_SIZE) {
+            PVPArena.getInstance().getLogger().severe(String.format(
+                    "State of player %s is too large to be saved in player state journal (%d bytes)",
+                    playerUUID, record.bytes.length));
+            // don't let a previous state of the player be restored after a crash
+            this.enqueue(new Record(CLEAR, playerUUID, ""));
+            return;
+        }
+        this.enqueue(record);
+    }
+
+    /**
+     * @param playerUUID player UUID
+     * @return serialized player state, null if none
+     */
+    public String get(UUID playerUUID) {
+        return this.states.get(playerUUID);
+    }
+
+    /**
+     * Remove the state of a player once restored
+     * @param playerUUID player UUID
+     */
+    public void clear(UUID playerUUID) {
+        if (this.states.remove(playerUUID) != null) {
+            this.enqueue(new Record(CLEAR, playerUUID, ""));
+        }
+    }
+
+    /**
+     * @param playerName player name
+     * @return dump file written by a previous version for this player, null if none
+     */
+    public File getLegacyDump(String playerName) {
+        return this.legacyDumps.contains(playerName) ? new File(this.folder, playerName + ".yml") : null;
+    }
+
+    /**
+     * Delete dump file written by a previous version for this player
+     * @param playerName player name
+     */
+    public void clearLegacyDump(String playerName) {
+        if (this.legacyDumps.remove(playerName)) {
+            new File(this.folder, playerName + ".yml").delete();
+        }
+    }
+
+    private void open() throws IOException {
+        final File[] files = this.folder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files != null) {
+            for (File file : files) {
+                this.legacyDumps.add(file.getName().substring(0, file.getName().length() - ".yml".length()));
+            }
+        }
+
+        long validLength = 0;
+        if (Files.exists(this.journalPath)) {
+            try (InputStream fileStream = Files.newInputStream(this.journalPath);
+                 DataInputStream input = new DataInputStream(new BufferedInputStream(fileStream))) {
+                Record record;
+                while ((record = Record.read(input)) != null) {
+                    this.apply(record);
+                    validLength += record.size();
+                }
+            }
+        }
+        this.states.putAll(this.persisted);
+
+        this.channel = FileChannel.open(this.journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (this.channel.size() > validLength) {
+            PVPArena.getInstance().getLogger().warning("Dropping incomplete records of player state journal");
+            this.channel.truncate(validLength);
+        }
+        this.channel.position(validLength);
+        debug("player state journal: {} saved state(s)", this.states.size());
+    }
+
+    private void enqueue(Record record) {
+        this.pending.add(record);
+        if (this.drainScheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        this.drainScheduled.set(false);
+        if (this.channel == null && !this.reopenChannel()) {
+            // records stay queued and are written by the next drain
+            PVPArena.getInstance().getLogger().severe(String.format(
+                    "Player state journal is not open, %d record(s) not written", this.pending.size()));
+            return;
+        }
+        final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        int count = 0;
+        Record record;
+        while ((record = this.pending.poll()) != null) {
+            record.write(batch);
+            this.apply(record);
+            count++;
+        }
+        if (count == 0) {
+            return;
+        }
+
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.channel.force(false);
+            debug("player state journal: {} record(s) written", count);
+        } catch (IOException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to write player state journal: " + e.getMessage());
+        }
+
+        // idle: nothing was queued while writing
+        if (this.pending.isEmpty() && this.recordCount >= MIN_COMPACTION_RECORDS
+                && this.recordCount > 2 * this.persisted.size()) {
+            this.compact();
+        }
+    }
+
+    private void apply(Record record) {
+        if (record.type == PUT) {
+            this.persisted.put(record.playerUUID, record.content);
+        } else {
+            this.persisted.remove(record.playerUUID);
+        }
+        this.recordCount++;
+    }
+
+    /**
+     * Rewrite the journal with only the saved states, replacing the journal file with an atomic rename
+     */
+    private void compact() {
+        if (this.channel == null) {
+            return;
+        }
+        final Path temp = this.journalPath.resolveSibling(JOURNAL_FILE + ".tmp");
+        try {
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            this.persisted.forEach((playerUUID, state) -> new Record(PUT, playerUUID, state).write(content));
+            try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                tempChannel.write(ByteBuffer.wrap(content.toByteArray()));
+                tempChannel.force(false);
+            }
+
+            this.closeChannel();
+            try {
+                Files.move(temp, this.journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, this.journalPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            this.channel = FileChannel.open(this.journalPath, StandardOpenOption.WRITE);
+            this.channel.position(this.channel.size());
+            this.recordCount = this.persisted.size();
+            debug("player state journal compacted: {} saved state(s)", this.recordCount);
+        } catch (IOException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to compact player state journal: " + e.getMessage());
+            // keep appending to the journal file, the previous one if it wasn't replaced
+            if (this.channel == null) {
+                this.reopenChannel();
+            }
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ex) {
+                debug("unable to delete {}: {}", temp, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Open the journal file again to append records at its end
+     * @return true if the journal is open
+     */
+    private boolean reopenChannel() {
+        try {
+            this.channel = FileChannel.open(this.journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.channel.position(this.channel.size());
+            return true;
+        } catch (IOException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to reopen player state journal: " + e.getMessage());
+            this.closeChannel();
+            return false;
+        }
+    }
+
+    private void closeChannel() {
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                PVPArena.getInstance().getLogger().warning("Unable to close player state journal: " + e.getMessage());
+            }
+            this.channel = null;
+        }
+    }
+
+    private void waitForWrites() {
+        try {
+            this.executor.submit(() -> {}).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to flush player state journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A journal record: type, player UUID, content length, content and CRC32 of all previous fields
+     */
+    private static final class Record {
+        private static final int HEADER_SIZE = 1 + 8 + 8 + 4;
+        private static final int CHECKSUM_SIZE = 8;
+        private static final int MAX_CONTENT_SIZE = 16 * 1024 * 1024;
+
+        private final byte type;
+        private final UUID playerUUID;
+        private final String content;
+        private final byte[] bytes;
+
+        private Record(byte type, UUID playerUUID, String content) {
+            this(type, playerUUID, content, content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private Record(byte type, UUID playerUUID, String content, byte[] bytes) {
+            this.type = type;
+            this.playerUUID = playerUUID;
+            this.content = content;
+            this.bytes = bytes;
+        }
+
+        private int size() {
+            return HEADER_SIZE + this.bytes.length + CHECKSUM_SIZE;
+        }
+
+        private void write(ByteArrayOutputStream output) {
+            final ByteBuffer buffer = ByteBuffer.allocate(this.size());
+            buffer.put(this.type)
+                    .putLong(this.playerUUID.getMostSignificantBits())
+                    .putLong(this.playerUUID.getLeastSignificantBits())
+                    .putInt(this.bytes.length)
+                    .put(this.bytes);
+            final CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, buffer.position());
+            buffer.putLong(crc.getValue());
+            output.write(buffer.array(), 0, buffer.position());
+        }
+
+        /**
+         * @return the next record, null at the end of the journal or if the record is incomplete or corrupted
+         */
+        private static Record read(DataInputStream input) throws IOException {
+            try {
+                final byte type = input.readByte();
+                final long most = input.readLong();
+                final long least = input.readLong();
+                final int length = input.readInt();
+                if ((type != PUT && type != CLEAR) || length < 0 || length > MAX_CONTENT_SIZE) {
+                    return null;
+                }
+                final byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                final long checksum = input.readLong();
+
+                final Record record = new Record(type, new UUID(most, least), new String(bytes, StandardCharsets.UTF_8), bytes);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + length)
+                        .put(type).putLong(most).putLong(least).putInt(length).put(bytes);
+                final CRC32 crc = new CRC32();
+                crc.update(header.array());
+                return (crc.getValue() == checksum) ? record : null;
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.arena.ArenaPlayer;
+import net.slipcor.pvparena.arena.ArenaTeam;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Snapshot of player positions used to find players near capture zones (flags, checkpoints...)
+ *
+ * Positions are sampled once into flat coordinate arrays and bucketed in a spatial hash of horizontal cells, so
+ * each zone only checks players of the cells its range overlaps, with squared distances. A snapshot is meant to be
+ * built once per goal tick and queried for every zone of that tick.
+ */
+public final class ProximityIndex {
+
+    private final int size;
+    private final ArenaPlayer[] players;
+    private final ArenaTeam[] teams;
+    private final World[] worlds;
+    private final double[] coords;
+    private final double cellSize;
+    private final Map<Long, int[]> cells = new HashMap<>();
+
+    private ProximityIndex(final Collection<ArenaPlayer> arenaPlayers, final double cellSize) {
+        this.size = arenaPlayers.size();
+        this.players = new ArenaPlayer[this.size];
+        this.teams = new ArenaTeam[this.size];
+        this.worlds = new World[this.size];
+        this.coords = new double[this.size * 3];
+        this.cellSize = Math.max(1, cellSize);
+
+        final long[] cellKeys = new long[this.size];
+        final Map<Long, Integer> cellCounts = new HashMap<>();
+        int index = 0;
+        for (ArenaPlayer arenaPlayer : arenaPlayers) {
+            final Location location = arenaPlayer.getPlayer().getLocation();
+            this.players[index] = arenaPlayer;
+            this.teams[index] = arenaPlayer.getArenaTeam();
+            this.worlds[index] = location.getWorld();
+            this.coords[index * 3] = location.getX();
+            this.coords[index * 3 + 1] = location.getY();
+            this.coords[index * 3 + 2] = location.getZ();
+            cellKeys[index] = this.cellKey(location.getX(), location.getZ());
+            cellCounts.merge(cellKeys[index], 1, Integer::sum);
+            index++;
+        }
+
+        // flat buckets of player indexes, first slot is the bucket fill level
+        cellCounts.forEach((key, count) -> this.cells.put(key, new int[count + 1]));
+        for (int i = 0; i < this.size; i++) {
+            final int[] bucket = this.cells.get(cellKeys[i]);
+            bucket[++bucket[0]] = i;
+        }
+    }
+
+    /**
+     * Sample current player positions
+     *
+     * @param arenaPlayers the players to sample, usually the arena fighters
+     * @param range        the range zones will be queried with, used as spatial hash cell size
+     * @return a position snapshot
+     */
+    public static ProximityIndex sample(final Collection<ArenaPlayer> arenaPlayers, final double range) {
+        return new ProximityIndex(arenaPlayers, range);
+    }
+
+    /**
+     * Get the teams having at least one player within range of a zone
+     *
+     * @param center the zone center
+     * @param range  the zone range in blocks
+     * @return the teams near the zone
+     */
+    public Set<ArenaTeam> getTeamsNear(final Location center, final double range) {
+        final Set<ArenaTeam> result = new HashSet<>();
+        this.forEachNear(center, range, i -> result.add(this.teams[i]));
+        return result;
+    }
+
+    /**
+     * Get the players within range of a zone
+     *
+     * @param center the zone center
+     * @param range  the zone range in blocks
+     * @return the players near the zone
+     */
+    public List<ArenaPlayer> getPlayersNear(final Location center, final double range) {
+        final List<ArenaPlayer> result = new ArrayList<>();
+        this.forEachNear(center, range, i -> result.add(this.players[i]));
+        return result;
+    }
+
+    private void forEachNear(final Location center, final double range, final IntConsumer consumer) {
+        if (this.size == 0) {
+            return;
+        }
+        final World world = center.getWorld();
+        final double x = center.getX();
+        final double y = center.getY();
+        final double z = center.getZ();
+        final double rangeSquared = range * range;
+
+        final long minCellX = this.cellCoord(x - range);
+        final long maxCellX = this.cellCoord(x + range);
+        final long minCellZ = this.cellCoord(z - range);
+        final long maxCellZ = this.cellCoord(z + range);
+
+        for (long cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (long cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                final int[] bucket = this.cells.get(packCell(cellX, cellZ));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int slot = 1; slot <= bucket[0]; slot++) {
+                    final int i = bucket[slot];
+                    if (world != null && !world.equals(this.worlds[i])) {
+                        continue;
+                    }
+                    final double dx = this.coords[i * 3] - x;
+                    final double dy = this.coords[i * 3 + 1] - y;
+                    final double dz = this.coords[i * 3 + 2] - z;
+                    if (dx * dx + dy * dy + dz * dz <= rangeSquared) {
+                        consumer.accept(i);
+                    }
+                }
+            }
+        }
+    }
+
+    private long cellKey(final double x, final double z) {
+        return packCell(this.cellCoord(x), this.cellCoord(z));
+    }
+
+    private long cellCoord(final double value) {
+        return (long) Math.floor(value / this.cellSize);
+    }
+
+    private static long packCell(final long cellX, final long cellZ) {
+        return (cellX << 32) ^ (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -11,13 +11,13 @@ import net.slipcor.pvparena.commands.CommandTree;
 import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.core.Language;
 import net.slipcor.pvparena.core.Language.MSG;
+import net.slipcor.pvparena.core.ProximityIndex;
 import net.slipcor.pvparena.events.goal.PAGoalEndEvent;
 import net.slipcor.pvparena.loadables.ArenaGoal;
 import net.slipcor.pvparena.loadables.ArenaModuleManager;
 import net.slipcor.pvparena.managers.SpawnManager;
 import net.slipcor.pvparena.runnables.EndRunnable;
 import org.bukkit.Bukkit;
-import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -91,29 +91,6 @@ public class GoalCheckPoints extends ArenaGoal {
         return missing;
     }
 
-    /**
-     * return a hashset of players names being near a specified location
-     *
-     * @param loc      the location to check
-     * @param distance the distance in blocks
-     * @return a set of player names
-     */
-    private Set<ArenaPlayer> checkLocationPresentPlayers(final Location loc, final int distance) {
-        final Set<ArenaPlayer> result = new HashSet<>();
-
-        for (ArenaPlayer arenaPlayer : this.arena.getFighters()) {
-            if (arenaPlayer.getPlayer().getLocation().getWorld().getName().equals(loc.getWorld().getName())) {
-                if (arenaPlayer.getPlayer().getLocation().distance(loc) > distance) {
-                    continue;
-                }
-
-                result.add(arenaPlayer);
-            }
-        }
-
-        return result;
-    }
-
     private void checkMove() {
 
         debug(this.arena, "------------------");
@@ -121,11 +98,11 @@ public class GoalCheckPoints extends ArenaGoal {
         debug(this.arena, "------------------");
 
         final int checkDistance = this.arena.getConfig().getInt(CFG.GOAL_CHECKPOINTS_CLAIMRANGE);
+        final ProximityIndex fighterPositions = ProximityIndex.sample(this.arena.getMembership().getFighters(), checkDistance);
 
         for (PASpawn spawn : SpawnManager.getPASpawnsStartingWith(this.arena, CHECKPOINT)) {
             final PALocation paLoc = spawn.getPALocation();
-            final Set<ArenaPlayer> arenaPlayers = this.checkLocationPresentPlayers(paLoc.toLocation(),
-                    checkDistance);
+            final List<ArenaPlayer> arenaPlayers = fighterPositions.getPlayersNear(paLoc.toLocation(), checkDistance);
 
             debug(this.arena, "players: " + Arrays.toString(arenaPlayers.toArray()));
 
@@ -210,7 +187,7 @@ public class GoalCheckPoints extends ArenaGoal {
         ArenaPlayer ap = ArenaPlayer.fromPlayer((Player) sender);
         int cpLives = this.arena.getConfig().getInt(CFG.GOAL_CHECKPOINTS_LIVES);
 
-        if (args.length < 2 && this.arena.getFighters().contains(ap)) {
+        if (args.length < 2 && this.arena.getMembership().getFighters().contains(ap)) {
             ap.setTelePass(true);
             int value = cpLives - this.getPlayerLifeMap().get(ap);
             if (value == 0) {
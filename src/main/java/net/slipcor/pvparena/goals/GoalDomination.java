@@ -15,6 +15,7 @@ import net.slipcor.pvparena.core.ColorUtils;
 import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.core.Language;
 import net.slipcor.pvparena.core.Language.MSG;
+import net.slipcor.pvparena.core.ProximityIndex;
 import net.slipcor.pvparena.core.StringParser;
 import net.slipcor.pvparena.core.Utils;
 import net.slipcor.pvparena.events.goal.PAGoalEndEvent;
@@ -39,7 +40,6 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -142,29 +142,6 @@ public class GoalDomination extends ArenaGoal {
         return SpawnManager.getMissingBlocksCustom(this.arena, blocks, FLAG + "1");
     }
 
-    /**
-     * return a hashset of players names being near a specified location, except
-     * one player
-     *
-     * @param loc      the location to check
-     * @param distance the distance in blocks
-     * @return a set of player names
-     */
-    private Set<ArenaTeam> checkLocationPresentTeams(final Location loc, final int distance) {
-        final Set<ArenaTeam> result = new HashSet<>();
-        final Location flagCenter = Utils.getCenteredLocation(loc);
-
-        for (ArenaPlayer arenaPlayer : this.arena.getFighters()) {
-
-            if (arenaPlayer.getPlayer().getLocation().distance(flagCenter) > distance) {
-                continue;
-            }
-            result.add(arenaPlayer.getArenaTeam());
-        }
-
-        return result;
-    }
-
     void checkMove() {
 
         /*
@@ -196,12 +173,14 @@ public class GoalDomination extends ArenaGoal {
         debug(this.arena, "------------------");
 
         final int checkDistance = this.arena.getConfig().getInt(CFG.GOAL_DOM_CLAIMRANGE);
+        final ProximityIndex fighterPositions = ProximityIndex.sample(this.arena.getMembership().getFighters(), checkDistance);
 
         for (PABlockLocation paLoc : SpawnManager.getBlocksStartingWith(this.arena, FLAG, null)) {
 
             final Location loc = paLoc.toLocation();
 
-            final Set<ArenaTeam> teams = this.checkLocationPresentTeams(loc, checkDistance);
+            // teams having a player near the flag block center
+            final Set<ArenaTeam> teams = fighterPositions.getTeamsNear(Utils.getCenteredLocation(loc), checkDistance);
 
             debug(this.arena, "teams: " + StringParser.joinSet(teams, ", "));
 
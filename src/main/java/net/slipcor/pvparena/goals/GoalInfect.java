@@ -542,7 +542,7 @@ public class GoalInfect extends ArenaGoal {
     public void reset(final boolean force) {
         this.endRunner = null;
         this.getPlayerLifeMap().clear();
-        this.arena.getTeams().remove(this.arena.getTeam(INFECTED));
+        this.arena.removeTeam(this.arena.getTeam(INFECTED));
     }
 
     @Override
@@ -551,7 +551,7 @@ public class GoalInfect extends ArenaGoal {
         for (ArenaPlayer arenaPlayer : this.arena.getFighters()) {
             double score = this.getPlayerLifeMap().getOrDefault(arenaPlayer, 0);
             if (arenaPlayer.getArenaTeam() != null && INFECTED.equals(arenaPlayer.getArenaTeam().getName())) {
-                score *= this.arena.getFighters().size();
+                score *= this.arena.getMembership().getFighters().size();
             }
             if (scores.containsKey(arenaPlayer.getName())) {
                 scores.put(arenaPlayer.getName(), scores.get(arenaPlayer.getName()) + score);
@@ -280,7 +280,7 @@ public class GoalTank extends ArenaGoal {
         this.endRunner = null;
         this.getPlayerLifeMap().clear();
         this.tank = null;
-        this.arena.getTeams().remove(this.arena.getTeam(TANK));
+        this.arena.removeTeam(this.arena.getTeam(TANK));
     }
 
     @Override
@@ -289,7 +289,7 @@ public class GoalTank extends ArenaGoal {
         for (ArenaPlayer arenaPlayer : this.arena.getFighters()) {
             double score = this.getPlayerLifeMap().getOrDefault(arenaPlayer, 0);
             if (this.tank.getName().equals(arenaPlayer.getName())) {
-                score *= this.arena.getFighters().size();
+                score *= this.arena.getMembership().getFighters().size();
             }
             if (scores.containsKey(arenaPlayer.getName())) {
                 scores.put(arenaPlayer.getName(), scores.get(arenaPlayer.getName()) + score);
@@ -1,6 +1,5 @@
 package net.slipcor.pvparena.listeners;
 
-import net.slipcor.pvparena.PVPArena;
 import net.slipcor.pvparena.arena.Arena;
 import net.slipcor.pvparena.arena.ArenaPlayer;
 import net.slipcor.pvparena.arena.PlayerStatus;
@@ -14,8 +13,7 @@ import net.slipcor.pvparena.exceptions.GameplayException;
 import net.slipcor.pvparena.loadables.ArenaModuleManager;
 import net.slipcor.pvparena.managers.ArenaManager;
 import net.slipcor.pvparena.regions.RegionProtection;
-import net.slipcor.pvparena.runnables.DamageResetRunnable;
-import org.bukkit.Bukkit;
+import net.slipcor.pvparena.runnables.DurabilityResetService;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
@@ -145,8 +143,7 @@ public class BlockListener implements Listener {
 
         ArenaModuleManager.onBlockBreak(arena, event.getBlock());
 
-        Bukkit.getScheduler().scheduleSyncDelayedTask(PVPArena.getInstance(),
-                new DamageResetRunnable(arena, event.getPlayer(), null), 1L);
+        DurabilityResetService.markDirty(arena, event.getPlayer(), null);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -2,6 +2,7 @@ package net.slipcor.pvparena.listeners;
 
 import net.slipcor.pvparena.PVPArena;
 import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.arena.ArenaCombatRules;
 import net.slipcor.pvparena.arena.ArenaPlayer;
 import net.slipcor.pvparena.arena.ArenaTeam;
 import net.slipcor.pvparena.arena.PlayerStatus;
@@ -17,8 +18,7 @@ import net.slipcor.pvparena.managers.StatisticsManager;
 import net.slipcor.pvparena.managers.WorkflowManager;
 import net.slipcor.pvparena.regions.RegionFlag;
 import net.slipcor.pvparena.regions.RegionProtection;
-import net.slipcor.pvparena.runnables.DamageResetRunnable;
-import org.bukkit.Bukkit;
+import net.slipcor.pvparena.runnables.DurabilityResetService;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.entity.Entity;
@@ -205,7 +205,7 @@ public class EntityListener implements Listener {
             debug("=> {}", eDamager);
         }
 
-        if (eDamager instanceof Player && ArenaPlayer.fromPlayer(eDamager.getName()).getStatus() == PlayerStatus.LOST) {
+        if (eDamager instanceof Player && ArenaPlayer.fromPlayer((Player) eDamager).getStatus() == PlayerStatus.LOST) {
             event.setCancelled(true);
             return;
         }
@@ -221,8 +221,8 @@ public class EntityListener implements Listener {
             }
         }
 
-        if (eDamager instanceof Player && eDamagee instanceof Player
-                && PVPArena.getInstance().getConfig().getBoolean("onlyPVPinArena")) {
+        final boolean onlyPVPinArena = PVPArena.getInstance().isOnlyPVPinArena();
+        if (eDamager instanceof Player && eDamagee instanceof Player && onlyPVPinArena) {
             event.setCancelled(true);
             // cancel events for regular no PVP servers
         }
@@ -231,17 +231,18 @@ public class EntityListener implements Listener {
             return;
         }
 
-        final Arena arena = ArenaPlayer.fromPlayer(eDamagee.getName())
-                .getArena();
+        final ArenaPlayer apDefender = ArenaPlayer.fromPlayer((Player) eDamagee);
+        final Arena arena = apDefender.getArena();
         if (arena == null) {
             // defender no arena player => out
             return;
         }
         debug(arena, "onEntityDamageByEntity: fighting player");
+        final ArenaCombatRules rules = arena.getCombatRules();
 
         if ((!(eDamager instanceof Player))) {
             // attacker no player => out!
-            if (arena.getConfig().getBoolean(CFG.DAMAGE_FROMOUTSIDERS)) {
+            if (rules.isDamageFromOutsiders()) {
                 event.setCancelled(false);
             }
             return;
@@ -256,21 +257,16 @@ public class EntityListener implements Listener {
             return;
         }
 
-        boolean defTeam = false;
-        boolean attTeam = false;
-        final ArenaPlayer apDefender = ArenaPlayer.fromPlayer(defender.getName());
-        final ArenaPlayer apAttacker = ArenaPlayer.fromPlayer(attacker.getName());
+        final ArenaPlayer apAttacker = ArenaPlayer.fromPlayer(attacker);
 
-        for (ArenaTeam team : arena.getTeams()) {
-            defTeam = defTeam || team.getTeamMembers().contains(
-                    apDefender);
-            attTeam = attTeam || team.getTeamMembers().contains(
-                    apAttacker);
-        }
+        // fighters are the members of arena teams
+        final Set<ArenaPlayer> fighters = arena.getMembership().getFighters();
+        final boolean defTeam = fighters.contains(apDefender);
+        final boolean attTeam = fighters.contains(apAttacker);
 
         if (!defTeam || !attTeam || arena.realEndRunner != null) {
             // special case: attacker has no team (might not be in the arena)
-            event.setCancelled(attTeam || !arena.getConfig().getBoolean(CFG.DAMAGE_FROMOUTSIDERS)
+            event.setCancelled(attTeam || !rules.isDamageFromOutsiders()
                     || !defTeam || arena.realEndRunner != null);
             return;
         }
@@ -278,12 +274,12 @@ public class EntityListener implements Listener {
         debug(arena, attacker, "both players part of the arena");
         debug(arena, defender, "both players part of the arena");
 
-        if (PVPArena.getInstance().getConfig().getBoolean("onlyPVPinArena")) {
+        if (onlyPVPinArena) {
             event.setCancelled(false); // uncancel events for regular no PVP
             // servers
         }
 
-        if ((!arena.getConfig().getBoolean(CFG.PERMS_TEAMKILL))
+        if (!rules.isTeamKill()
                 && (apAttacker.getArenaTeam())
                 .equals(apDefender.getArenaTeam())) {
             // no team fights!
@@ -310,12 +306,11 @@ public class EntityListener implements Listener {
             return;
         }
 
-        Bukkit.getScheduler().scheduleSyncDelayedTask(PVPArena.getInstance(),
-                new DamageResetRunnable(arena, attacker, defender), 1L);
+        DurabilityResetService.markDirty(arena, attacker, defender);
 
-        if (arena.getConfig().getInt(CFG.PROTECT_SPAWN) > 0
-                && SpawnManager.isNearSpawn(arena, defender, arena
-                .getConfig().getInt(CFG.PROTECT_SPAWN))) {
+        final int spawnProtectionRadius = rules.getSpawnProtectionRadius();
+        if (spawnProtectionRadius > 0
+                && SpawnManager.isNearSpawn(arena, defender, spawnProtectionRadius)) {
             // spawn protection!
             debug(arena, attacker, "spawn protection! damage cancelled!");
             debug(arena, defender, "spawn protection! damage cancelled!");
@@ -332,7 +327,7 @@ public class EntityListener implements Listener {
 
         StatisticsManager.damage(arena, attacker, defender, event.getDamage());
 
-        if (arena.getConfig().getBoolean(CFG.DAMAGE_BLOODPARTICLES)) {
+        if (rules.isBloodParticles()) {
             apDefender.showBloodParticles();
         }
     }
@@ -9,7 +9,6 @@ import net.slipcor.pvparena.commands.PAA_Edit;
 import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.core.Language.MSG;
 import net.slipcor.pvparena.core.StringUtils;
-import net.slipcor.pvparena.commands.PAG_DuelJoin;
 import net.slipcor.pvparena.events.PAJoinEvent;
 import net.slipcor.pvparena.events.goal.PAGoalEvent;
 import net.slipcor.pvparena.exceptions.GameplayException;
@@ -21,6 +20,7 @@ import net.slipcor.pvparena.managers.PermissionManager;
 import net.slipcor.pvparena.managers.RegionManager;
 import net.slipcor.pvparena.managers.SpawnManager;
 import net.slipcor.pvparena.managers.WorkflowManager;
+import net.slipcor.pvparena.matchmaking.DuelMatchmaker;
 import net.slipcor.pvparena.regions.ArenaRegion;
 import net.slipcor.pvparena.regions.RegionProtection;
 import net.slipcor.pvparena.regions.RegionType;
@@ -64,6 +64,7 @@ import java.util.Objects;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
+import static java.util.Optional.ofNullable;
 import static net.slipcor.pvparena.arena.PlayerStatus.*;
 import static net.slipcor.pvparena.config.Debugger.debug;
 
@@ -455,13 +456,15 @@ public class PlayerListener implements Listener {
         }
         
         // Clear duel queue on disconnect
-        PAG_DuelJoin.clearQueueOnDisconnect(player.getUniqueId());
+        ofNullable(DuelMatchmaker.getInstanceIfStarted()).ifPresent(matchmaker -> matchmaker.leave(player.getUniqueId()));
+        RegionManager.getInstance().clearPlayer(player);
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public static void onArenaJoin(final PAJoinEvent event) {
         // Clear duel queue if player joins any arena
-        PAG_DuelJoin.clearQueueOnArenaJoin(event.getPlayer().getUniqueId());
+        ofNullable(DuelMatchmaker.getInstanceIfStarted())
+                .ifPresent(matchmaker -> matchmaker.leaveOnArenaJoin(event.getPlayer().getUniqueId()));
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
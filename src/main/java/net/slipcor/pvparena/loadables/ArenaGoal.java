@@ -226,7 +226,7 @@ public class ArenaGoal implements IArenaCommandHandler {
         final int maxTeamPlayers = this.arena.getConfig().getInt(
                 CFG.READY_MAXTEAMPLAYERS);
 
-        if (maxPlayers > 0 && this.arena.getFighters().size() >= maxPlayers) {
+        if (maxPlayers > 0 && this.arena.getMembership().getFighters().size() >= maxPlayers) {
             throw new GameplayException(Language.parse(Language.MSG.ERROR_JOIN_ARENA_FULL));
         }
 
@@ -564,7 +564,7 @@ public class ArenaGoal implements IArenaCommandHandler {
 
     protected void updateLives(final ArenaPlayer arenaPlayer, final int value) {
         if (this.arena.getConfig().getBoolean(CFG.GENERAL_ADDLIVESPERPLAYER)) {
-            this.getPlayerLifeMap().put(arenaPlayer, this.arena.getFighters().size() * value);
+            this.getPlayerLifeMap().put(arenaPlayer, this.arena.getMembership().getFighters().size() * value);
         } else {
             this.getPlayerLifeMap().put(arenaPlayer, value);
         }
@@ -2,24 +2,35 @@ package net.slipcor.pvparena.managers;
 
 import net.slipcor.pvparena.PVPArena;
 import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.arena.ArenaAvailabilityIndex;
 import net.slipcor.pvparena.classes.PABlockLocation;
 import net.slipcor.pvparena.core.CollectionUtils;
 import net.slipcor.pvparena.core.Config;
 import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.core.Language.MSG;
 import net.slipcor.pvparena.core.StringParser;
+import net.slipcor.pvparena.matchmaking.DuelMatchmaker;
 import net.slipcor.pvparena.regions.ArenaRegion;
+import net.slipcor.pvparena.regions.RegionChunkIndex;
 import net.slipcor.pvparena.regions.RegionProtection;
 import net.slipcor.pvparena.regions.RegionType;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static java.util.Optional.ofNullable;
 import static net.slipcor.pvparena.config.Debugger.debug;
 
 /**
@@ -35,6 +46,8 @@ import static net.slipcor.pvparena.config.Debugger.debug;
 
 public final class ArenaManager {
     private static final Map<String, Arena> ARENAS = new HashMap<>();
+    private static final ArenaAvailabilityIndex AVAILABILITY = new ArenaAvailabilityIndex();
+    private static final int DEFAULT_LOADING_THREADS = 4;
 
     private ArenaManager() {
     }
@@ -158,14 +171,10 @@ public final class ArenaManager {
      * @return an arena instance if found, null otherwise
      */
     public static Arena getArenaByRegionLocation(final PABlockLocation location) {
-        for (Arena arena : ARENAS.values()) {
-            if (arena.isLocked()) {
-                continue;
-            }
-            for (ArenaRegion region : arena.getRegions()) {
-                if (region.getShape().contains(location)) {
-                    return arena;
-                }
+        for (ArenaRegion region : RegionChunkIndex.getCandidates(location)) {
+            final Arena arena = region.getArena();
+            if (!arena.isLocked() && region.getShape().contains(location)) {
+                return arena;
             }
         }
         return null;
@@ -173,15 +182,12 @@ public final class ArenaManager {
 
     public static Arena getArenaByProtectedRegionLocation(
             final PABlockLocation location, final RegionProtection regionProtection) {
-        for (Arena arena : ARENAS.values()) {
-            if (!arena.getConfig().getBoolean(CFG.PROTECT_ENABLED)) {
-                continue;
-            }
-            for (ArenaRegion region : arena.getRegions()) {
-                if (region.getShape().contains(location)
-                        && region.getProtections().contains(regionProtection)) {
-                    return arena;
-                }
+        for (ArenaRegion region : RegionChunkIndex.getCandidates(location)) {
+            final Arena arena = region.getArena();
+            if (region.getProtections().contains(regionProtection)
+                    && arena.getConfig().getBoolean(CFG.PROTECT_ENABLED)
+                    && region.getShape().contains(location)) {
+                return arena;
             }
         }
         return null;
@@ -233,20 +239,106 @@ public final class ArenaManager {
             return;
         }
 
-        if (CollectionUtils.isNotEmpty(files)) {
-            for (File arenaConfigFile : files) {
-                if (!arenaConfigFile.isDirectory() && arenaConfigFile.getName().endsWith(".yml")) {
-                    String sName = arenaConfigFile.getName().replace("config_", "");
-                    sName = sName.replace(".yml", "");
+        if (CollectionUtils.isEmpty(files)) {
+            return;
+        }
 
-                    debug("arena: {}", sName);
-                    if (!ARENAS.containsKey(sName.toLowerCase())) {
-                        Arena arena = new Arena(sName);
-                        loadArena(arena);
+        final List<Arena> arenasToLoad = new ArrayList<>();
+        // config_foo.yml and foo.yml are the same arena, only load it once
+        final Set<String> namesToLoad = new HashSet<>();
+        for (File arenaConfigFile : files) {
+            if (!arenaConfigFile.isDirectory() && arenaConfigFile.getName().endsWith(".yml")) {
+                String sName = arenaConfigFile.getName().replace("config_", "");
+                sName = sName.replace(".yml", "");
+
+                debug("arena: {}", sName);
+                if (!ARENAS.containsKey(sName.toLowerCase()) && namesToLoad.add(sName.toLowerCase())) {
+                    arenasToLoad.add(new Arena(sName));
+                }
+            }
+        }
+
+        final long start = System.nanoTime();
+        final Map<Arena, Future<PreloadedConfig>> preloads = preloadConfigs(arenasToLoad);
+        final List<String> timings = new ArrayList<>();
+        long totalParseMillis = 0;
+        boolean backgroundReadUnsupported = false;
+        for (Arena arena : arenasToLoad) {
+            PreloadedConfig preloaded = null;
+            if (preloads.containsKey(arena)) {
+                try {
+                    preloaded = preloads.get(arena).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof LinkageError) {
+                        // YAML library of the server doesn't match, reported once below
+                        backgroundReadUnsupported = true;
+                    } else {
+                        PVPArena.getInstance().getLogger().warning(String.format("Can't read config of arena %s in background: %s", arena.getName(), e.getMessage()));
                     }
                 }
             }
+            if (preloaded != null && !preloaded.isParsed()) {
+                // read again on the main thread, which reports the error
+                preloaded = null;
+            }
+
+            final long setupStart = System.nanoTime();
+            loadArena(arena, preloaded);
+            final long setupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - setupStart);
+            final long parseMillis = (preloaded == null) ? 0 : preloaded.parseMillis;
+            totalParseMillis += parseMillis;
+            timings.add(String.format("%s (read: %dms, setup: %dms)", arena.getName(), parseMillis, setupMillis));
+            debug(arena, "loaded in {}ms (read: {}ms, setup: {}ms)", parseMillis + setupMillis, parseMillis, setupMillis);
+        }
+
+        if (backgroundReadUnsupported) {
+            PVPArena.getInstance().getLogger().warning("Arena configs can't be read in background on this server, they were loaded one by one");
+        }
+        if (!arenasToLoad.isEmpty()) {
+            PVPArena.getInstance().getLogger().info(String.format("%d arena(s) loaded in %dms (%dms of config reading in background): %s",
+                    arenasToLoad.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), totalParseMillis,
+                    String.join(", ", timings)));
+        }
+    }
+
+    /**
+     * read and parse arena config files concurrently, arenas themselves being set up later on the main thread. Only
+     * the YAML is parsed in background: serialized Bukkit objects (class items...) are created on the main thread.
+     *
+     * @param arenas arenas to load
+     * @return pending config reads by arena, empty if concurrent loading is disabled
+     */
+    private static Map<Arena, Future<PreloadedConfig>> preloadConfigs(final List<Arena> arenas) {
+        final Map<Arena, Future<PreloadedConfig>> result = new HashMap<>();
+        final int threads = Math.min(arenas.size(), PVPArena.getInstance().getConfig().getInt("arenaLoading.threads", DEFAULT_LOADING_THREADS));
+        if (threads < 2) {
+            return result;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-ArenaLoader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Arena arena : arenas) {
+            final File file = getArenaFile(arena);
+            if (file.exists()) {
+                result.put(arena, executor.submit(() -> {
+                    final long start = System.nanoTime();
+                    Map<?, ?> content = null;
+                    try {
+                        content = Config.parseRaw(file);
+                    } catch (final Exception e) {
+                        debug(arena, "can't read config in background: {}", e.getMessage());
+                    }
+                    return new PreloadedConfig(content, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }));
+            }
         }
+        executor.shutdown();
+        return result;
     }
 
     /**
@@ -256,20 +348,34 @@ public final class ArenaManager {
      * @return whether the operation succeeded
      */
     public static boolean loadArena(final Arena arena) {
+        return loadArena(arena, null);
+    }
+
+    private static boolean loadArena(final Arena arena, final PreloadedConfig preloaded) {
         if (arena == null) {
             return false;
         }
         debug(arena, "loading arena");
 
-        File file = new File(String.format("%s/arenas/%s.yml", PVPArena.getInstance().getDataFolder().getPath(), arena.getName()));
+        File file = getArenaFile(arena);
         if (!file.exists()) {
             PVPArena.getInstance().getLogger().severe(String.format("Can't load arena %s: file %s not found.", arena.getName(), file.getName()));
             return false;
         }
         try {
+            // regions of a replaced arena must leave the index before the new ones are added by config parsing
+            final Arena replaced = ARENAS.get(arena.getName().toLowerCase());
+            if (replaced != null && replaced != arena) {
+                replaced.getRegions().forEach(RegionChunkIndex::remove);
+            }
+
             final Config cfg = new Config(file);
             arena.setConfig(cfg);
-            arena.setValid(ConfigurationManager.configParse(arena, cfg));
+            if (preloaded == null) {
+                arena.setValid(ConfigurationManager.configParse(arena, cfg));
+            } else {
+                arena.setValid(preloaded.loadInto(cfg) && ConfigurationManager.configParseLoaded(arena, cfg));
+            }
             debug(arena, "valid: {}", arena.isValid());
             if (arena.isValid()) {
                 SpawnManager.loadSpawns(arena, cfg);
@@ -280,8 +386,11 @@ public final class ArenaManager {
                 arena.setLocked(true);
             }
 
-            ARENAS.put(arena.getName().toLowerCase(), arena);
+            ofNullable(ARENAS.put(arena.getName().toLowerCase(), arena)).ifPresent(AVAILABILITY::remove);
+            AVAILABILITY.add(arena);
+            ofNullable(DuelMatchmaker.getInstanceIfStarted()).ifPresent(DuelMatchmaker::onArenaListChange);
         } catch (UnsupportedClassVersionError e) {
+            arena.getRegions().forEach(RegionChunkIndex::remove);
             arena.setValid(false);
             ConfigurationManager.moveOldConfig(file);
         }
@@ -289,9 +398,16 @@ public final class ArenaManager {
         return arena.isValid();
     }
 
+    private static File getArenaFile(final Arena arena) {
+        return new File(String.format("%s/arenas/%s.yml", PVPArena.getInstance().getDataFolder().getPath(), arena.getName()));
+    }
+
     public static void removeArena(final Arena arena, final boolean deleteConfig) {
         arena.stop(true);
         ARENAS.remove(arena.getName().toLowerCase());
+        AVAILABILITY.remove(arena);
+        ofNullable(DuelMatchmaker.getInstanceIfStarted()).ifPresent(DuelMatchmaker::onArenaListChange);
+        arena.getRegions().forEach(RegionChunkIndex::remove);
         if (deleteConfig) {
             arena.getConfig().delete();
         }
@@ -307,22 +423,92 @@ public final class ArenaManager {
         }
     }
 
-    public static int countAvailable() {
-        int sum = 0;
-        for (Arena a : getArenas()) {
-            if (!a.isLocked() && !a.isFightInProgress()) {
-                sum++;
-            }
+    /**
+     * @return the index of arenas by lock state, fight state and player count
+     */
+    public static ArenaAvailabilityIndex getAvailabilityIndex() {
+        return AVAILABILITY;
+    }
+
+    /**
+     * update indexes after a player moved from an arena to another
+     *
+     * @param oldArena the arena the player left, can be null
+     * @param newArena the arena the player joined, can be null
+     */
+    public static void onMembershipChange(final Arena oldArena, final Arena newArena) {
+        AVAILABILITY.update(oldArena);
+        AVAILABILITY.update(newArena);
+        ofNullable(DuelMatchmaker.getInstanceIfStarted())
+                .ifPresent(matchmaker -> matchmaker.onMembershipChange(oldArena, newArena));
+    }
+
+    /**
+     * check if a player can automatically join an unlocked arena
+     *
+     * @param player the player to check
+     * @param arena  an unlocked arena
+     * @return true if the player is allowed to join and the arena isn't full
+     */
+    public static boolean isAutoJoinable(final Player player, final Arena arena) {
+        // Check if player has permission to join this arena
+        if (!PermissionManager.hasExplicitArenaPerm(player, arena, "join")) {
+            return false;
+        }
+
+        // Check if arena is full
+        if (TeamManager.isArenaFull(arena)) {
+            return false;
         }
-        return sum;
+
+        // Check if fight is in progress and join is not allowed
+        if (arena.isFightInProgress() && !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_DURING_MATCH) &&
+                (!arena.getConfig().getBoolean(CFG.JOIN_ALLOW_REJOIN) || !arena.hasAlreadyPlayed(player.getName()))) {
+            return false;
+        }
+
+        // Check if player has already played and rejoin is not allowed
+        if (!arena.getGoal().allowsJoinInBattle() &&
+                !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_REJOIN) && arena.hasAlreadyPlayed(player.getName())) {
+            return false;
+        }
+
+        // Check join region if set, then distance
+        return checkJoinRegion(player, arena) && !ArenaRegion.tooFarAway(arena, player);
+    }
+
+    public static int countAvailable() {
+        return AVAILABILITY.getIdleArenas().size();
     }
 
     public static Arena getAvailable() {
-        for (Arena a : getArenas()) {
-            if (!a.isLocked() && !(a.isFightInProgress() && !a.getGoal().allowsJoinInBattle())) {
+        if (!AVAILABILITY.getIdleArenas().isEmpty()) {
+            return AVAILABILITY.getIdleArenas().iterator().next();
+        }
+        for (Arena a : AVAILABILITY.getOpenArenas()) {
+            if (a.getGoal().allowsJoinInBattle()) {
                 return a;
             }
         }
         return null;
     }
+
+    private static final class PreloadedConfig {
+        /** parsed YAML, null if the file couldn't be read */
+        private final Map<?, ?> content;
+        private final long parseMillis;
+
+        private PreloadedConfig(Map<?, ?> content, long parseMillis) {
+            this.content = content;
+            this.parseMillis = parseMillis;
+        }
+
+        private boolean isParsed() {
+            return this.content != null;
+        }
+
+        private boolean loadInto(Config cfg) {
+            return this.content != null && cfg.load(this.content);
+        }
+    }
 }
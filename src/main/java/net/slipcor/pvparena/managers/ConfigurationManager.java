@@ -66,9 +66,17 @@ public final class ConfigurationManager {
      * @param cfg   the configuration
      */
     public static boolean configParse(final Arena arena, final Config cfg) {
-        if (!cfg.load()) {
-            return false;
-        }
+        return cfg.load() && configParseLoaded(arena, cfg);
+    }
+
+    /**
+     * set up an arena from a config already read from disk
+     *
+     * @param arena the arena to set up
+     * @param cfg   the loaded arena config
+     * @return true if the config is valid
+     */
+    public static boolean configParseLoaded(final Arena arena, final Config cfg) {
         final YamlConfiguration config = cfg.getYamlConfiguration();
 
         final String goalName = cfg.getString(CFG.GENERAL_GOAL);
@@ -3,6 +3,7 @@ package net.slipcor.pvparena.managers;
 import net.slipcor.pvparena.PVPArena;
 import net.slipcor.pvparena.arena.Arena;
 import net.slipcor.pvparena.arena.ArenaPlayer;
+import net.slipcor.pvparena.arena.PlayerStatus;
 import net.slipcor.pvparena.classes.PABlockLocation;
 import net.slipcor.pvparena.classes.PALocation;
 import net.slipcor.pvparena.commands.PAG_Join;
@@ -11,6 +12,7 @@ import net.slipcor.pvparena.core.Language;
 import net.slipcor.pvparena.core.Utils;
 import net.slipcor.pvparena.exceptions.GameplayRuntimeException;
 import net.slipcor.pvparena.regions.ArenaRegion;
+import net.slipcor.pvparena.regions.RegionChunkIndex;
 import net.slipcor.pvparena.regions.RegionType;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -22,7 +24,13 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.util.Consumer;
 import org.bukkit.util.Vector;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static java.util.Optional.ofNullable;
@@ -36,6 +44,7 @@ import static net.slipcor.pvparena.config.Debugger.trace;
 public final class RegionManager {
     private static RegionManager instance;
     private Set<ArenaRegion> regionsCache;
+    private final Map<UUID, RegionMembership> memberships = new HashMap<>();
 
     private RegionManager() {
         this.reloadCache();
@@ -61,34 +70,58 @@ public final class RegionManager {
                     return arena.getRegions().stream().filter(rg -> rg.getType() == RegionType.JOIN);
                 })
                 .collect(Collectors.toSet());
+        this.memberships.clear();
+    }
+
+    /**
+     * Forget cached regions of a player, e.g. when they disconnect
+     * @param player the player to forget
+     */
+    public void clearPlayer(Player player) {
+        this.memberships.remove(player.getUniqueId());
     }
 
     public void checkPlayerLocation(Player player, PABlockLocation locTo, PlayerMoveEvent event) {
         ArenaPlayer arenaPlayer = ArenaPlayer.fromPlayer(player);
 
         if(arenaPlayer.getArena() == null) {
-            this.regionsCache.stream()
-                    .filter(rg -> rg.getShape().contains(locTo))
-                    .findFirst()
-                    .ifPresent(enteringRegion -> {
-                        if(enteringRegion.getType() == RegionType.JOIN) {
-                            this.handleRegionJoin(enteringRegion, player);
-                        } else {
-                            this.preventRegionIntrusion(enteringRegion, event);
-                        }
-                    });
-        } else if(!arenaPlayer.isTeleporting()) {
-
-            if (arenaPlayer.getStatus() == FIGHT) {
-                this.handleFightingPlayerMove(arenaPlayer, locTo, event);
-
-            } else if (arenaPlayer.getStatus() == READY || arenaPlayer.getStatus() == LOUNGE) {
-                this.handleEscapeLoungeRegions(arenaPlayer, locTo);
-
-            } else if (arenaPlayer.isSpectating()) {
-                this.handleEscapeWatchRegions(arenaPlayer, locTo);
+            this.handleOutsiderMove(arenaPlayer, locTo, event);
+
+        } else if(arenaPlayer.isTeleporting()) {
+            // Location will be unknown until teleport ends, next move starts from a fresh membership
+            this.memberships.remove(player.getUniqueId());
+
+        } else if (arenaPlayer.getStatus() == FIGHT) {
+            this.handleFightingPlayerMove(arenaPlayer, locTo, event);
+
+        } else if (arenaPlayer.getStatus() == READY || arenaPlayer.getStatus() == LOUNGE) {
+            this.handleEscapeLoungeRegions(arenaPlayer, locTo);
+
+        } else if (arenaPlayer.isSpectating()) {
+            this.handleEscapeWatchRegions(arenaPlayer, locTo);
+        }
+    }
+
+    private void handleOutsiderMove(ArenaPlayer arenaPlayer, PABlockLocation locTo, PlayerMoveEvent event) {
+        RegionTransition transition = this.computeTransition(arenaPlayer, locTo, this.regionsCache::contains);
+
+        for (ArenaRegion enteringRegion : transition.entered) {
+            if(enteringRegion.getType() == RegionType.JOIN) {
+                this.handleRegionJoin(enteringRegion, arenaPlayer.getPlayer());
+                break;
+            }
+            if(this.preventRegionIntrusion(enteringRegion, event)) {
+                // player has been pushed back, they stay in their previous regions
+                return;
             }
         }
+
+        if(arenaPlayer.getArena() == null) {
+            this.commitTransition(arenaPlayer, transition);
+        } else {
+            // player has joined an arena, regions will be tracked again from their next move
+            this.memberships.remove(arenaPlayer.getPlayer().getUniqueId());
+        }
     }
 
     private void handleRegionJoin(ArenaRegion rg, Player player) {
@@ -100,7 +133,7 @@ public final class RegionManager {
         }
     }
 
-    private void preventRegionIntrusion(ArenaRegion rg, PlayerMoveEvent event) {
+    private boolean preventRegionIntrusion(ArenaRegion rg, PlayerMoveEvent event) {
         Player player = event.getPlayer();
         Arena arena = rg.getArena();
         if (!PermissionManager.hasAdminPerm(player) && !PermissionManager.hasBuilderPerm(player, arena)) {
@@ -119,15 +152,18 @@ public final class RegionManager {
             } finally {
                 arena.msg(player, Language.MSG.NOTICE_ARENA_INTRUSION, arena.getName());
             }
+            return true;
         }
-
+        return false;
     }
 
     public void handleFightingPlayerMove(ArenaPlayer arenaPlayer, PABlockLocation locTo, PlayerMoveEvent event) {
         Arena arena = arenaPlayer.getArena();
 
         if (arena.isFightInProgress()) {
-            boolean escaping = this.isEscapingBattleRegions(arenaPlayer, locTo);
+            RegionTransition transition = this.computeTransition(arenaPlayer, locTo, rg -> rg.getArena() == arena);
+            boolean escaping = (transition.isFresh() || transition.hasLeft(RegionType.BATTLE))
+                    && this.isOutsideRegionsOfType(arena, RegionType.BATTLE, transition.current);
 
             if (escaping) {
                 Player player = arenaPlayer.getPlayer();
@@ -148,43 +184,100 @@ public final class RegionManager {
                     arena.playerLeave(player, Config.CFG.TP_EXIT, false, false, false);
                 }
             } else {
-                arena.getRegions().stream()
-                        .filter(rg -> rg.getType() == RegionType.BATTLE || rg.getType() == RegionType.CUSTOM)
-                        .forEach(rg -> rg.handleRegionFlags(arenaPlayer, locTo));
+                this.commitTransition(arenaPlayer, transition);
+                transition.left.stream()
+                        .filter(RegionManager::isFlaggableRegion)
+                        .forEach(rg -> rg.handlePlayerLeaving(arenaPlayer));
+                transition.current.stream()
+                        .filter(RegionManager::isFlaggableRegion)
+                        .forEach(rg -> rg.handlePlayerInside(arenaPlayer, transition.entered.contains(rg)));
             }
         }
     }
 
     private void handleEscapeLoungeRegions(ArenaPlayer arenaPlayer, PABlockLocation pLoc) {
         trace("LOUNGE region move check");
-        Arena arena = arenaPlayer.getArena();
-        Set<ArenaRegion> regions = arena.getRegionsByType(RegionType.LOUNGE);
-        boolean isInRegion = regions.isEmpty() || regions.stream().anyMatch(rg -> rg.getShape().contains(pLoc));
-
-        if (!isInRegion) {
-            debug(arenaPlayer, "escaping LOUNGE, loc : {}", pLoc);
-            Arena.pmsg(arenaPlayer.getPlayer(), Language.MSG.NOTICE_YOU_ESCAPED);
-            arena.playerLeave(arenaPlayer.getPlayer(), Config.CFG.TP_EXIT, false, false, false);
-        }
+        this.handleEscapeRegionsOfType(arenaPlayer, pLoc, RegionType.LOUNGE);
     }
 
     private void handleEscapeWatchRegions(ArenaPlayer arenaPlayer, PABlockLocation pLoc) {
         trace("WATCH region move check");
+        this.handleEscapeRegionsOfType(arenaPlayer, pLoc, RegionType.WATCH);
+    }
+
+    private void handleEscapeRegionsOfType(ArenaPlayer arenaPlayer, PABlockLocation pLoc, RegionType regionType) {
         Arena arena = arenaPlayer.getArena();
-        Set<ArenaRegion> regions = arena.getRegionsByType(RegionType.WATCH);
-        boolean isInRegion = regions.isEmpty() || regions.stream().anyMatch(rg -> rg.getShape().contains(pLoc));
+        RegionTransition transition = this.computeTransition(arenaPlayer, pLoc, rg -> rg.getArena() == arena);
+        boolean escaping = (transition.isFresh() || transition.hasLeft(regionType))
+                && this.isOutsideRegionsOfType(arena, regionType, transition.current);
 
-        if (!isInRegion) {
-            debug(arenaPlayer, "escaping WATCH, loc : {}", pLoc);
+        if (escaping) {
+            debug(arenaPlayer, "escaping {}, loc : {}", regionType, pLoc);
             Arena.pmsg(arenaPlayer.getPlayer(), Language.MSG.NOTICE_YOU_ESCAPED);
             arena.playerLeave(arenaPlayer.getPlayer(), Config.CFG.TP_EXIT, false, false, false);
+        } else {
+            this.commitTransition(arenaPlayer, transition);
         }
     }
 
-    private boolean isEscapingBattleRegions(ArenaPlayer arenaPlayer, PABlockLocation locTo) {
-        Arena arena = arenaPlayer.getArena();
-        Set<ArenaRegion> regions = arena.getRegionsByType(RegionType.BATTLE);
-        return !regions.isEmpty() && regions.stream().noneMatch(rg -> rg.getShape().contains(locTo));
+    /**
+     * Check if a player is outside all arena regions of a type
+     * @param arena the player arena
+     * @param regionType the type of regions to check
+     * @param currentRegions the regions where player currently is
+     * @return true if arena has regions of this type and none of them contains the player
+     */
+    private boolean isOutsideRegionsOfType(Arena arena, RegionType regionType, Set<ArenaRegion> currentRegions) {
+        return currentRegions.stream().noneMatch(rg -> rg.getType() == regionType)
+                && arena.getRegions().stream().anyMatch(rg -> rg.getType() == regionType);
+    }
+
+    private static boolean isFlaggableRegion(ArenaRegion region) {
+        return region.getType() == RegionType.BATTLE || region.getType() == RegionType.CUSTOM;
+    }
+
+    /**
+     * Compare regions containing a location with the ones where the player was on their previous move. Only regions
+     * whose bounds cover the location are tested, using the region chunk index.
+     * @param arenaPlayer the moving player
+     * @param locTo the player destination
+     * @param scope filter of regions to track
+     * @return the region transition of the move
+     */
+    private RegionTransition computeTransition(ArenaPlayer arenaPlayer, PABlockLocation locTo, Predicate<ArenaRegion> scope) {
+        RegionMembership previous = this.memberships.get(arenaPlayer.getPlayer().getUniqueId());
+        boolean fresh = previous == null || previous.arena != arenaPlayer.getArena() || previous.status != arenaPlayer.getStatus();
+        Set<ArenaRegion> previousRegions = (previous == null) ? Collections.emptySet() : previous.regions;
+
+        Set<ArenaRegion> current = Collections.emptySet();
+        for (ArenaRegion region : RegionChunkIndex.getCandidates(locTo)) {
+            if (scope.test(region) && region.getShape().contains(locTo)) {
+                if (current.isEmpty()) {
+                    current = new HashSet<>();
+                }
+                current.add(region);
+            }
+        }
+
+        if (!fresh && current.equals(previousRegions)) {
+            return new RegionTransition(false, previousRegions, Collections.emptySet(), Collections.emptySet());
+        }
+
+        Set<ArenaRegion> entered = new HashSet<>(current);
+        if (!fresh) {
+            entered.removeAll(previousRegions);
+        }
+        Set<ArenaRegion> left = new HashSet<>(previousRegions);
+        left.removeAll(current);
+        return new RegionTransition(fresh, current, entered, left);
+    }
+
+    private void commitTransition(ArenaPlayer arenaPlayer, RegionTransition transition) {
+        UUID uuid = arenaPlayer.getPlayer().getUniqueId();
+        RegionMembership previous = this.memberships.get(uuid);
+        if (transition.isFresh() || previous == null || previous.regions != transition.current) {
+            this.memberships.put(uuid, new RegionMembership(arenaPlayer.getArena(), arenaPlayer.getStatus(), transition.current));
+        }
     }
 
     /**
@@ -219,4 +312,45 @@ public final class RegionManager {
 
         throw new GameplayRuntimeException("Unable to rollback player");
     }
+
+    /**
+     * Regions containing a player on their last checked move, with the arena context they were computed for
+     */
+    private static final class RegionMembership {
+        private final Arena arena;
+        private final PlayerStatus status;
+        private final Set<ArenaRegion> regions;
+
+        private RegionMembership(Arena arena, PlayerStatus status, Set<ArenaRegion> regions) {
+            this.arena = arena;
+            this.status = status;
+            this.regions = regions;
+        }
+    }
+
+    /**
+     * Regions entered and left by a player during a move. A fresh transition means previous regions are unknown
+     * or were computed in another arena context, so every current region is considered as entered.
+     */
+    private static final class RegionTransition {
+        private final boolean fresh;
+        private final Set<ArenaRegion> current;
+        private final Set<ArenaRegion> entered;
+        private final Set<ArenaRegion> left;
+
+        private RegionTransition(boolean fresh, Set<ArenaRegion> current, Set<ArenaRegion> entered, Set<ArenaRegion> left) {
+            this.fresh = fresh;
+            this.current = current;
+            this.entered = entered;
+            this.left = left;
+        }
+
+        private boolean isFresh() {
+            return this.fresh;
+        }
+
+        private boolean hasLeft(RegionType regionType) {
+            return this.left.stream().anyMatch(rg -> rg.getType() == regionType);
+        }
+    }
 }
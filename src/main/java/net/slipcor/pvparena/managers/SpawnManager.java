@@ -34,7 +34,6 @@ import static net.slipcor.pvparena.classes.PASpawn.OLD;
 import static net.slipcor.pvparena.classes.PASpawn.FIGHT;
 import static java.util.Optional.ofNullable;
 import static net.slipcor.pvparena.config.Debugger.debug;
-import static net.slipcor.pvparena.config.Debugger.trace;
 import static net.slipcor.pvparena.managers.TeamManager.FREE;
 
 /**
@@ -184,26 +183,14 @@ public final class SpawnManager {
         }
 
         Set<PASpawn> locations = selectSpawnsForTeam(arena, arenaTeam, FIGHT);
-        Set<PASpawn> totalLocations = new HashSet<>(locations);
 
         if (locations.isEmpty()) {
             PVPArena.getInstance().getLogger().severe("Not enough spawns to smart distribute players !");
             return;
         }
 
-        PASpawn[] iterations = new PASpawn[locations.size()];
-
-        for (int i = 0; i < totalLocations.size(); i++) {
-            if (i == 0) {
-                PASpawn firstSpawn = locations.iterator().next();
-                iterations[i] = firstSpawn;
-                locations.remove(firstSpawn);
-                continue;
-            }
-            PASpawn farSpawn = calculateFarSpawn(iterations, locations, totalLocations);
-            iterations[i] = farSpawn;
-            locations.remove(farSpawn);
-        }
+        // spawns ordered so that each one is as far as possible of the previous ones
+        final PASpawn[] iterations = arena.getSpawnIndex().getDistanceMatrix(locations).orderFarthestFirst(locations);
 
         class TeleportLater extends BukkitRunnable {
             private int index;
@@ -290,49 +277,6 @@ public final class SpawnManager {
         new TeleportLater(arenaPlayer, fartherSpawn).runTaskLater(PVPArena.getInstance(), 1L);
     }
 
-    /**
-     * Get spawn as far as possible of others spawns already taken
-     *
-     * @param takenSpawns     spawn already taken
-     * @param availableSpawns available spawns
-     * @param totalSpawns     all spawns
-     * @return the far spawn (not already taken of course)
-     */
-    private static PASpawn calculateFarSpawn(PASpawn[] takenSpawns,
-                                             Set<PASpawn> availableSpawns,
-                                             Set<PASpawn> totalSpawns) {
-        trace("--------------------");
-        trace("calculating a spawn!");
-        trace("--------------------");
-        PASpawn far = availableSpawns.iterator().next();
-
-        trace("last resort: {}", far);
-
-        double diff = 0;
-        for (PASpawn spawn : availableSpawns) {
-            trace("> checking {}", spawn.getName());
-            double tempDiff = 0;
-            for (int index = 0; index < takenSpawns.length && takenSpawns[index] != null; index++) {
-                for (PASpawn totalSpawn : totalSpawns) {
-                    for (PASpawn availableSpawn : availableSpawns) {
-                        if (totalSpawn.equals(takenSpawns[index]) && availableSpawn.equals(spawn)) {
-                            tempDiff += totalSpawn.getPALocation().getDistanceSquared(availableSpawn.getPALocation());
-                            trace(">> tempDiff: {}", tempDiff);
-                        }
-                    }
-                }
-            }
-
-            if (tempDiff > diff) {
-                trace("-> diff");
-                diff = tempDiff;
-                far = spawn;
-            }
-        }
-
-        return far;
-    }
-
     /**
      * Spawn all players at the same time.
      *
@@ -444,16 +388,11 @@ public final class SpawnManager {
     }
 
     public static Set<PABlockLocation> getBlocksStartingWith(@NotNull Arena arena, @NotNull String name, String teamName) {
-        return arena.getBlocks().stream()
-                .filter(block -> block.getName().startsWith(name) && Objects.equals(block.getTeamName(), teamName))
-                .map(PABlock::getLocation)
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getBlockLocationsStartingWith(name, teamName);
     }
 
     public static Set<PABlock> getPABlocksStartingWith(@NotNull Arena arena, @NotNull String name, String teamName) {
-        return arena.getBlocks().stream()
-                .filter(block -> block.getName().startsWith(name) && Objects.equals(block.getTeamName(), teamName))
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getBlocksStartingWith(name, teamName);
     }
 
     public static Set<PABlockLocation> getBlocksContaining(@NotNull Arena arena, @NotNull String name) {
@@ -463,91 +402,53 @@ public final class SpawnManager {
     }
 
     public static Set<PABlock> getPABlocksContaining(Arena arena, String name) {
-        return arena.getBlocks().stream()
-                .filter(block -> block.getName().startsWith(name))
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getBlocksStartingWith(name);
     }
 
     public static Set<PALocation> getSpawnsContaining(Arena arena, String name) {
-        Set<PALocation> result = new HashSet<>();
-
-        for (PASpawn spawn : arena.getSpawns()) {
-            if (spawn.getName().contains(name)) {
-                result.add(spawn.getPALocation());
-            }
-        }
-
-        return result;
+        return arena.getSpawnIndex().getSpawnLocationsContaining(name);
     }
 
     public static Set<PALocation> getSpawnsLocationStartingWith(Arena arena, String name) {
-        return arena.getSpawns().stream()
-                .filter(paSpawn -> paSpawn.getName().startsWith(name))
-                .map(PASpawn::getPALocation)
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getSpawnLocationsStartingWith(name);
     }
 
     public static Set<PASpawn> getPASpawnsStartingWith(Arena arena, String name, String team) {
-        return arena.getSpawns().stream()
-                .filter(paSpawn -> paSpawn.getName().startsWith(name)
-                        && paSpawn.getTeamName().equals(team)
-                )
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getSpawnsStartingWith(name, team);
     }
 
     public static Set<PASpawn> getPASpawnsStartingWith(Arena arena, String name, String team, String className) {
-        return arena.getSpawns().stream()
-                .filter(paSpawn -> paSpawn.getName().startsWith(name)
-                        && paSpawn.getTeamName().equals(team)
-                        && paSpawn.getClassName().equals(className))
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getSpawnsStartingWith(name, team, className);
     }
 
     public static Set<PASpawn> getPASpawnsStartingWith(Arena arena, String name) {
-        return arena.getSpawns().stream()
-                .filter(paSpawn -> paSpawn.getName().startsWith(name))
-                .collect(Collectors.toSet());
+        return arena.getSpawnIndex().getSpawnsStartingWith(name);
     }
 
     public static PABlockLocation getBlockByExactName(Arena arena, String name) {
-        for (PABlock spawn : arena.getBlocks()) {
-            if (spawn.getName().equals(name)) {
-                return spawn.getLocation();
-            }
-        }
-        return null;
+        return ofNullable(arena.getSpawnIndex().getBlockByExactName(name))
+                .map(PABlock::getLocation)
+                .orElse(null);
     }
 
     public static PABlockLocation getBlockByExactName(Arena arena, String name, String teamName) {
-        return arena.getBlocks().stream()
-                .filter(block -> block.getName().equalsIgnoreCase(name)
-                        && block.getTeamName().equalsIgnoreCase(teamName))
-                .findAny()
+        return ofNullable(arena.getSpawnIndex().getBlockByExactNameIgnoreCase(name, teamName))
                 .map(PABlock::getLocation)
                 .orElse(null);
     }
 
     public static PALocation getSpawnByExactName(Arena arena, String name) {
-        return arena.getSpawns().stream()
-                .filter(spawn -> spawn.getName().equals(name))
-                .findAny()
+        return ofNullable(arena.getSpawnIndex().getSpawnByExactName(name))
                 .map(PASpawn::getPALocationWithOffset)
                 .orElse(null);
     }
 
     public static PASpawn getPASpawnByExactName(Arena arena, String name) {
-        return arena.getSpawns().stream()
-                .filter(spawn -> spawn.getName().equals(name))
-                .findAny()
-                .orElse(null);
+        return arena.getSpawnIndex().getSpawnByExactName(name);
     }
 
     public static PALocation getSpawnByExactName(Arena arena, String name, String teamName, String className) {
-        return arena.getSpawns().stream()
-                .filter(spawn -> StringUtils.equalsIgnoreCase(spawn.getName(), name)
-                        && StringUtils.equalsIgnoreCase(spawn.getTeamName(), teamName)
-                        && StringUtils.equalsIgnoreCase(spawn.getClassName(), className))
-                .findAny()
+        return ofNullable(arena.getSpawnIndex().getSpawnByExactNameIgnoreCase(name, teamName, className))
                 .map(PASpawn::getPALocationWithOffset)
                 .orElse(null);
     }
@@ -742,30 +643,18 @@ public final class SpawnManager {
     public static boolean isNearSpawn(Arena arena, final Player player, final int diff) {
 
         debug(arena, player, "checking if arena is near a spawn");
-        if (!arena.hasPlayer(player)) {
+        final ArenaPlayer aPlayer = ArenaPlayer.fromPlayer(player);
+        if (!arena.getMembership().getFighters().contains(aPlayer)) {
             return false;
         }
-        final ArenaPlayer aPlayer = ArenaPlayer.fromPlayer(player);
         final ArenaTeam team = aPlayer.getArenaTeam();
         if (team == null) {
             return false;
         }
 
-        Set<PALocation> spawns = new HashSet<>();
-
-        if (arena.getConfig().getBoolean(CFG.GENERAL_SPAWN_PER_CLASS)) {
-            spawns.addAll(SpawnManager.getSpawnsContaining(arena, team.getName() + aPlayer.getArenaClass().getName() + FIGHT));
-        } else if (arena.isFreeForAll()) {
-            spawns.addAll(SpawnManager.getSpawnsLocationStartingWith(arena, FIGHT));
-        } else {
-            spawns.addAll(SpawnManager.getSpawnsLocationStartingWith(arena, team.getName() + FIGHT));
-        }
-
-        for (PALocation loc : spawns) {
-            if (loc.getDistanceSquared(new PALocation(player.getLocation())) <= diff * diff) {
-                debug(arena, player, "found near spawn: " + loc);
-                return true;
-            }
+        if (arena.getSpawnProtectionZones(diff).isProtected(team, aPlayer.getArenaClass(), player.getLocation())) {
+            debug(arena, player, "found near spawn");
+            return true;
         }
         return false;
     }
@@ -4,19 +4,18 @@ import net.slipcor.pvparena.arena.Arena;
 import net.slipcor.pvparena.arena.ArenaPlayer;
 import net.slipcor.pvparena.events.PADeathEvent;
 import net.slipcor.pvparena.events.PAKillEvent;
-import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDao;
-import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDaoImpl;
-import net.slipcor.pvparena.statistics.model.PlayerArenaStats;
+import net.slipcor.pvparena.core.Config;
+import net.slipcor.pvparena.statistics.StatsLeaderboardCache;
 import net.slipcor.pvparena.statistics.model.StatEntry;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
-import java.util.AbstractMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
+import static java.util.Optional.ofNullable;
 import static net.slipcor.pvparena.config.Debugger.debug;
 
 /**
@@ -71,23 +70,17 @@ public final class StatisticsManager {
      * Get stats map for a given stat type
      * @param arena the arena to check
      * @param statType the kind of stat
-     * @return A map with player name and stat value
+     * @return A map with player name and stat value, empty if stats are still loading
      */
-    public static Map<String, Long> getStats(Arena arena, StatEntry statType, Long limit) {
+    public static Optional<Map<String, Long>> getStats(Arena arena, StatEntry statType, Long limit) {
         debug("getting stats: {} sorted by {}", (arena == null ? "global" : arena.getName()), statType);
-        PlayerArenaStatsDao statsDao = PlayerArenaStatsDaoImpl.getInstance();
-
-        List<PlayerArenaStats> statsResult;
-        if (arena == null) {
-            statsResult = statsDao.findBestStat(statType, limit);
-        } else {
-            statsResult = statsDao.findBestStatByArena(statType, arena, limit);
-        }
-
-        return statsResult.stream()
-                .map(stat -> new AbstractMap.SimpleEntry<>(stat.getPlayerName(), stat.getValueByStatType(statType)))
-                .filter(entry -> entry.getKey() != null)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        String arenaUuid = (arena == null) ? null : arena.getConfig().getString(Config.CFG.ID);
+        return StatsLeaderboardCache.getInstance().getTop(arenaUuid, statType, limit).map(leaderboard -> {
+            Map<String, Long> result = new LinkedHashMap<>();
+            leaderboard.forEach(entry -> ofNullable(entry.getPlayerName())
+                    .ifPresent(playerName -> result.put(playerName, entry.getValue())));
+            return result;
+        });
     }
 
     /**
@@ -134,7 +134,7 @@ public final class TeleportManager {
         if (arena.getConfig().getBoolean(Config.CFG.USES_INVISIBILITYFIX)
                 && Arrays.asList(PlayerStatus.FIGHT, PlayerStatus.LOUNGE).contains(arenaPlayer.getStatus())) {
             Bukkit.getScheduler().runTaskLater(PVPArena.getInstance(), () ->
-                            arena.getFighters()
+                            arena.getMembership().getFighters()
                                     .forEach(ap -> ap.getPlayer()
                                             .showPlayer(PVPArena.getInstance(), arenaPlayer.getPlayer()))
                     , 5L);
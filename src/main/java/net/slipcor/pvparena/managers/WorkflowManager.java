@@ -410,7 +410,7 @@ public class WorkflowManager {
     public static Boolean handleStart(final Arena arena, final CommandSender sender, final boolean force) {
         debug(arena, "handling start!");
 
-        if (!force && arena.getFighters().size() < Math.min(2, arena.getConfig().getInt(CFG.READY_MINPLAYERS))) {
+        if (!force && arena.getMembership().getFighters().size() < Math.min(2, arena.getConfig().getInt(CFG.READY_MINPLAYERS))) {
             debug(arena, "not forcing and we have less than minplayers");
             return null;
         }
@@ -452,6 +452,7 @@ public class WorkflowManager {
             x.parseStart();
         }
 
+        arena.compileSpawnProtectionZones();
         final SpawnCampRunnable scr = new SpawnCampRunnable(arena);
         scr.runTaskTimer(PVPArena.getInstance(), 100L, arena.getConfig().getInt(CFG.TIME_REGIONTIMER));
 
@@ -0,0 +1,116 @@
+package net.slipcor.pvparena.matchmaking;
+
+import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.core.Config.CFG;
+import net.slipcor.pvparena.managers.ArenaManager;
+import net.slipcor.pvparena.managers.PermissionManager;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Index of duel arenas (arenas named "duel...") having room for a duel, split between empty arenas and arenas having
+ * one player. Arenas are only measured again when players join or leave them. Locks, running fights and permissions
+ * are checked when an arena is picked, as they may change without notice.
+ */
+class DuelArenaIndex {
+    static final String DUEL_PREFIX = "duel";
+    private static final int DUEL_SIZE = 2;
+
+    private final List<Arena> duelArenas = new ArrayList<>();
+    private final Set<Arena> empty = new LinkedHashSet<>();
+    private final Set<Arena> oneFree = new LinkedHashSet<>();
+    private final Set<Arena> dirty = new LinkedHashSet<>();
+    private boolean rebuildNeeded = true;
+
+    /**
+     * Mark an arena to be measured again
+     * @param arena the arena players joined or left
+     */
+    void markDirty(final Arena arena) {
+        if (arena != null && isDuelArena(arena)) {
+            this.dirty.add(arena);
+        }
+    }
+
+    /**
+     * Drop the whole index, after arenas are loaded or removed
+     */
+    void markRebuildNeeded() {
+        this.rebuildNeeded = true;
+    }
+
+    /**
+     * @return all duel arenas, whatever their state
+     */
+    List<Arena> getDuelArenas() {
+        this.refresh();
+        return Collections.unmodifiableList(this.duelArenas);
+    }
+
+    /**
+     * Find an arena both players can join, empty arenas first
+     * @param player1 first player
+     * @param player2 second player
+     * @return an arena, null if none is available
+     */
+    Arena findArena(final Player player1, final Player player2) {
+        this.refresh();
+        for (Set<Arena> arenas : List.of(this.empty, this.oneFree)) {
+            for (Arena arena : arenas) {
+                if (isAvailable(arena, player1, player2)) {
+                    return arena;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void refresh() {
+        if (this.rebuildNeeded) {
+            this.rebuildNeeded = false;
+            this.duelArenas.clear();
+            this.empty.clear();
+            this.oneFree.clear();
+            this.dirty.clear();
+            for (Arena arena : ArenaManager.getArenas()) {
+                if (isDuelArena(arena)) {
+                    this.duelArenas.add(arena);
+                    this.dirty.add(arena);
+                }
+            }
+        }
+
+        for (Arena arena : this.dirty) {
+            this.empty.remove(arena);
+            this.oneFree.remove(arena);
+            final int size = arena.getMembership().getEveryone().size();
+            if (size == 0) {
+                this.empty.add(arena);
+            } else if (size < DUEL_SIZE) {
+                this.oneFree.add(arena);
+            }
+        }
+        this.dirty.clear();
+    }
+
+    private static boolean isAvailable(final Arena arena, final Player player1, final Player player2) {
+        if (arena.isLocked() || arena.getMembership().getEveryone().size() >= DUEL_SIZE) {
+            return false;
+        }
+        if (arena.isFightInProgress() && !arena.getConfig().getBoolean(CFG.JOIN_ALLOW_DURING_MATCH)) {
+            return false;
+        }
+        return PermissionManager.hasExplicitArenaPerm(player1, arena, "join")
+                && PermissionManager.hasExplicitArenaPerm(player2, arena, "join");
+    }
+
+    private static boolean isDuelArena(final Arena arena) {
+        return arena.getName().toLowerCase(Locale.ROOT).startsWith(DUEL_PREFIX);
+    }
+}
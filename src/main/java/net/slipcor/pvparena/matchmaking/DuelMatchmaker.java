@@ -0,0 +1,472 @@
+package net.slipcor.pvparena.matchmaking;
+
+import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.arena.ArenaTeam;
+import net.slipcor.pvparena.core.Language.MSG;
+import net.slipcor.pvparena.loadables.ArenaModule;
+import net.slipcor.pvparena.managers.WorkflowManager;
+import net.slipcor.pvparena.modules.ELORating;
+import net.slipcor.pvparena.modules.elo.ELORatingStore;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * Duel queue matching players two by two, first come first served
+ *
+ * When an arena of the duel pool uses the ELO module, players are sorted in rating buckets and only matched with
+ * players having a close rating. The accepted rating gap grows with waiting time, so nobody waits forever.
+ * A single task handles queue timeouts and matching, and free duel arenas are indexed as players join and leave them.
+ */
+public final class DuelMatchmaker {
+    private static final long DEFAULT_TIMEOUT_SECONDS = 360;
+    private static final double DEFAULT_BUCKET_SIZE = 100;
+    private static final double DEFAULT_TOLERANCE = 100;
+    private static final double DEFAULT_TOLERANCE_GROWTH = 5;
+    private static final double DEFAULT_MAX_TOLERANCE = 1000;
+    private static final long RATING_WAIT_MILLIS = 2000;
+    private static final long TICK_PERIOD = 20;
+
+    private static DuelMatchmaker instance;
+
+    private long timeoutMillis;
+    private double bucketSize;
+    private double tolerance;
+    private double toleranceGrowth;
+    private double maxTolerance;
+
+    private final Map<UUID, DuelQueueEntry> queue = new LinkedHashMap<>();
+    private final NavigableMap<Long, Set<DuelQueueEntry>> ratingBuckets = new TreeMap<>();
+    private final Set<DuelQueueEntry> unrated = newEntrySet();
+    private final DuelArenaIndex arenaIndex = new DuelArenaIndex();
+    private BukkitTask tickTask;
+    private long nextSequence;
+
+    private long matchCount;
+    private long timeoutCount;
+    private long totalWaitMillis;
+    private long maxWaitMillis;
+
+    private DuelMatchmaker() {
+    }
+
+    /**
+     * Start the matchmaker, or update its settings, with the "duelQueue" settings of the global config
+     * @param config duelQueue config section, can be null
+     */
+    public static void init(ConfigurationSection config) {
+        if (instance == null) {
+            instance = new DuelMatchmaker();
+        }
+        instance.configure(config);
+    }
+
+    /**
+     * @return the running matchmaker, null if the plugin isn't enabled
+     */
+    public static DuelMatchmaker getInstanceIfStarted() {
+        return instance;
+    }
+
+    /**
+     * Stop the matchmaker and drop the queue
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.stopTicking();
+            instance = null;
+        }
+    }
+
+    private void configure(ConfigurationSection config) {
+        final ConfigurationSection cfg = (config == null) ? new MemoryConfiguration() : config;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(cfg.getLong("timeout", DEFAULT_TIMEOUT_SECONDS));
+        final double newBucketSize = Math.max(1, cfg.getDouble("ratingBucketSize", DEFAULT_BUCKET_SIZE));
+        if (newBucketSize != this.bucketSize) {
+            this.rebucket(newBucketSize);
+        }
+        this.tolerance = Math.max(0, cfg.getDouble("ratingTolerance", DEFAULT_TOLERANCE));
+        this.toleranceGrowth = Math.max(0, cfg.getDouble("toleranceGrowth", DEFAULT_TOLERANCE_GROWTH));
+        this.maxTolerance = Math.max(this.tolerance, cfg.getDouble("maxRatingTolerance", DEFAULT_MAX_TOLERANCE));
+    }
+
+    /**
+     * Move queued players to the buckets of a new bucket size
+     */
+    private void rebucket(double newBucketSize) {
+        final List<DuelQueueEntry> rated = this.ratingBuckets.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toList());
+        this.ratingBuckets.clear();
+        this.bucketSize = newBucketSize;
+        rated.forEach(entry -> this.ratingBuckets.computeIfAbsent(this.getBucket(entry.rating), k -> newEntrySet()).add(entry));
+        debug("Duel queue: {} rated player(s) moved to buckets of size {}", rated.size(), newBucketSize);
+    }
+
+    /**
+     * @param playerUUID a player UUID
+     * @return true if the player is waiting in the queue
+     */
+    public boolean isQueued(UUID playerUUID) {
+        return this.queue.containsKey(playerUUID);
+    }
+
+    /**
+     * Add a player at the end of the queue and try to find an opponent
+     * @param player the player joining the queue
+     */
+    public void join(Player player) {
+        final long now = System.currentTimeMillis();
+        final DuelQueueEntry entry = new DuelQueueEntry(player.getUniqueId(), player.getName(), this.nextSequence++, now);
+        this.queue.put(entry.playerUUID, entry);
+        this.loadRating(entry, now);
+
+        Arena.pmsg(player, MSG.CMD_DUELJOIN_JOINED);
+        debug(player, "Player {} joined duel queue", player.getName());
+        this.notifyOtherQueuedPlayers(player);
+
+        this.startTicking();
+        this.match(now);
+    }
+
+    /**
+     * Remove a player from the queue
+     * @param playerUUID the player UUID
+     * @return true if the player was queued
+     */
+    public boolean leave(UUID playerUUID) {
+        final DuelQueueEntry entry = this.queue.remove(playerUUID);
+        if (entry == null) {
+            return false;
+        }
+        this.unindex(entry);
+        if (this.queue.isEmpty()) {
+            this.stopTicking();
+        }
+        debug("Removed player {} from duel queue", entry.playerName);
+        return true;
+    }
+
+    /**
+     * Remove a player from the queue after joining an arena
+     * @param playerUUID the player UUID
+     */
+    public void leaveOnArenaJoin(UUID playerUUID) {
+        if (this.leave(playerUUID)) {
+            final Player player = Bukkit.getPlayer(playerUUID);
+            if (player != null && player.isOnline()) {
+                Arena.pmsg(player, MSG.CMD_DUELJOIN_LEFT_ARENA_JOIN);
+            }
+        }
+    }
+
+    /**
+     * Update free duel arenas after a player moved from an arena to another
+     * @param oldArena the arena the player left, can be null
+     * @param newArena the arena the player joined, can be null
+     */
+    public void onMembershipChange(Arena oldArena, Arena newArena) {
+        this.arenaIndex.markDirty(oldArena);
+        this.arenaIndex.markDirty(newArena);
+    }
+
+    /**
+     * Index duel arenas again, after arenas are loaded or removed
+     */
+    public void onArenaListChange() {
+        this.arenaIndex.markRebuildNeeded();
+    }
+
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * @return waiting time of the first player of the queue, 0 if queue is empty
+     */
+    public long getLongestWaitMillis() {
+        final Iterator<DuelQueueEntry> iterator = this.queue.values().iterator();
+        return iterator.hasNext() ? iterator.next().getWaitMillis(System.currentTimeMillis()) : 0;
+    }
+
+    public long getMatchCount() {
+        return this.matchCount;
+    }
+
+    public long getTimeoutCount() {
+        return this.timeoutCount;
+    }
+
+    /**
+     * @return average waiting time of matched players
+     */
+    public long getAverageWaitMillis() {
+        return (this.matchCount == 0) ? 0 : this.totalWaitMillis / (this.matchCount * 2);
+    }
+
+    /**
+     * @return longest waiting time of matched players
+     */
+    public long getMaxWaitMillis() {
+        return this.maxWaitMillis;
+    }
+
+    private void tick() {
+        final long now = System.currentTimeMillis();
+        this.expire(now);
+        this.queue.values().stream()
+                .filter(entry -> !entry.ratingResolved)
+                .collect(Collectors.toList())
+                .forEach(entry -> this.resolveRating(entry, now));
+        this.match(now);
+        if (this.queue.isEmpty()) {
+            this.stopTicking();
+        }
+    }
+
+    private void expire(long now) {
+        final Iterator<DuelQueueEntry> iterator = this.queue.values().iterator();
+        while (iterator.hasNext()) {
+            final DuelQueueEntry entry = iterator.next();
+            // queue is sorted by joining time, next players joined later
+            if (entry.getWaitMillis(now) < this.timeoutMillis) {
+                return;
+            }
+            iterator.remove();
+            this.unindex(entry);
+            this.timeoutCount++;
+            debug("Removed player {} from duel queue (timeout)", entry.playerName);
+            final Player player = Bukkit.getPlayer(entry.playerUUID);
+            if (player != null && player.isOnline()) {
+                Arena.pmsg(player, MSG.CMD_DUELJOIN_TIMEOUT);
+            }
+        }
+    }
+
+    private void match(long now) {
+        if (this.queue.size() < 2) {
+            return;
+        }
+
+        for (DuelQueueEntry first : new ArrayList<>(this.queue.values())) {
+            if (!first.ratingResolved || !this.queue.containsKey(first.playerUUID)) {
+                continue;
+            }
+            final DuelQueueEntry second = this.findOpponent(first, now);
+            if (second == null) {
+                continue;
+            }
+
+            final Player player1 = Bukkit.getPlayer(first.playerUUID);
+            final Player player2 = Bukkit.getPlayer(second.playerUUID);
+            if (player1 == null || !player1.isOnline()) {
+                this.leave(first.playerUUID);
+                continue;
+            }
+            if (player2 == null || !player2.isOnline()) {
+                this.leave(second.playerUUID);
+                continue;
+            }
+
+            final Arena arena = this.arenaIndex.findArena(player1, player2);
+            if (arena == null) {
+                notifyNoArena(first, player1);
+                notifyNoArena(second, player2);
+                continue;
+            }
+
+            // never force a player who already left into a duel
+            if (!this.leave(second.playerUUID)) {
+                this.unindex(second);
+                continue;
+            }
+            this.leave(first.playerUUID);
+            this.recordMatch(first, second, now);
+            assignPlayersToArena(arena, player1, player2);
+        }
+    }
+
+    /**
+     * Find the player who joined the queue first among players close enough in rating
+     */
+    private DuelQueueEntry findOpponent(DuelQueueEntry first, long now) {
+        if (!first.isRated()) {
+            return this.queue.values().stream()
+                    .filter(entry -> entry != first && entry.ratingResolved)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        DuelQueueEntry best = this.unrated.stream()
+                .filter(entry -> entry != first && this.isStillQueued(entry))
+                .findFirst()
+                .orElse(null);
+        final double maxGap = this.getTolerance(first, now);
+        final long fromBucket = this.getBucket(first.rating - maxGap);
+        final long toBucket = this.getBucket(first.rating + maxGap);
+        for (Set<DuelQueueEntry> bucket : this.ratingBuckets.subMap(fromBucket, true, toBucket, true).values()) {
+            for (DuelQueueEntry entry : bucket) {
+                if (best != null && entry.sequence > best.sequence) {
+                    break;
+                }
+                if (entry != first && Math.abs(entry.rating - first.rating) <= maxGap
+                        && this.isStillQueued(entry)) {
+                    best = entry;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return true if the entry is the current queue entry of its player
+     */
+    private boolean isStillQueued(DuelQueueEntry entry) {
+        return this.queue.get(entry.playerUUID) == entry;
+    }
+
+    private double getTolerance(DuelQueueEntry entry, long now) {
+        final double waitSeconds = entry.getWaitMillis(now) / 1000.0;
+        return Math.min(this.maxTolerance, this.tolerance + this.toleranceGrowth * waitSeconds);
+    }
+
+    private long getBucket(double rating) {
+        return (long) Math.floor(rating / this.bucketSize);
+    }
+
+    private void loadRating(DuelQueueEntry entry, long now) {
+        for (Arena arena : this.arenaIndex.getDuelArenas()) {
+            for (ArenaModule mod : arena.getMods()) {
+                if (mod instanceof ELORating && ((ELORating) mod).isEnabled() && ((ELORating) mod).getDatabase() != null) {
+                    final ELORating eloModule = (ELORating) mod;
+                    entry.ratingArena = eloModule.isPerArena() ? arena.getName() : null;
+                    entry.ratingExpected = true;
+                    ELORatingStore.getInstance().preload(eloModule.getDatabase(), entry.playerUUID.toString(),
+                            entry.ratingArena, eloModule.getInitialRating());
+                    this.resolveRating(entry, now);
+                    return;
+                }
+            }
+        }
+        this.resolveRating(entry, now);
+    }
+
+    private void resolveRating(DuelQueueEntry entry, long now) {
+        if (entry.ratingExpected) {
+            final Double rating = ELORatingStore.getInstance().getCachedRating(entry.playerUUID.toString(), entry.ratingArena);
+            if (rating != null) {
+                entry.rating = rating;
+            } else if (entry.getWaitMillis(now) < RATING_WAIT_MILLIS) {
+                return;
+            }
+        }
+        entry.ratingResolved = true;
+        if (entry.isRated()) {
+            this.ratingBuckets.computeIfAbsent(this.getBucket(entry.rating), k -> newEntrySet()).add(entry);
+        } else {
+            this.unrated.add(entry);
+        }
+    }
+
+    private void unindex(DuelQueueEntry entry) {
+        if (entry.isRated()) {
+            final long bucketKey = this.getBucket(entry.rating);
+            final Set<DuelQueueEntry> bucket = this.ratingBuckets.get(bucketKey);
+            if (bucket != null) {
+                bucket.remove(entry);
+                if (bucket.isEmpty()) {
+                    this.ratingBuckets.remove(bucketKey);
+                }
+            }
+        } else {
+            this.unrated.remove(entry);
+        }
+    }
+
+    private void recordMatch(DuelQueueEntry first, DuelQueueEntry second, long now) {
+        this.matchCount++;
+        for (DuelQueueEntry entry : List.of(first, second)) {
+            final long wait = entry.getWaitMillis(now);
+            this.totalWaitMillis += wait;
+            this.maxWaitMillis = Math.max(this.maxWaitMillis, wait);
+        }
+        debug("Duel match: {} vs {}", first.playerName, second.playerName);
+    }
+
+    private void notifyOtherQueuedPlayers(Player newPlayer) {
+        final String queueSize = String.valueOf(this.queue.size());
+        for (DuelQueueEntry entry : this.queue.values()) {
+            if (!entry.playerUUID.equals(newPlayer.getUniqueId())) {
+                final Player player = Bukkit.getPlayer(entry.playerUUID);
+                if (player != null && player.isOnline()) {
+                    Arena.pmsg(player, MSG.CMD_DUELJOIN_PLAYER_JOINED, newPlayer.getName(), queueSize);
+                }
+            }
+        }
+    }
+
+    private static void notifyNoArena(DuelQueueEntry entry, Player player) {
+        if (!entry.noArenaNotified) {
+            entry.noArenaNotified = true;
+            Arena.pmsg(player, MSG.CMD_DUELJOIN_NO_ARENAS);
+        }
+    }
+
+    /**
+     * Join arena with both players, in different teams if possible
+     */
+    private static void assignPlayersToArena(Arena arena, Player player1, Player player2) {
+        final List<ArenaTeam> teams = arena.getTeams().stream()
+                .filter(team -> team.getTeamMembers().isEmpty())
+                .collect(Collectors.toList());
+
+        Arena.pmsg(player1, MSG.CMD_DUELJOIN_MATCH_FOUND, arena.getName());
+        Arena.pmsg(player2, MSG.CMD_DUELJOIN_MATCH_FOUND, arena.getName());
+
+        if (teams.size() >= 2) {
+            WorkflowManager.handleJoin(arena, player1, new String[]{teams.get(0).getName()});
+            WorkflowManager.handleJoin(arena, player2, new String[]{teams.get(1).getName()});
+        } else {
+            // not enough free teams, WorkflowManager picks them
+            WorkflowManager.handleJoin(arena, player1, new String[0]);
+            WorkflowManager.handleJoin(arena, player2, new String[0]);
+        }
+    }
+
+    private void startTicking() {
+        if (this.tickTask == null) {
+            this.tickTask = Bukkit.getScheduler().runTaskTimer(PVPArena.getInstance(), this::tick, TICK_PERIOD, TICK_PERIOD);
+        }
+    }
+
+    private void stopTicking() {
+        if (this.tickTask != null) {
+            this.tickTask.cancel();
+            this.tickTask = null;
+        }
+    }
+
+    private static Set<DuelQueueEntry> newEntrySet() {
+        return new TreeSet<>(Comparator.comparingLong(entry -> entry.sequence));
+    }
+}
@@ -0,0 +1,36 @@
+package net.slipcor.pvparena.matchmaking;
+
+import java.util.UUID;
+
+/**
+ * A player waiting in the duel queue
+ */
+class DuelQueueEntry {
+    final UUID playerUUID;
+    final String playerName;
+    final long sequence;
+    final long joinedAt;
+
+    /** arena of the ELO rating, null for global rating */
+    String ratingArena;
+    boolean ratingExpected;
+    /** rating of the player, NaN while unknown */
+    double rating = Double.NaN;
+    boolean ratingResolved;
+    boolean noArenaNotified;
+
+    DuelQueueEntry(UUID playerUUID, String playerName, long sequence, long joinedAt) {
+        this.playerUUID = playerUUID;
+        this.playerName = playerName;
+        this.sequence = sequence;
+        this.joinedAt = joinedAt;
+    }
+
+    boolean isRated() {
+        return !Double.isNaN(this.rating);
+    }
+
+    long getWaitMillis(long now) {
+        return now - this.joinedAt;
+    }
+}
@@ -6,6 +6,7 @@ import net.slipcor.pvparena.arena.ArenaTeam;
 import net.slipcor.pvparena.loadables.ArenaModule;
 import net.slipcor.pvparena.modules.elo.ELOCalculator;
 import net.slipcor.pvparena.modules.elo.ELODatabase;
+import net.slipcor.pvparena.modules.elo.ELORatingStore;
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -89,6 +90,8 @@ public class ELORating extends ArenaModule {
             config.set("database.username", "root");
             config.set("database.password", "");
             config.set("database.connection_pool_size", 5);
+            config.set("database.min_pool_size", 1);
+            config.set("database.connection_timeout", 5000);
             
             // ELO settings
             config.set("elo.enabled", true);
@@ -189,25 +192,34 @@ public class ELORating extends ArenaModule {
 
         // Load current ratings for all players (skip null players)
         Map<String, Double> playerRatings = new HashMap<>();
+        Set<ArenaPlayer> ratedPlayers = new HashSet<>();
         for (ArenaPlayer ap : allPlayers) {
             Player player = ap.getPlayer();
             if (player == null) {
                 continue; // Skip disconnected players
             }
             String playerUUID = player.getUniqueId().toString();
-            double rating = database.getPlayerRating(playerUUID, arenaUUID, initialRating);
+            // main thread: never wait for the database, ratings are preloaded when players join
+            Double rating = ELORatingStore.getInstance().getCachedRating(playerUUID, arenaUUID);
+            if (rating == null) {
+                // an unknown rating must not overwrite the saved one, the player is left out of this match
+                debug(arena, "ELO: rating of {} is not loaded, skipping player", ap.getName());
+                ELORatingStore.getInstance().preload(database, playerUUID, arenaUUID, initialRating);
+                continue;
+            }
             playerRatings.put(playerUUID, rating);
+            ratedPlayers.add(ap);
         }
         
-        if (playerRatings.isEmpty()) {
-            debug(arena, "ELO: No valid players with ratings, skipping ELO calculation");
+        if (ratedPlayers.size() < 2) {
+            debug(arena, "ELO: Not enough players with loaded ratings, skipping ELO calculation");
             return;
         }
 
         if (arena.isFreeForAll()) {
-            processFFAMatch(allPlayers, winners, playerRatings, arenaUUID);
+            processFFAMatch(ratedPlayers, winners, playerRatings, arenaUUID);
         } else {
-            processTeamMatch(allPlayers, winners, playerRatings, arenaUUID);
+            processTeamMatch(ratedPlayers, winners, playerRatings, arenaUUID);
         }
     }
 
@@ -218,8 +230,8 @@ public class ELORating extends ArenaModule {
                 .filter(ap -> ap.getArenaTeam() != null && ap.getPlayer() != null)
                 .collect(Collectors.groupingBy(ArenaPlayer::getArenaTeam));
 
-        if (playersByTeam.isEmpty()) {
-            debug(arena, "ELO: No valid teams found, skipping ELO calculation");
+        if (playersByTeam.size() < 2) {
+            debug(arena, "ELO: Not enough teams with rated players, skipping ELO calculation");
             return;
         }
 
@@ -228,11 +240,14 @@ public class ELORating extends ArenaModule {
                 .allMatch(team -> playersByTeam.get(team).stream()
                         .anyMatch(ap -> winners.contains(ap.getName())));
 
-        // Calculate team ratings
+        // Calculate team ratings, only from players whose rating is loaded
         Map<ArenaTeam, Double> teamRatings = new HashMap<>();
-        for (ArenaTeam team : playersByTeam.keySet()) {
-            double avgRating = ELOCalculator.calculateAverageTeamRating(team, playerRatings);
-            teamRatings.put(team, avgRating);
+        for (Map.Entry<ArenaTeam, List<ArenaPlayer>> entry : playersByTeam.entrySet()) {
+            double avgRating = entry.getValue().stream()
+                    .mapToDouble(ap -> playerRatings.get(ap.getPlayer().getUniqueId().toString()))
+                    .average()
+                    .orElse(initialRating);
+            teamRatings.put(entry.getKey(), avgRating);
         }
 
         // Calculate ELO changes for each team against each opponent
@@ -260,10 +275,10 @@ public class ELORating extends ArenaModule {
                 totalChange += change;
             }
 
-            // Distribute change to team members
-            Map<String, Double> teamChanges = ELOCalculator.distributeTeamRatingChange(team, totalChange);
-            for (Map.Entry<String, Double> entry : teamChanges.entrySet()) {
-                ratingChanges.merge(entry.getKey(), entry.getValue(), Double::sum);
+            // Distribute change to rated team members
+            List<ArenaPlayer> members = playersByTeam.get(team);
+            for (ArenaPlayer member : members) {
+                ratingChanges.merge(member.getPlayer().getUniqueId().toString(), totalChange / members.size(), Double::sum);
             }
         }
 
@@ -314,6 +329,7 @@ public class ELORating extends ArenaModule {
 
     private void updateRatingsAndNotify(Set<ArenaPlayer> allPlayers, Map<String, Double> playerRatings,
                                        Map<String, Double> ratingChanges, String arenaUUID) {
+        Map<String, Double> newRatings = new HashMap<>();
         for (ArenaPlayer ap : allPlayers) {
             Player player = ap.getPlayer();
             
@@ -329,8 +345,7 @@ public class ELORating extends ArenaModule {
             // Apply rating bounds (0 to 10000) to prevent extreme values
             newRating = Math.max(0.0, Math.min(10000.0, newRating));
 
-            // Update in database
-            database.updatePlayerRating(playerUUID, arenaUUID, newRating);
+            newRatings.put(playerUUID, newRating);
 
             // Notify player
             if (Math.abs(change) > 0.01) { // Only notify if change is significant
@@ -345,6 +360,20 @@ public class ELORating extends ArenaModule {
                 player.sendMessage(ChatColor.translateAlternateColorCodes('&', message));
             }
         }
+
+        // Update cache and save all ratings of the match at once
+        ELORatingStore.getInstance().applyMatch(database, newRatings, arenaUUID);
+    }
+
+    @Override
+    public void parseJoin(Player player, ArenaTeam team) {
+        if (!enabled || database == null) {
+            return;
+        }
+
+        // Load rating in background, so it's ready at the end of the match
+        String arenaUUID = perArena ? arena.getName() : null;
+        ELORatingStore.getInstance().preload(database, player.getUniqueId().toString(), arenaUUID, initialRating);
     }
 
     @Override
@@ -361,6 +390,7 @@ public class ELORating extends ArenaModule {
     public void reset(boolean force) {
         // Clean up database connection if needed
         if (database != null && force) {
+            ELORatingStore.getInstance().flush();
             database.closeConnection();
         }
     }
@@ -385,5 +415,12 @@ public class ELORating extends ArenaModule {
     public boolean isPerArena() {
         return perArena;
     }
+
+    /**
+     * Get the rating of players without saved rating
+     */
+    public double getInitialRating() {
+        return initialRating;
+    }
 }
 
@@ -87,7 +87,7 @@ public class QuickLounge extends StandardLounge {
     @Override
     public void parseJoin(final Player player, final ArenaTeam team) {
         // Auto starting countdown when first player joins
-        if(this.arena.getFighters().size() >= this.arena.getConfig().getInt(CFG.READY_MINPLAYERS)) {
+        if(this.arena.getMembership().getFighters().size() >= this.arena.getConfig().getInt(CFG.READY_MINPLAYERS)) {
             if (this.arena.startRunner == null) {
                 this.arena.countDown();
             }
@@ -1,6 +1,7 @@
 package net.slipcor.pvparena.modules.elo;
 
 import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.statistics.connector.ConnectionPool;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -12,14 +13,18 @@ import static net.slipcor.pvparena.config.Debugger.debug;
 
 /**
  * MySQL Database handler for ELO ratings
+ *
+ * Connections are borrowed from a pool shared by all arenas using the same database, so queries don't have to check
+ * the connection before running.
  */
 public class ELODatabase {
-    private Connection connection;
-    private String host;
-    private int port;
-    private String database;
-    private String username;
-    private String password;
+    private ConnectionPool pool;
+    private final String host;
+    private final int port;
+    private final String database;
+    private final String username;
+    private final String password;
+    private final ConnectionPool.Settings poolSettings;
 
     public ELODatabase(File configFile) {
         FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
@@ -30,52 +35,45 @@ public class ELODatabase {
         this.database = config.getString("database.database", "pvparena_elo");
         this.username = config.getString("database.username", "root");
         this.password = config.getString("database.password", "");
+        this.poolSettings = new ConnectionPool.Settings(
+                config.getInt("database.min_pool_size", 1),
+                config.getInt("database.connection_pool_size", 5),
+                config.getLong("database.connection_timeout", 5000),
+                config.getLong("database.validation_interval", 30) * 1000,
+                config.getLong("database.max_lifetime", 300) * 1000);
     }
 
     /**
-     * Ensure database connection is active
-     * @return true if connection is valid, false otherwise
+     * Borrow a connection from the pool, acquiring the pool again if it has been released
+     * @return a pooled connection, to be closed after use
      */
-    private boolean ensureConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                // Test connection is still valid
-                return connection.isValid(2); // 2 second timeout
+    private Connection getConnection() throws SQLException {
+        final ConnectionPool currentPool;
+        synchronized (this) {
+            if (this.pool == null) {
+                String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC",
+                        this.host, this.port, this.database);
+                this.pool = ConnectionPool.acquire(String.format("elo:%s@%s:%d/%s", this.username, this.host, this.port, this.database),
+                        url, this.username, this.password, this.poolSettings);
             }
-        } catch (SQLException e) {
-            // Connection is invalid, will reconnect below
+            currentPool = this.pool;
         }
-
-        return initializeDatabase();
+        return currentPool.getConnection();
     }
 
     /**
      * Initialize database connection and create table if needed
      */
     public boolean initializeDatabase() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                try {
-                    // Test if connection is still valid
-                    if (connection.isValid(2)) {
-                        return true;
-                    }
-                } catch (SQLException e) {
-                    // Connection is invalid, will reconnect
-                }
-            }
+        try (Connection connection = this.getConnection()) {
+            createTable(connection);
 
-            String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=UTC&autoReconnect=true",
-                    host, port, database);
-            
-            connection = DriverManager.getConnection(url, username, password);
-            createTable();
-            
             debug("ELO Database connected successfully");
             return true;
         } catch (SQLException e) {
             PVPArena.getInstance().getLogger().severe("Failed to connect to ELO database: " + e.getMessage());
             e.printStackTrace();
+            this.closeConnection();
             return false;
         }
     }
@@ -83,7 +81,7 @@ public class ELODatabase {
     /**
      * Create the ELO ratings table if it doesn't exist
      */
-    private void createTable() throws SQLException {
+    private void createTable(Connection connection) throws SQLException {
         String sql = "CREATE TABLE IF NOT EXISTS pvparena_elo_ratings (" +
                 "id INT AUTO_INCREMENT PRIMARY KEY, " +
                 "player_uuid VARCHAR(36) NOT NULL, " +
@@ -110,14 +108,28 @@ public class ELODatabase {
      * @return Player's rating, or default if not found
      */
     public double getPlayerRating(String playerUUID, String arenaUUID, double defaultRating) {
-        if (!ensureConnection()) {
-            return defaultRating;
+        try {
+            return this.loadPlayerRating(playerUUID, arenaUUID, defaultRating);
+        } catch (SQLException e) {
+            PVPArena.getInstance().getLogger().warning("Error getting ELO rating: " + e.getMessage());
         }
 
+        return defaultRating;
+    }
+
+    /**
+     * Load player's ELO rating, without hiding database errors
+     *
+     * @param playerUUID Player's UUID
+     * @param arenaUUID  Arena UUID (null for global)
+     * @return Player's rating, or default if not found
+     */
+    public double loadPlayerRating(String playerUUID, String arenaUUID, double defaultRating) throws SQLException {
         String sql = "SELECT rating FROM pvparena_elo_ratings WHERE player_uuid = ? AND " +
                 (arenaUUID == null ? "arena_uuid IS NULL" : "arena_uuid = ?");
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = this.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, playerUUID);
             if (arenaUUID != null) {
                 stmt.setString(2, arenaUUID);
@@ -128,42 +140,46 @@ public class ELODatabase {
                     return rs.getDouble("rating");
                 }
             }
-        } catch (SQLException e) {
-            PVPArena.getInstance().getLogger().warning("Error getting ELO rating: " + e.getMessage());
         }
 
         return defaultRating;
     }
 
     /**
-     * Update player's ELO rating
+     * Update ELO ratings of several players with a single statement
      *
-     * @param playerUUID Player's UUID
+     * @param newRatings New rating values by player UUID
      * @param arenaUUID  Arena UUID (null for global)
-     * @param newRating  New rating value
      */
-    public void updatePlayerRating(String playerUUID, String arenaUUID, double newRating) {
-        if (!ensureConnection()) {
+    public void updatePlayerRatings(Map<String, Double> newRatings, String arenaUUID) {
+        if (newRatings.isEmpty()) {
             return;
         }
 
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < newRatings.size(); i++) {
+            values.add("(?, ?, ?, 1)");
+        }
         String sql = "INSERT INTO pvparena_elo_ratings (player_uuid, arena_uuid, rating, matches_played) " +
-                "VALUES (?, ?, ?, 1) " +
-                "ON DUPLICATE KEY UPDATE rating = ?, matches_played = matches_played + 1";
-
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, playerUUID);
-            if (arenaUUID == null) {
-                stmt.setNull(2, Types.VARCHAR);
-            } else {
-                stmt.setString(2, arenaUUID);
+                "VALUES " + values +
+                " ON DUPLICATE KEY UPDATE rating = VALUES(rating), matches_played = matches_played + 1";
+
+        try (Connection connection = this.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (Map.Entry<String, Double> entry : newRatings.entrySet()) {
+                stmt.setString(index++, entry.getKey());
+                if (arenaUUID == null) {
+                    stmt.setNull(index++, Types.VARCHAR);
+                } else {
+                    stmt.setString(index++, arenaUUID);
+                }
+                stmt.setDouble(index++, entry.getValue());
             }
-            stmt.setDouble(3, newRating);
-            stmt.setDouble(4, newRating);
 
             stmt.executeUpdate();
         } catch (SQLException e) {
-            PVPArena.getInstance().getLogger().warning("Error updating ELO rating: " + e.getMessage());
+            PVPArena.getInstance().getLogger().warning("Error updating ELO ratings: " + e.getMessage());
         }
     }
 
@@ -177,15 +193,12 @@ public class ELODatabase {
     public Map<String, Double> getTopRatings(int limit, String arenaUUID) {
         Map<String, Double> ratings = new LinkedHashMap<>();
 
-        if (!ensureConnection()) {
-            return ratings;
-        }
-
         String sql = "SELECT player_uuid, rating FROM pvparena_elo_ratings WHERE " +
                 (arenaUUID == null ? "arena_uuid IS NULL" : "arena_uuid = ?") +
                 " ORDER BY rating DESC LIMIT ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = this.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             if (arenaUUID != null) {
                 stmt.setString(1, arenaUUID);
                 stmt.setInt(2, limit);
@@ -206,17 +219,13 @@ public class ELODatabase {
     }
 
     /**
-     * Close database connection
+     * Release the connection pool. Pool is closed once no arena uses it anymore.
      */
-    public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                debug("ELO Database connection closed");
-            }
-        } catch (SQLException e) {
-            PVPArena.getInstance().getLogger().warning("Error closing database connection: " + e.getMessage());
+    public synchronized void closeConnection() {
+        if (this.pool != null) {
+            ConnectionPool.release(this.pool);
+            this.pool = null;
+            debug("ELO Database connection released");
         }
     }
 }
-
@@ -0,0 +1,225 @@
+package net.slipcor.pvparena.modules.elo;
+
+import net.slipcor.pvparena.PVPArena;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * In-memory store of ELO ratings, shared by all arenas using the ELO module
+ *
+ * Ratings are loaded in background when players join an arena and kept by (player, arena) - arena being null for
+ * global ratings. Match results are applied to the cache right away and written asynchronously, one batch per match.
+ * Loads and writes run on the same thread, so a rating loaded after a match always includes its result.
+ * Failed loads are dropped from the cache, so they are attempted again on the next preload.
+ * Top ratings are also kept in memory and reloaded after each saved match of their arena.
+ */
+public final class ELORatingStore {
+    private static final int MAX_CACHED_RATINGS = 4096;
+    private static final long LOAD_TIMEOUT_SECONDS = 5;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+    private static final int TOP_RATINGS_SIZE = 1000;
+
+    private static final ELORatingStore INSTANCE = new ELORatingStore();
+
+    private final Map<String, CompletableFuture<Double>> ratings = Collections.synchronizedMap(
+            new LinkedHashMap<String, CompletableFuture<Double>>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<Double>> eldest) {
+                    return this.size() > MAX_CACHED_RATINGS;
+                }
+            });
+
+    private final Map<String, CompletableFuture<Map<String, Double>>> topRatings = new ConcurrentHashMap<>();
+
+    private volatile ExecutorService executor = newExecutor();
+
+    private ELORatingStore() {
+    }
+
+    public static ELORatingStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Load a rating in background if it's not cached yet
+     * @param database the ELO database
+     * @param playerUUID player UUID
+     * @param arenaUUID arena UUID (null for global)
+     * @param defaultRating rating of players without saved rating
+     */
+    public void preload(ELODatabase database, String playerUUID, String arenaUUID, double defaultRating) {
+        this.getOrLoad(database, playerUUID, arenaUUID, defaultRating);
+    }
+
+    /**
+     * Get a rating, waiting for it to be loaded if needed
+     * @param database the ELO database
+     * @param playerUUID player UUID
+     * @param arenaUUID arena UUID (null for global)
+     * @param defaultRating rating of players without saved rating
+     * @return the player rating
+     */
+    public double getRating(ELODatabase database, String playerUUID, String arenaUUID, double defaultRating) {
+        final CompletableFuture<Double> rating = this.getOrLoad(database, playerUUID, arenaUUID, defaultRating);
+        try {
+            return rating.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            PVPArena.getInstance().getLogger().warning("Unable to load ELO rating: " + e.getMessage());
+            this.ratings.remove(key(playerUUID, arenaUUID), rating);
+        }
+        return defaultRating;
+    }
+
+    /**
+     * Get a rating only if it's already in memory, never waiting for the database
+     * @param playerUUID player UUID
+     * @param arenaUUID arena UUID (null for global)
+     * @return the player rating, null if it's not loaded yet or failed to load
+     */
+    public Double getCachedRating(String playerUUID, String arenaUUID) {
+        final String key = key(playerUUID, arenaUUID);
+        final CompletableFuture<Double> rating = this.ratings.get(key);
+        if (rating == null || !rating.isDone()) {
+            return null;
+        }
+        if (rating.isCompletedExceptionally()) {
+            // failed loads are not kept, so the next preload tries again
+            this.ratings.remove(key, rating);
+            return null;
+        }
+        return rating.join();
+    }
+
+    /**
+     * Apply new ratings of a match to the cache and save them in background
+     * @param database the ELO database
+     * @param newRatings new ratings by player UUID
+     * @param arenaUUID arena UUID (null for global)
+     */
+    public void applyMatch(ELODatabase database, Map<String, Double> newRatings, String arenaUUID) {
+        if (newRatings.isEmpty()) {
+            return;
+        }
+        newRatings.forEach((playerUUID, rating) ->
+                this.ratings.put(key(playerUUID, arenaUUID), CompletableFuture.completedFuture(rating)));
+
+        final Map<String, Double> batch = new LinkedHashMap<>(newRatings);
+        this.executor.execute(() -> {
+            database.updatePlayerRatings(batch, arenaUUID);
+            debug("ELO: {} ratings saved", batch.size());
+        });
+
+        // reload top ratings after the write, keeping the previous ones until then
+        final String topKey = (arenaUUID == null) ? "" : arenaUUID;
+        final CompletableFuture<Map<String, Double>> previousTop = this.topRatings.get(topKey);
+        if (previousTop != null) {
+            CompletableFuture.supplyAsync(() -> database.getTopRatings(TOP_RATINGS_SIZE, arenaUUID), this.executor)
+                    .thenAccept(top -> this.topRatings.replace(topKey, previousTop, CompletableFuture.completedFuture(top)));
+        }
+    }
+
+    /**
+     * Get best ratings, loading them if they're not in memory yet
+     * @param database the ELO database
+     * @param limit max number of ratings
+     * @param arenaUUID arena UUID (null for global)
+     * @return ratings by player UUID, best first
+     */
+    public Map<String, Double> getTopRatings(ELODatabase database, int limit, String arenaUUID) {
+        if (limit > TOP_RATINGS_SIZE) {
+            return database.getTopRatings(limit, arenaUUID);
+        }
+        final String topKey = (arenaUUID == null) ? "" : arenaUUID;
+        final CompletableFuture<Map<String, Double>> top = this.topRatings.computeIfAbsent(topKey, k ->
+                CompletableFuture.supplyAsync(() -> database.getTopRatings(TOP_RATINGS_SIZE, arenaUUID), this.executor));
+        try {
+            return top.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS).entrySet().stream()
+                    .limit(limit)
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            PVPArena.getInstance().getLogger().warning("Unable to load ELO top ratings: " + e.getMessage());
+            this.topRatings.remove(topKey, top);
+        }
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * Wait for all pending writes to be done
+     */
+    public void flush() {
+        try {
+            this.executor.submit(() -> {}).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to flush ELO ratings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write pending ratings, then stop the database thread and drop cached ratings
+     */
+    public static void shutdown() {
+        INSTANCE.flush();
+        final ExecutorService previous = INSTANCE.executor;
+        // the thread of the new executor is only started by the next load or write
+        INSTANCE.executor = newExecutor();
+        previous.shutdown();
+        INSTANCE.ratings.clear();
+        INSTANCE.topRatings.clear();
+    }
+
+    private static ExecutorService newExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-ELO");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private CompletableFuture<Double> getOrLoad(ELODatabase database, String playerUUID, String arenaUUID, double defaultRating) {
+        final String key = key(playerUUID, arenaUUID);
+        final CompletableFuture<Double> cached = this.ratings.get(key);
+        if (cached != null && cached.isCompletedExceptionally()) {
+            this.ratings.remove(key, cached);
+        }
+        return this.ratings.computeIfAbsent(key, k -> {
+            final CompletableFuture<Double> rating = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return database.loadPlayerRating(playerUUID, arenaUUID, defaultRating);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, this.executor);
+            rating.whenComplete((value, error) -> {
+                if (error != null) {
+                    PVPArena.getInstance().getLogger().warning("Unable to load ELO rating: " + error.getMessage());
+                    this.ratings.remove(k, rating);
+                }
+            });
+            return rating;
+        });
+    }
+
+    private static String key(String playerUUID, String arenaUUID) {
+        return playerUUID + '/' + (arenaUUID == null ? "" : arenaUUID);
+    }
+}
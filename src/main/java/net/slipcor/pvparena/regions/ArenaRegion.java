@@ -18,26 +18,34 @@ import net.slipcor.pvparena.managers.ArenaManager;
 import net.slipcor.pvparena.managers.PermissionManager;
 import net.slipcor.pvparena.managers.SpawnManager;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Hanging;
 import org.bukkit.entity.Player;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static net.slipcor.pvparena.config.Debugger.debug;
 
 public class ArenaRegion {
 
+    private static final int ENTITY_REMOVALS_PER_TICK = 256;
+    private static final int MAX_CHUNKS_CHECKED_ONE_BY_ONE = 1024;
+
     private final String world;
     private Arena arena;
     private String name;
@@ -178,8 +186,8 @@ public class ArenaRegion {
         this.shape = shape;
         this.type = RegionType.CUSTOM;
         this.world = locs[0].getWorldName();
-        arena.addRegion(this);
         this.shape.initialize(this);
+        arena.addRegion(this);
         this.noCampRunnable = new NoCampRunnable(this.arena.getConfig().getInt(CFG.DAMAGE_SPAWNCAMP));
     }
 
@@ -345,30 +353,97 @@ public class ArenaRegion {
         this.noCampRunnable.stop();
     }
 
+    /**
+     * remove entities in the region, except players, hanging entities, NPCs and configured exceptions.
+     * Only loaded chunks overlapping the region bounds are scanned. If there are many entities to remove, removal
+     * is spread over next ticks.
+     */
     public void removeEntities() {
-        if (this.getWorld() == null || this.getWorld().getEntities().isEmpty()) {
+        final World world = this.getWorld();
+        if (world == null) {
             return;
         }
 
-        for (Entity entity : this.getWorld().getEntities()) {
-            if (entity instanceof Player || !this.shape.contains(new PABlockLocation(entity.getLocation()))) {
-                continue;
-            }
+        final Set<EntityType> exceptions = this.getClearExceptions();
+        final List<Entity> toRemove = new ArrayList<>();
+        for (Chunk chunk : this.getLoadedChunks(world)) {
+            for (Entity entity : chunk.getEntities()) {
+                if (entity instanceof Player || entity instanceof Hanging || exceptions.contains(entity.getType())) {
+                    continue;
+                }
 
-            if (entity instanceof Hanging) {
-                continue;
+                if (entity.hasMetadata("NPC") || !this.shape.contains(new PABlockLocation(entity.getLocation()))) {
+                    continue;
+                }
+
+                toRemove.add(entity);
             }
+        }
 
-            if (entity.hasMetadata("NPC")) {
-                continue;
+        if (toRemove.size() <= ENTITY_REMOVALS_PER_TICK || !PVPArena.getInstance().isEnabled()) {
+            toRemove.forEach(Entity::remove);
+            return;
+        }
+
+        debug(this.arena, "removing {} entities of region {} over several ticks", toRemove.size(), this.name);
+        final Iterator<Entity> iterator = toRemove.iterator();
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < ENTITY_REMOVALS_PER_TICK && iterator.hasNext(); i++) {
+                    final Entity entity = iterator.next();
+                    if (entity.isValid()) {
+                        entity.remove();
+                    }
+                }
+                if (!iterator.hasNext()) {
+                    this.cancel();
+                }
             }
+        }.runTaskTimer(PVPArena.getInstance(), 0L, 1L);
+    }
 
-            if (this.arena.getConfig().getStringList(CFG.GENERAL_REGIONCLEAREXCEPTIONS.getNode(), new ArrayList<String>()).contains(entity.getType().name())) {
-                continue;
+    private Set<EntityType> getClearExceptions() {
+        final Set<EntityType> exceptions = EnumSet.noneOf(EntityType.class);
+        for (String typeName : this.arena.getConfig().getStringList(CFG.GENERAL_REGIONCLEAREXCEPTIONS.getNode(), new ArrayList<>())) {
+            try {
+                exceptions.add(EntityType.valueOf(typeName));
+            } catch (IllegalArgumentException e) {
+                debug(this.arena, "unknown entity type in region clear exceptions: {}", typeName);
+            }
+        }
+        return exceptions;
+    }
+
+    private Collection<Chunk> getLoadedChunks(final World world) {
+        final PABlockLocation min = this.shape.getMinimumLocation();
+        final PABlockLocation max = this.shape.getMaximumLocation();
+        final int minChunkX = min.getX() >> 4;
+        final int maxChunkX = max.getX() >> 4;
+        final int minChunkZ = min.getZ() >> 4;
+        final int maxChunkZ = max.getZ() >> 4;
+        final long regionChunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+
+        final List<Chunk> result = new ArrayList<>();
+        if (regionChunks > MAX_CHUNKS_CHECKED_ONE_BY_ONE) {
+            // huge region, cheaper to filter loaded chunks
+            for (Chunk chunk : world.getLoadedChunks()) {
+                if (chunk.getX() >= minChunkX && chunk.getX() <= maxChunkX
+                        && chunk.getZ() >= minChunkZ && chunk.getZ() <= maxChunkZ) {
+                    result.add(chunk);
+                }
             }
+            return result;
+        }
 
-            entity.remove();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if (world.isChunkLoaded(chunkX, chunkZ)) {
+                    result.add(world.getChunkAt(chunkX, chunkZ));
+                }
+            }
         }
+        return result;
     }
 
     public void saveToConfig() {
@@ -390,11 +465,21 @@ public class ArenaRegion {
         this.type = type;
     }
 
-    public void handleRegionFlags(ArenaPlayer arenaPlayer, PABlockLocation pLoc) {
+    /**
+     * Apply region flags to a fighting player standing inside the region
+     *
+     * @param arenaPlayer the player inside the region
+     * @param entering    true if the player has just entered the region
+     */
+    public void handlePlayerInside(ArenaPlayer arenaPlayer, boolean entering) {
         if (this.flags.contains(RegionFlag.NOCAMP)) {
-            this.handleNoCampRegionFlag(arenaPlayer, pLoc);
+            boolean startCamping = this.noCampRunnable.updatePlayer(arenaPlayer);
 
-        } else if(Stream.of(RegionFlag.DEATH, RegionFlag.WIN, RegionFlag.LOSE).anyMatch(this.flags::contains) && this.shape.contains(pLoc)) {
+            if (startCamping) {
+                Arena.pmsg(arenaPlayer.getPlayer(), MSG.NOTICE_YOU_NOCAMP);
+            }
+
+        } else if (entering) {
 
             if (this.flags.contains(RegionFlag.DEATH)) {
                 debug(arenaPlayer, "entering DEATH region");
@@ -411,14 +496,13 @@ public class ArenaRegion {
         }
     }
 
-    private void handleNoCampRegionFlag(ArenaPlayer arenaPlayer, PABlockLocation pLoc) {
-        if (this.shape.contains(pLoc)) {
-            boolean entering = this.noCampRunnable.updatePlayer(arenaPlayer);
-
-            if (entering) {
-                Arena.pmsg(arenaPlayer.getPlayer(), MSG.NOTICE_YOU_NOCAMP);
-            }
-        } else {
+    /**
+     * Clean region flags state of a player leaving the region
+     *
+     * @param arenaPlayer the player leaving the region
+     */
+    public void handlePlayerLeaving(ArenaPlayer arenaPlayer) {
+        if (this.flags.contains(RegionFlag.NOCAMP)) {
             this.noCampRunnable.removePlayer(arenaPlayer);
         }
     }
@@ -0,0 +1,169 @@
+package net.slipcor.pvparena.regions;
+
+import net.slipcor.pvparena.classes.PABlockLocation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.slipcor.pvparena.config.Debugger.trace;
+
+/**
+ * Spatial index of all loaded arena regions, bucketed by world and chunk
+ *
+ * Each region is registered in every chunk its shape bounding box (minimum and maximum locations) overlaps, so
+ * location lookups only have to run exact shape checks against a handful of candidate regions. Regions covering
+ * too many chunks are kept in a per-world list which is always returned as candidates.
+ * The index must be refreshed each time a region is added, removed, moved or extended.
+ */
+public final class RegionChunkIndex {
+
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+
+    private static final Map<String, Map<Long, List<ArenaRegion>>> CHUNKS = new HashMap<>();
+    private static final Map<String, List<ArenaRegion>> OVERSIZED = new HashMap<>();
+    private static final Map<ArenaRegion, IndexEntry> ENTRIES = new IdentityHashMap<>();
+
+    private RegionChunkIndex() {
+    }
+
+    /**
+     * Register a region in the index, replacing any previous registration
+     *
+     * @param region the region to index
+     */
+    public static void add(final ArenaRegion region) {
+        remove(region);
+
+        final PABlockLocation min = region.getShape().getMinimumLocation();
+        final PABlockLocation max = region.getShape().getMaximumLocation();
+        if (min == null || max == null) {
+            return;
+        }
+
+        // bounding boxes of round shapes are rounded, so pad them by one block
+        final IndexEntry entry = new IndexEntry(region.getWorldName(),
+                (Math.min(min.getX(), max.getX()) - 1) >> 4,
+                (Math.min(min.getZ(), max.getZ()) - 1) >> 4,
+                (Math.max(min.getX(), max.getX()) + 1) >> 4,
+                (Math.max(min.getZ(), max.getZ()) + 1) >> 4);
+
+        if (entry.isOversized()) {
+            OVERSIZED.computeIfAbsent(entry.world, w -> new ArrayList<>()).add(region);
+        } else {
+            final Map<Long, List<ArenaRegion>> worldChunks = CHUNKS.computeIfAbsent(entry.world, w -> new HashMap<>());
+            for (int cx = entry.minChunkX; cx <= entry.maxChunkX; cx++) {
+                for (int cz = entry.minChunkZ; cz <= entry.maxChunkZ; cz++) {
+                    worldChunks.computeIfAbsent(chunkKey(cx, cz), k -> new ArrayList<>(2)).add(region);
+                }
+            }
+        }
+        ENTRIES.put(region, entry);
+        trace("indexed region {} in world {}, chunks [{};{}] to [{};{}]", region.getRegionName(), entry.world,
+                entry.minChunkX, entry.minChunkZ, entry.maxChunkX, entry.maxChunkZ);
+    }
+
+    /**
+     * Remove a region from the index
+     *
+     * @param region the region to remove
+     */
+    public static void remove(final ArenaRegion region) {
+        final IndexEntry entry = ENTRIES.remove(region);
+        if (entry == null) {
+            return;
+        }
+
+        if (entry.isOversized()) {
+            final List<ArenaRegion> oversized = OVERSIZED.get(entry.world);
+            if (oversized != null) {
+                oversized.remove(region);
+                if (oversized.isEmpty()) {
+                    OVERSIZED.remove(entry.world);
+                }
+            }
+            return;
+        }
+
+        final Map<Long, List<ArenaRegion>> worldChunks = CHUNKS.get(entry.world);
+        if (worldChunks == null) {
+            return;
+        }
+        for (int cx = entry.minChunkX; cx <= entry.maxChunkX; cx++) {
+            for (int cz = entry.minChunkZ; cz <= entry.maxChunkZ; cz++) {
+                final Long key = chunkKey(cx, cz);
+                final List<ArenaRegion> bucket = worldChunks.get(key);
+                if (bucket != null) {
+                    bucket.remove(region);
+                    if (bucket.isEmpty()) {
+                        worldChunks.remove(key);
+                    }
+                }
+            }
+        }
+        if (worldChunks.isEmpty()) {
+            CHUNKS.remove(entry.world);
+        }
+    }
+
+    /**
+     * Re-index a region after its shape has been moved or extended
+     *
+     * @param region the modified region
+     */
+    public static void update(final ArenaRegion region) {
+        add(region);
+    }
+
+    /**
+     * Get regions which may contain a location. Exact shape check still has to be done by caller.
+     *
+     * @param location the location to check
+     * @return a list of candidate regions, never null
+     */
+    public static List<ArenaRegion> getCandidates(final PABlockLocation location) {
+        final String world = location.getWorldName();
+        final List<ArenaRegion> oversized = OVERSIZED.get(world);
+        final Map<Long, List<ArenaRegion>> worldChunks = CHUNKS.get(world);
+        final List<ArenaRegion> bucket = (worldChunks == null) ? null :
+                worldChunks.get(chunkKey(location.getX() >> 4, location.getZ() >> 4));
+
+        if (oversized == null) {
+            return (bucket == null) ? Collections.emptyList() : bucket;
+        }
+        if (bucket == null) {
+            return oversized;
+        }
+        final List<ArenaRegion> result = new ArrayList<>(bucket.size() + oversized.size());
+        result.addAll(bucket);
+        result.addAll(oversized);
+        return result;
+    }
+
+    private static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static final class IndexEntry {
+        private final String world;
+        private final int minChunkX;
+        private final int minChunkZ;
+        private final int maxChunkX;
+        private final int maxChunkZ;
+
+        private IndexEntry(String world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+            this.world = world;
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+        }
+
+        private boolean isOversized() {
+            return (long) (this.maxChunkX - this.minChunkX + 1) * (this.maxChunkZ - this.minChunkZ + 1) > MAX_INDEXED_CHUNKS;
+        }
+    }
+}
@@ -108,6 +108,8 @@ public abstract class ArenaRunnable extends BukkitRunnable {
         final String message = this.seconds > 5 ? Language.parse(msg, MESSAGES.get(this.seconds)) : MESSAGES.get(this.seconds);
         if (this.global) {
             final Collection<? extends Player> players = Bukkit.getOnlinePlayers();
+            // same line for everyone, wrapped once per second
+            final String rendered = Arena.renderGlobalMessage(message);
 
             for (Player p : players) {
                 try {
@@ -117,7 +119,7 @@ public abstract class ArenaRunnable extends BukkitRunnable {
                     if (p.getName().equals(this.sPlayer)) {
                         continue;
                     }
-                    Arena.pmsg(p, message);
+                    Arena.sendRendered(p, rendered);
                 } catch (final Exception e) {
                 }
             }
@@ -125,14 +127,15 @@ public abstract class ArenaRunnable extends BukkitRunnable {
             return;
         }
         if (this.arena != null) {
-            final Set<ArenaPlayer> players = this.arena.getFighters();
+            final Set<ArenaPlayer> players = this.arena.getMembership().getFighters();
+            final String rendered = this.arena.renderMessage(message);
             for (ArenaPlayer ap : players) {
                 if (ap.getName().equals(this.sPlayer)) {
                     continue;
                 }
                 if (ap.getPlayer() != null) {
                     if (!ArenaModuleManager.checkCountOverride(this.arena, ap.getPlayer(), message)) {
-                        this.arena.msg(ap.getPlayer(), message);
+                        Arena.sendRendered(ap.getPlayer(), rendered);
                     }
                 }
             }
@@ -0,0 +1,124 @@
+package net.slipcor.pvparena.runnables;
+
+import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.core.Config.CFG;
+import net.slipcor.pvparena.managers.InventoryManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * <pre>Arena Runnable class "DurabilityReset"</pre>
+ * <p/>
+ * Resets people's weapon / armor durability on the tick after they hit or got hit. Players hitting or being hit
+ * several times in a tick are only reset once, with at most one inventory update each.
+ */
+public final class DurabilityResetService implements Runnable {
+
+    private static final DurabilityResetService INSTANCE = new DurabilityResetService();
+
+    private final Map<UUID, DirtyPlayer> dirtyPlayers = new LinkedHashMap<>();
+    private BukkitTask task;
+
+    private DurabilityResetService() {
+    }
+
+    /**
+     * Reset durability of the weapon of the attacker and the armor of the defender on next tick
+     *
+     * @param arena    the arena
+     * @param attacker the attacking player, can be null
+     * @param defender the defending player, can be null
+     */
+    public static void markDirty(final Arena arena, final Player attacker, final Player defender) {
+        if (attacker != null) {
+            INSTANCE.mark(arena, attacker).weapon = true;
+        }
+        if (defender != null) {
+            INSTANCE.mark(arena, defender).armor = true;
+        }
+    }
+
+    /**
+     * Drop pending resets and stop the next run
+     */
+    public static void shutdown() {
+        if (INSTANCE.task != null) {
+            INSTANCE.task.cancel();
+            INSTANCE.task = null;
+        }
+        INSTANCE.dirtyPlayers.clear();
+    }
+
+    private DirtyPlayer mark(final Arena arena, final Player player) {
+        if (this.task == null) {
+            this.task = Bukkit.getScheduler().runTask(PVPArena.getInstance(), this);
+        }
+        final DirtyPlayer dirtyPlayer = this.dirtyPlayers.computeIfAbsent(player.getUniqueId(), uuid -> new DirtyPlayer(player));
+        dirtyPlayer.arena = arena;
+        return dirtyPlayer;
+    }
+
+    @Override
+    public void run() {
+        this.task = null;
+        debug("resetting durability of {} player(s)", this.dirtyPlayers.size());
+        for (DirtyPlayer dirtyPlayer : this.dirtyPlayers.values()) {
+            try {
+                dirtyPlayer.reset();
+            } catch (final Exception e) {
+                debug(dirtyPlayer.player, "unable to reset durability: {}", e.getMessage());
+            }
+        }
+        this.dirtyPlayers.clear();
+    }
+
+    private static final class DirtyPlayer {
+        private final Player player;
+        private Arena arena;
+        private boolean weapon;
+        private boolean armor;
+
+        private DirtyPlayer(final Player player) {
+            this.player = player;
+        }
+
+        @SuppressWarnings("deprecation")
+        private void reset() {
+            if (!this.player.isOnline()) {
+                return;
+            }
+            boolean changed = false;
+
+            if (this.weapon && !this.arena.getConfig().getBoolean(CFG.DAMAGE_WEAPONS)) {
+                final ItemStack item = this.player.getItemInHand();
+                if (InventoryManager.receivesDamage(item)) {
+                    item.setDurability((short) 0);
+                    changed = true;
+                }
+            }
+
+            if (this.armor && !this.arena.getConfig().getBoolean(CFG.DAMAGE_ARMOR)) {
+                for (ItemStack is : this.player.getInventory().getArmorContents()) {
+                    if (is == null || !is.getType().name().endsWith("_HELMET")) {
+                        continue;
+                    }
+                    is.setDurability((short) 0);
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                this.player.updateInventory();
+            }
+        }
+    }
+}
@@ -4,12 +4,16 @@ import net.slipcor.pvparena.arena.Arena;
 import net.slipcor.pvparena.arena.ArenaPlayer;
 import net.slipcor.pvparena.arena.ArenaTeam;
 import net.slipcor.pvparena.arena.PlayerStatus;
+import net.slipcor.pvparena.arena.SpawnProtectionZones;
 import net.slipcor.pvparena.classes.PALocation;
 import net.slipcor.pvparena.core.Config.CFG;
 import net.slipcor.pvparena.managers.SpawnManager;
+import org.bukkit.entity.Player;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,9 +29,11 @@ import static net.slipcor.pvparena.config.Debugger.debug;
  */
 
 public class SpawnCampRunnable extends BukkitRunnable {
+    private static final double SPAWN_CAMP_DISTANCE = 3;
+
     private final Arena arena;
     private final int spawnCampDamage;
-    private final Set<PALocation> spawns;
+    private final SpawnProtectionZones.Zone spawns;
 
     /**
      * create a spawn camp runnable
@@ -38,7 +44,7 @@ public class SpawnCampRunnable extends BukkitRunnable {
         debug(arena, "SpawnCampRunnable constructor");
         this.arena = arena;
         this.spawnCampDamage = this.arena.getConfig().getInt(CFG.DAMAGE_SPAWNCAMP);
-        this.spawns = this.arena.getTeams().stream()
+        final Set<PALocation> spawnLocations = this.arena.getTeams().stream()
                 .filter(ArenaTeam::isNotEmpty)
                 .flatMap(team -> {
                     if (this.arena.getConfig().getBoolean(CFG.GENERAL_SPAWN_PER_CLASS)) {
@@ -48,6 +54,7 @@ public class SpawnCampRunnable extends BukkitRunnable {
                     return SpawnManager.getSpawnsLocationStartingWith(this.arena, spawnStartingWith).stream();
                 })
                 .collect(Collectors.toSet());
+        this.spawns = new SpawnProtectionZones.Zone(spawnLocations, SPAWN_CAMP_DISTANCE, false);
     }
 
     /**
@@ -68,15 +75,20 @@ public class SpawnCampRunnable extends BukkitRunnable {
      * damage every actively fighting player for being near a spawn
      */
      private void spawnCampPunish() {
-        this.spawns.forEach(spawnLoc ->
-            this.arena.getFighters().stream()
-                    .filter(ap -> ap.getStatus() == PlayerStatus.FIGHT)
-                    .filter(ap -> spawnLoc.getDistanceSquared(ap.getLocation()) < 9)
-                    .map(ArenaPlayer::getPlayer)
-                    .forEach(player -> {
-                        player.setLastDamageCause(new EntityDamageEvent(player, EntityDamageEvent.DamageCause.CUSTOM, 1002));
-                        player.damage(this.spawnCampDamage);
-                    })
-        );
+        final List<Player> campers = new ArrayList<>();
+        for (ArenaPlayer ap : this.arena.getMembership().getFighters()) {
+            if (ap.getStatus() != PlayerStatus.FIGHT) {
+                continue;
+            }
+            final Player player = ap.getPlayer();
+            // punished once per spawn being camped
+            for (int i = this.spawns.countSpawnsInRange(player.getLocation()); i > 0; i--) {
+                campers.add(player);
+            }
+        }
+        campers.forEach(player -> {
+            player.setLastDamageCause(new EntityDamageEvent(player, EntityDamageEvent.DamageCause.CUSTOM, 1002));
+            player.damage(this.spawnCampDamage);
+        });
     }
 }
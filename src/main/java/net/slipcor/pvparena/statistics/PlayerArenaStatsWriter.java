@@ -0,0 +1,286 @@
+package net.slipcor.pvparena.statistics;
+
+import com.j256.ormlite.misc.TransactionManager;
+import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDao;
+import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDaoImpl;
+import net.slipcor.pvparena.statistics.model.PlayerArenaStats;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Optional.ofNullable;
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * Write-behind persistence of player statistics
+ *
+ * Stats diffs are queued from the server thread and coalesced by (player, arena). A dedicated thread flushes them
+ * after a short delay, merging all pending diffs with saved stats in a single transaction. If the queue is full,
+ * pending diffs are flushed immediately. Remaining diffs are written synchronously on plugin disable.
+ *
+ * Failed batches are queued again and retried with an exponential backoff. While the database is unavailable, the
+ * queue is capped to "maxQueueSize" players: diffs of players already queued are still merged, diffs of other players
+ * are dropped and reported in logs.
+ */
+public final class PlayerArenaStatsWriter {
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+    private static final long DEFAULT_FLUSH_DELAY_MILLIS = 2000;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private static PlayerArenaStatsWriter instance;
+
+    private final int queueSize;
+    private final int maxQueueSize;
+    private final long flushDelayMillis;
+    private final ScheduledExecutorService executor;
+    private final Map<String, PlayerArenaStats> pendingDiffs = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    // following fields are guarded by pendingDiffs lock
+    private int consecutiveFailures;
+    private int droppedDiffs;
+
+    private PlayerArenaStatsWriter(int queueSize, int maxQueueSize, long flushDelayMillis) {
+        this.queueSize = queueSize;
+        this.maxQueueSize = maxQueueSize;
+        this.flushDelayMillis = flushDelayMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-StatsWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start the writer with the "database.writeBehind" settings of the global config
+     * @param config writeBehind config section, can be null
+     */
+    public static void init(ConfigurationSection config) {
+        shutdown();
+        int queueSize = ofNullable(config).map(cfg -> cfg.getInt("queueSize", DEFAULT_QUEUE_SIZE)).orElse(DEFAULT_QUEUE_SIZE);
+        int maxQueueSize = ofNullable(config).map(cfg -> cfg.getInt("maxQueueSize", queueSize * 4)).orElse(queueSize * 4);
+        long flushDelay = ofNullable(config).map(cfg -> cfg.getLong("flushDelay", DEFAULT_FLUSH_DELAY_MILLIS)).orElse(DEFAULT_FLUSH_DELAY_MILLIS);
+        queueSize = Math.max(1, queueSize);
+        instance = new PlayerArenaStatsWriter(queueSize, Math.max(queueSize, maxQueueSize), Math.max(0, flushDelay));
+    }
+
+    public static PlayerArenaStatsWriter getInstance() {
+        if (instance == null) {
+            init(null);
+        }
+        return instance;
+    }
+
+    /**
+     * Flush all pending stats and stop the writer thread. Blocks until stats are written.
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * Queue a stats diff to be added to saved stats of a player in an arena
+     * @param playerUuid the player UUID
+     * @param arenaUuid the arena UUID
+     * @param diffStats stats gained since last save, copied before being queued
+     */
+    public void enqueue(@NotNull String playerUuid, @NotNull String arenaUuid, @NotNull PlayerArenaStats diffStats) {
+        final String key = playerUuid + '/' + arenaUuid;
+        final boolean full;
+
+        synchronized (this.pendingDiffs) {
+            PlayerArenaStats pending = this.pendingDiffs.get(key);
+            if (pending == null && this.pendingDiffs.size() >= this.maxQueueSize) {
+                this.dropDiff(key);
+                return;
+            }
+            if (pending == null) {
+                pending = new PlayerArenaStats();
+                pending.setPlayerUuid(playerUuid);
+                pending.setArenaUuid(arenaUuid);
+                this.pendingDiffs.put(key, pending);
+            }
+            pending.mergeWithDiff(diffStats);
+            // while retrying a failed batch, wait for the backoff delay instead of flushing on each new diff
+            full = this.pendingDiffs.size() >= this.queueSize && this.consecutiveFailures == 0;
+
+            if (full) {
+                this.cancelScheduledFlush();
+            } else if (this.scheduledFlush == null) {
+                this.scheduledFlush = this.executor.schedule(this::flushPending, this.flushDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full) {
+            debug("Stats write queue is full, flushing now");
+            this.executor.execute(this::flushPending);
+        }
+    }
+
+    /**
+     * Write all pending stats and wait for the end of the operation
+     */
+    public void flush() {
+        try {
+            this.executor.submit(this::flushPending).get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            PVPArena.getInstance().getLogger().severe("Unable to flush statistics: " + e.getMessage());
+        }
+    }
+
+    private void close() {
+        synchronized (this.pendingDiffs) {
+            this.cancelScheduledFlush();
+        }
+        this.flush();
+        this.executor.shutdownNow();
+
+        synchronized (this.pendingDiffs) {
+            if (!this.pendingDiffs.isEmpty()) {
+                PVPArena.getInstance().getLogger().severe(String.format("%d player stats could not be saved", this.pendingDiffs.size()));
+                this.pendingDiffs.clear();
+            }
+        }
+    }
+
+    private void dropDiff(String key) {
+        if (this.droppedDiffs == 0) {
+            PVPArena.getInstance().getLogger().warning(String.format(
+                    "Stats write queue is full (%d players), stats of other players are dropped until database is back",
+                    this.maxQueueSize));
+        }
+        this.droppedDiffs++;
+        debug("Stats write queue is full, dropping stats diff of {}", key);
+    }
+
+    private long getRetryDelayMillis() {
+        final long baseDelay = Math.max(1, this.flushDelayMillis);
+        final int shift = Math.min(this.consecutiveFailures - 1, 16);
+        return Math.min(baseDelay << shift, Math.max(MAX_RETRY_DELAY_MILLIS, this.flushDelayMillis));
+    }
+
+    private void cancelScheduledFlush() {
+        if (this.scheduledFlush != null) {
+            this.scheduledFlush.cancel(false);
+            this.scheduledFlush = null;
+        }
+    }
+
+    private void flushPending() {
+        final Map<String, PlayerArenaStats> batch;
+        synchronized (this.pendingDiffs) {
+            this.scheduledFlush = null;
+            if (this.pendingDiffs.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(this.pendingDiffs);
+            this.pendingDiffs.clear();
+        }
+
+        final List<PlayerArenaStats> savedStats;
+        try {
+            savedStats = this.writeBatch(batch);
+        } catch (SQLException | RuntimeException e) {
+            // transaction is rolled back, the whole batch is written again later
+            PVPArena.getInstance().getLogger().severe("Can't save or update stats to database: " + e.getMessage());
+            this.requeue(batch);
+            return;
+        }
+        debug("{} player stats saved", batch.size());
+        this.onBatchSaved();
+        StatsLeaderboardCache.getInstance().onStatsSaved(savedStats, batch.values());
+    }
+
+    private List<PlayerArenaStats> writeBatch(Map<String, PlayerArenaStats> batch) throws SQLException {
+        final PlayerArenaStatsDao statsDao = PlayerArenaStatsDaoImpl.getInstance();
+        final Set<String> playerUuids = new HashSet<>();
+        final Set<String> arenaUuids = new HashSet<>();
+        batch.values().forEach(diff -> {
+            playerUuids.add(diff.getPlayerUuid());
+            arenaUuids.add(diff.getArenaUuid());
+        });
+
+        return TransactionManager.callInTransaction(statsDao.getConnectionSource(), () -> {
+            final List<PlayerArenaStats> result = new ArrayList<>(batch.size());
+            final Map<String, PlayerArenaStats> savedStats = new HashMap<>();
+            statsDao.findByPlayersAndArenas(playerUuids, arenaUuids)
+                    .forEach(stats -> savedStats.put(stats.getPlayerUuid() + '/' + stats.getArenaUuid(), stats));
+
+            for (Map.Entry<String, PlayerArenaStats> entry : batch.entrySet()) {
+                final PlayerArenaStats saved = savedStats.get(entry.getKey());
+                if (saved == null) {
+                    statsDao.createOrUpdate(entry.getValue());
+                    result.add(entry.getValue());
+                } else {
+                    saved.mergeWithDiff(entry.getValue());
+                    statsDao.createOrUpdate(saved);
+                    result.add(saved);
+                }
+            }
+            return result;
+        });
+    }
+
+    private void onBatchSaved() {
+        synchronized (this.pendingDiffs) {
+            this.consecutiveFailures = 0;
+            if (this.droppedDiffs > 0) {
+                PVPArena.getInstance().getLogger().warning(String.format(
+                        "%d player stats were dropped while the stats write queue was full", this.droppedDiffs));
+                this.droppedDiffs = 0;
+            }
+        }
+    }
+
+    private void requeue(Map<String, PlayerArenaStats> batch) {
+        synchronized (this.pendingDiffs) {
+            // failed batch goes first, diffs queued meanwhile are merged into it or appended while there is room
+            final Map<String, PlayerArenaStats> requeued = new LinkedHashMap<>(batch);
+            requeued.forEach((key, diff) -> {
+                // id may have been generated by the rolled back insert
+                diff.setId(null);
+                final PlayerArenaStats pending = this.pendingDiffs.remove(key);
+                if (pending != null) {
+                    diff.mergeWithDiff(pending);
+                }
+            });
+            this.pendingDiffs.forEach((key, pending) -> {
+                if (requeued.size() < this.maxQueueSize) {
+                    requeued.put(key, pending);
+                } else {
+                    this.dropDiff(key);
+                }
+            });
+            this.pendingDiffs.clear();
+            this.pendingDiffs.putAll(requeued);
+
+            this.consecutiveFailures++;
+            this.cancelScheduledFlush();
+            if (!this.executor.isShutdown()) {
+                final long retryDelay = this.getRetryDelayMillis();
+                debug("Retrying to save {} player stats in {}ms", this.pendingDiffs.size(), retryDelay);
+                this.scheduledFlush = this.executor.schedule(this::flushPending, retryDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package net.slipcor.pvparena.statistics;
+
+import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDao;
+import net.slipcor.pvparena.statistics.dao.PlayerArenaStatsDaoImpl;
+import net.slipcor.pvparena.statistics.model.LeaderboardEntry;
+import net.slipcor.pvparena.statistics.model.PlayerArenaStats;
+import net.slipcor.pvparena.statistics.model.StatEntry;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static java.util.Optional.ofNullable;
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * Materialized top-N leaderboards of player statistics, by stat type and by arena (or for all arenas)
+ *
+ * Leaderboards are only read and written by a background thread, callers never wait for the database. Global
+ * leaderboards are loaded at startup, other ones the first time they're requested (missing until then), then they're
+ * kept up to date from stats saved by {@link PlayerArenaStatsWriter}. As stats can only grow, arena leaderboards
+ * stay exact. Global leaderboards only update players they already contain, so all loaded leaderboards are also
+ * reloaded on a regular basis.
+ */
+public final class StatsLeaderboardCache {
+    private static final String GLOBAL_SCOPE = "";
+    private static final int DEFAULT_SIZE = 100;
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 300;
+
+    private static StatsLeaderboardCache instance;
+
+    private final int size;
+    private final ScheduledExecutorService executor;
+    private final Map<String, Map<StatEntry, List<LeaderboardEntry>>> leaderboards = new ConcurrentHashMap<>();
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    private final AtomicLong version = new AtomicLong();
+
+    private StatsLeaderboardCache(int size, long refreshIntervalSeconds) {
+        this.size = size;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-Leaderboards");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (refreshIntervalSeconds > 0) {
+            this.executor.scheduleWithFixedDelay(this::refreshAll, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Start the cache with the "database.leaderboard" settings of the global config
+     * @param config leaderboard config section, can be null
+     */
+    public static void init(ConfigurationSection config) {
+        shutdown();
+        int size = ofNullable(config).map(cfg -> cfg.getInt("size", DEFAULT_SIZE)).orElse(DEFAULT_SIZE);
+        long refreshInterval = ofNullable(config).map(cfg -> cfg.getLong("refreshInterval", DEFAULT_REFRESH_INTERVAL_SECONDS)).orElse(DEFAULT_REFRESH_INTERVAL_SECONDS);
+        instance = new StatsLeaderboardCache(Math.max(1, size), refreshInterval);
+        for (StatEntry statType : StatEntry.getStatTypes()) {
+            instance.loadAsync(GLOBAL_SCOPE, statType);
+        }
+    }
+
+    public static StatsLeaderboardCache getInstance() {
+        if (instance == null) {
+            init(null);
+        }
+        return instance;
+    }
+
+    public static void shutdown() {
+        if (instance != null) {
+            instance.executor.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * @return a number changing each time loaded leaderboards are updated
+     */
+    public long getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     * @return max number of players kept in each leaderboard
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Get best players for a stat type, never waiting for the database
+     * @param arenaUuid the arena UUID, null for all arenas
+     * @param statType the stat type
+     * @param limit max number of players, capped to the leaderboard size (see {@link #getSize()})
+     * @return leaderboard lines, best first. Empty while the leaderboard is loaded for the first time, whereas a
+     * loaded leaderboard without any stats is an empty list.
+     */
+    public Optional<List<LeaderboardEntry>> getTop(String arenaUuid, StatEntry statType, long limit) {
+        final String scope = ofNullable(arenaUuid).orElse(GLOBAL_SCOPE);
+        final Optional<List<LeaderboardEntry>> leaderboard = ofNullable(this.leaderboards.get(scope))
+                .map(scopeLeaderboards -> scopeLeaderboards.get(statType));
+        if (!leaderboard.isPresent()) {
+            this.loadAsync(scope, statType);
+        }
+        return leaderboard.map(entries -> entries.subList(0, (int) Math.min(limit, entries.size())));
+    }
+
+    private void loadAsync(String scope, StatEntry statType) {
+        final String loadingKey = scope + '|' + statType.name();
+        if (!this.loading.add(loadingKey)) {
+            return;
+        }
+        this.executor.execute(() -> {
+            try {
+                final List<LeaderboardEntry> leaderboard = Collections.unmodifiableList(query(scope, statType, this.size));
+                this.leaderboards.computeIfAbsent(scope, s -> new ConcurrentHashMap<>()).putIfAbsent(statType, leaderboard);
+                this.version.incrementAndGet();
+            } catch (RuntimeException e) {
+                PVPArena.getInstance().getLogger().warning("Unable to load stats leaderboard: " + e.getMessage());
+            } finally {
+                this.loading.remove(loadingKey);
+            }
+        });
+    }
+
+    /**
+     * Update loaded leaderboards with stats which have just been saved
+     * @param savedStats saved stats rows (totals by player and arena)
+     * @param diffs stats gained by players since previous save
+     */
+    void onStatsSaved(Collection<PlayerArenaStats> savedStats, Collection<PlayerArenaStats> diffs) {
+        final List<PlayerArenaStats> savedCopies = copy(savedStats);
+        final List<PlayerArenaStats> diffCopies = copy(diffs);
+        this.executor.execute(() -> {
+            savedCopies.forEach(saved -> this.updateScope(saved.getArenaUuid(), saved, false));
+            diffCopies.forEach(diff -> this.updateScope(GLOBAL_SCOPE, diff, true));
+            this.version.incrementAndGet();
+        });
+    }
+
+    private void updateScope(String scope, PlayerArenaStats stats, boolean isDiff) {
+        final Map<StatEntry, List<LeaderboardEntry>> scopeLeaderboards = this.leaderboards.get(scope);
+        if (scopeLeaderboards == null) {
+            return;
+        }
+        scopeLeaderboards.replaceAll((statType, leaderboard) -> {
+            final long value = stats.getValueByStatType(statType);
+            if (!isDiff) {
+                return this.upsert(leaderboard, stats.getPlayerUuid(), value);
+            }
+            // global totals are unknown for players outside of the leaderboard, they will come with next refresh
+            return leaderboard.stream()
+                    .filter(entry -> entry.getPlayerUuid().equals(stats.getPlayerUuid()))
+                    .findAny()
+                    .map(entry -> this.upsert(leaderboard, entry.getPlayerUuid(),
+                            isMaxStat(statType) ? Math.max(entry.getValue(), value) : entry.getValue() + value))
+                    .orElse(leaderboard);
+        });
+    }
+
+    private List<LeaderboardEntry> upsert(List<LeaderboardEntry> leaderboard, String playerUuid, long value) {
+        final List<LeaderboardEntry> result = new ArrayList<>(leaderboard.size() + 1);
+        boolean inserted = false;
+        for (LeaderboardEntry entry : leaderboard) {
+            if (entry.getPlayerUuid().equals(playerUuid)) {
+                continue;
+            }
+            if (!inserted && value > entry.getValue()) {
+                result.add(new LeaderboardEntry(playerUuid, value));
+                inserted = true;
+            }
+            result.add(entry);
+        }
+        if (!inserted) {
+            result.add(new LeaderboardEntry(playerUuid, value));
+        }
+        return Collections.unmodifiableList(result.size() > this.size ? result.subList(0, this.size) : result);
+    }
+
+    private void refreshAll() {
+        // query everything first, so no map lock is held during database calls
+        final Map<String, Map<StatEntry, List<LeaderboardEntry>>> refreshed = new HashMap<>();
+        try {
+            this.leaderboards.forEach((scope, scopeLeaderboards) ->
+                    scopeLeaderboards.keySet().forEach(statType ->
+                            refreshed.computeIfAbsent(scope, s -> new HashMap<>())
+                                    .put(statType, Collections.unmodifiableList(query(scope, statType, this.size)))));
+        } catch (RuntimeException e) {
+            PVPArena.getInstance().getLogger().warning("Unable to refresh stats leaderboards: " + e.getMessage());
+            return;
+        }
+        refreshed.forEach((scope, scopeLeaderboards) ->
+                this.leaderboards.computeIfAbsent(scope, s -> new ConcurrentHashMap<>()).putAll(scopeLeaderboards));
+        this.version.incrementAndGet();
+        debug("Stats leaderboards refreshed");
+    }
+
+    private static List<LeaderboardEntry> query(String scope, StatEntry statType, long limit) {
+        final PlayerArenaStatsDao statsDao = PlayerArenaStatsDaoImpl.getInstance();
+        final List<PlayerArenaStats> stats = GLOBAL_SCOPE.equals(scope)
+                ? statsDao.findBestStat(statType, limit)
+                : statsDao.findBestStatByArenaUuid(statType, scope, limit);
+        return stats.stream()
+                .map(stat -> new LeaderboardEntry(stat.getPlayerUuid(), stat.getValueByStatType(statType)))
+                .collect(Collectors.toList());
+    }
+
+    private static List<PlayerArenaStats> copy(Collection<PlayerArenaStats> statsList) {
+        return statsList.stream().map(stats -> {
+            final PlayerArenaStats copy = new PlayerArenaStats();
+            copy.setPlayerUuid(stats.getPlayerUuid());
+            copy.setArenaUuid(stats.getArenaUuid());
+            copy.mergeWithDiff(stats);
+            return copy;
+        }).collect(Collectors.toList());
+    }
+
+    private static boolean isMaxStat(StatEntry statType) {
+        return statType == StatEntry.MAX_DAMAGE || statType == StatEntry.MAX_DAMAGE_TAKEN;
+    }
+}
@@ -0,0 +1,449 @@
+package net.slipcor.pvparena.statistics.connector;
+
+import net.slipcor.pvparena.PVPArena;
+import org.bukkit.configuration.ConfigurationSection;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.logging.Logger;
+
+import static java.util.Optional.ofNullable;
+import static net.slipcor.pvparena.config.Debugger.debug;
+
+/**
+ * Simple JDBC connection pool, used by stats and ELO databases
+ *
+ * Connections are borrowed without any validation round trip. Idle connections are checked on a background thread,
+ * closed when invalid or too old, and the pool is refilled up to its minimum size. Closing a borrowed connection
+ * gives it back to the pool.
+ */
+public class ConnectionPool implements DataSource {
+
+    /**
+     * Upper bounds (in milliseconds) of wait time histogram buckets. Last bucket counts everything above.
+     */
+    public static final long[] WAIT_TIME_BUCKETS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final Map<String, ConnectionPool> POOLS = new LinkedHashMap<>();
+
+    private final String name;
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+    private final Settings settings;
+
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService maintenanceExecutor;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger totalCount = new AtomicInteger();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLongArray waitTimeHistogram = new AtomicLongArray(WAIT_TIME_BUCKETS.length + 1);
+
+    private volatile boolean closed;
+    private int references;
+
+    public ConnectionPool(String name, String jdbcUrl, String user, String password, Settings settings) {
+        this.name = name;
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxSize, true);
+        this.maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PVPArena-Pool-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.maintenanceExecutor.execute(this::fillToMinimum);
+        this.maintenanceExecutor.scheduleWithFixedDelay(this::validateIdleConnections,
+                settings.validationIntervalMillis, settings.validationIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the pool registered with this name or create it. Each call must be balanced with a {@link #release} call.
+     * @param name pool name, pools with same name are shared
+     * @param jdbcUrl JDBC url
+     * @param user database user, null if none
+     * @param password database password
+     * @param settings pool settings, only used if the pool is created
+     * @return the shared pool
+     */
+    public static ConnectionPool acquire(String name, String jdbcUrl, String user, String password, Settings settings) {
+        synchronized (POOLS) {
+            ConnectionPool pool = POOLS.get(name);
+            if (pool == null) {
+                pool = new ConnectionPool(name, jdbcUrl, user, password, settings);
+                POOLS.put(name, pool);
+                debug("Connection pool {} created ({} to {} connections)", name, settings.minSize, settings.maxSize);
+            }
+            pool.references++;
+            return pool;
+        }
+    }
+
+    /**
+     * Release a pool obtained by {@link #acquire}. The pool is closed when it's not used anymore.
+     * @param pool the pool to release
+     */
+    public static void release(ConnectionPool pool) {
+        synchronized (POOLS) {
+            pool.references--;
+            if (pool.references <= 0 && POOLS.get(pool.name) == pool) {
+                POOLS.remove(pool.name);
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * @return a snapshot of all registered pools
+     */
+    public static List<ConnectionPool> getPools() {
+        synchronized (POOLS) {
+            return new ArrayList<>(POOLS.values());
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Settings getSettings() {
+        return this.settings;
+    }
+
+    public int getActiveCount() {
+        return this.activeCount.get();
+    }
+
+    public int getIdleCount() {
+        return this.idleConnections.size();
+    }
+
+    public int getTotalCount() {
+        return this.totalCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return this.timeoutCount.get();
+    }
+
+    public long getEvictedCount() {
+        return this.evictedCount.get();
+    }
+
+    /**
+     * @return number of borrowed connections for each bucket of {@link #WAIT_TIME_BUCKETS}, plus an overflow bucket
+     */
+    public long[] getWaitTimeHistogram() {
+        long[] result = new long[this.waitTimeHistogram.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.waitTimeHistogram.get(i);
+        }
+        return result;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (this.closed) {
+            throw new SQLException(String.format("Connection pool %s is closed", this.name));
+        }
+
+        final long start = System.nanoTime();
+        try {
+            if (!this.permits.tryAcquire(this.settings.connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                this.timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException(String.format("No connection available in pool %s after %dms",
+                        this.name, this.settings.connectionTimeoutMillis));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        this.recordWaitTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        try {
+            PooledConnection pooledConnection = this.idleConnections.pollFirst();
+            while (pooledConnection != null && pooledConnection.isExpired(this.settings.maxLifetimeMillis)) {
+                this.discard(pooledConnection);
+                pooledConnection = this.idleConnections.pollFirst();
+            }
+            if (pooledConnection == null) {
+                pooledConnection = this.openConnection();
+            }
+            this.activeCount.incrementAndGet();
+            return this.createHandle(pooledConnection);
+        } catch (SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use configured credentials");
+    }
+
+    /**
+     * Close all idle connections and stop background validation. Borrowed connections are closed when given back.
+     */
+    private void close() {
+        this.closed = true;
+        this.maintenanceExecutor.shutdownNow();
+        PooledConnection pooledConnection;
+        while ((pooledConnection = this.idleConnections.pollFirst()) != null) {
+            this.discard(pooledConnection);
+        }
+        debug("Connection pool {} closed", this.name);
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        final Connection connection = (this.user == null)
+                ? DriverManager.getConnection(this.jdbcUrl)
+                : DriverManager.getConnection(this.jdbcUrl, this.user, this.password);
+        this.totalCount.incrementAndGet();
+        return new PooledConnection(connection);
+    }
+
+    private void giveBack(PooledConnection pooledConnection) {
+        this.activeCount.decrementAndGet();
+        try {
+            // trim connections opened beyond max size while idle ones were being validated
+            if (this.closed || pooledConnection.connection.isClosed() || this.isOverMaxSize()) {
+                this.discard(pooledConnection);
+                return;
+            }
+            if (!pooledConnection.connection.getAutoCommit()) {
+                pooledConnection.connection.rollback();
+                pooledConnection.connection.setAutoCommit(true);
+            }
+            this.putBackIdle(pooledConnection);
+        } catch (SQLException e) {
+            this.discard(pooledConnection);
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooledConnection) {
+        this.totalCount.decrementAndGet();
+        try {
+            pooledConnection.connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void validateIdleConnections() {
+        // check idle connections one at a time, so the others can still be borrowed meanwhile. Oldest idle
+        // connections are taken first, the ones in use are validated when they come back next time
+        final int idleCount = this.idleConnections.size();
+        for (int i = 0; i < idleCount && !this.closed; i++) {
+            final PooledConnection pooledConnection = this.idleConnections.pollLast();
+            if (pooledConnection == null) {
+                break;
+            }
+            if (this.isOverMaxSize() || !this.isUsable(pooledConnection)) {
+                this.evictedCount.incrementAndGet();
+                this.discard(pooledConnection);
+            } else {
+                this.putBackIdle(pooledConnection);
+            }
+        }
+        this.fillToMinimum();
+    }
+
+    private boolean isOverMaxSize() {
+        return this.totalCount.get() > this.settings.maxSize;
+    }
+
+    /**
+     * Make a connection available again, closing it instead if the pool has been closed meanwhile
+     * @param pooledConnection an open connection
+     */
+    private void putBackIdle(PooledConnection pooledConnection) {
+        this.idleConnections.offerFirst(pooledConnection);
+        // close() drains idle connections after setting the flag, so a connection offered after that is removed here
+        if (this.closed && this.idleConnections.remove(pooledConnection)) {
+            this.discard(pooledConnection);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooledConnection) {
+        try {
+            return !pooledConnection.isExpired(this.settings.maxLifetimeMillis)
+                    && pooledConnection.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!this.closed && this.totalCount.get() < this.settings.minSize) {
+            try {
+                this.putBackIdle(this.openConnection());
+            } catch (SQLException e) {
+                PVPArena.getInstance().getLogger().warning(String.format("Can't open connection for pool %s: %s", this.name, e.getMessage()));
+                return;
+            }
+        }
+    }
+
+    private void recordWaitTime(long waitMillis) {
+        int bucket = 0;
+        while (bucket < WAIT_TIME_BUCKETS.length && waitMillis > WAIT_TIME_BUCKETS[bucket]) {
+            bucket++;
+        }
+        this.waitTimeHistogram.incrementAndGet(bucket);
+    }
+
+    private Connection createHandle(PooledConnection pooledConnection) {
+        final boolean[] released = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!released[0]) {
+                                released[0] = true;
+                                this.giveBack(pooledConnection);
+                            }
+                            return null;
+                        case "isClosed":
+                            return released[0] || pooledConnection.connection.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return String.format("Pooled[%s] %s", this.name, pooledConnection.connection);
+                        default:
+                            if (released[0]) {
+                                throw new SQLException("Connection has been given back to the pool");
+                            }
+                            try {
+                                return method.invoke(pooledConnection.connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private static final class PooledConnection {
+        private final Connection connection;
+        private final long creationTime = System.currentTimeMillis();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        private boolean isExpired(long maxLifetimeMillis) {
+            return maxLifetimeMillis > 0 && System.currentTimeMillis() - this.creationTime > maxLifetimeMillis;
+        }
+    }
+
+    /**
+     * Pool sizing and timing settings
+     */
+    public static final class Settings {
+        private final int minSize;
+        private final int maxSize;
+        private final long connectionTimeoutMillis;
+        private final long validationIntervalMillis;
+        private final long maxLifetimeMillis;
+
+        public Settings(int minSize, int maxSize, long connectionTimeoutMillis, long validationIntervalMillis, long maxLifetimeMillis) {
+            this.maxSize = Math.max(1, maxSize);
+            this.minSize = Math.max(0, Math.min(minSize, this.maxSize));
+            this.connectionTimeoutMillis = Math.max(0, connectionTimeoutMillis);
+            this.validationIntervalMillis = Math.max(1000, validationIntervalMillis);
+            this.maxLifetimeMillis = Math.max(0, maxLifetimeMillis);
+        }
+
+        /**
+         * Read pool settings from a config section: minSize, maxSize, connectionTimeout (ms),
+         * validationInterval (s) and maxLifetime (s)
+         * @param section pool config section, can be null
+         * @param defaultMaxSize max size if not set in config
+         * @return pool settings
+         */
+        public static Settings fromConfig(ConfigurationSection section, int defaultMaxSize) {
+            return ofNullable(section)
+                    .map(cfg -> new Settings(
+                            cfg.getInt("minSize", 1),
+                            cfg.getInt("maxSize", defaultMaxSize),
+                            cfg.getLong("connectionTimeout", 5000),
+                            cfg.getLong("validationInterval", 30) * 1000,
+                            cfg.getLong("maxLifetime", 300) * 1000))
+                    .orElseGet(() -> new Settings(1, defaultMaxSize, 5000, 30_000, 300_000));
+        }
+
+        public int getMinSize() {
+            return this.minSize;
+        }
+
+        public int getMaxSize() {
+            return this.maxSize;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package net.slipcor.pvparena.statistics.connector;
 
-import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.jdbc.DataSourceConnectionSource;
 import com.j256.ormlite.logger.Level;
 import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.TableUtils;
 import net.slipcor.pvparena.PVPArena;
 import net.slipcor.pvparena.config.Debugger;
@@ -15,20 +16,42 @@ import java.sql.SQLException;
  * SQLite, etc.)
  */
 public abstract class DatabaseConnector {
-    // only keep the connections open for 5 minutes
-    protected static final int MAX_CONNECTION_AGE_MILLIS = 300_000;
-    protected JdbcConnectionSource connectionSource;
+    protected final ConnectionPool.Settings poolSettings;
+    protected ConnectionSource connectionSource;
+    protected ConnectionPool pool;
 
-    protected DatabaseConnector() {}
+    protected DatabaseConnector(ConnectionPool.Settings poolSettings) {
+        this.poolSettings = poolSettings;
+    }
 
-    public JdbcConnectionSource getConnection() {
+    public ConnectionSource getConnection() {
         if (this.connectionSource == null) {
             this.connectionSource = this.openConnection();
         }
         return this.connectionSource;
     }
 
-    protected abstract JdbcConnectionSource openConnection();
+    protected abstract ConnectionSource openConnection();
+
+    /**
+     * Create an ORMLite connection source backed by a shared connection pool
+     * @param poolName name of the pool
+     * @param jdbcUrl JDBC url
+     * @param user database user, null if none
+     * @param password database password
+     * @return connection source
+     * @throws SQLException if connection source can't be created
+     */
+    protected ConnectionSource openPooledConnection(String poolName, String jdbcUrl, String user, String password) throws SQLException {
+        this.pool = ConnectionPool.acquire(poolName, jdbcUrl, user, password, this.poolSettings);
+        try {
+            return new DataSourceConnectionSource(this.pool, jdbcUrl);
+        } catch (SQLException e) {
+            ConnectionPool.release(this.pool);
+            this.pool = null;
+            throw e;
+        }
+    }
 
     public void closeConnection() {
         if (this.connectionSource != null) {
@@ -38,7 +61,11 @@ public abstract class DatabaseConnector {
                 PVPArena.getInstance().getLogger().severe("There was an exception when closing database connection: " + e.getMessage());
             }
         }
+        if (this.pool != null) {
+            ConnectionPool.release(this.pool);
+        }
         this.connectionSource = null;
+        this.pool = null;
     }
 
     public void initDatabase() {
@@ -1,6 +1,6 @@
 package net.slipcor.pvparena.statistics.connector;
 
-import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
 import net.slipcor.pvparena.PVPArena;
 import org.bukkit.configuration.ConfigurationSection;
 
@@ -17,8 +17,8 @@ public class MySqlConnector extends DatabaseConnector {
     private final String hostname;
     private final String ssl;
 
-    public MySqlConnector(ConfigurationSection mysqlConfig) {
-        super();
+    public MySqlConnector(ConfigurationSection mysqlConfig, ConnectionPool.Settings poolSettings) {
+        super(poolSettings);
         this.hostname = mysqlConfig.getString("hostname");
         this.port = mysqlConfig.getString("port");
         this.database = mysqlConfig.getString("database");
@@ -28,20 +28,11 @@ public class MySqlConnector extends DatabaseConnector {
     }
 
     @Override
-    public JdbcPooledConnectionSource openConnection() {
+    public ConnectionSource openConnection() {
 
-        JdbcPooledConnectionSource connectionSource = null;
+        ConnectionSource connectionSource = null;
         try {
-            // pooled connection source
-            connectionSource = new JdbcPooledConnectionSource(this.buildJdbcString(), this.user, this.password);
-
-            connectionSource.setMaxConnectionAgeMillis(MAX_CONNECTION_AGE_MILLIS);
-            // change the check-every milliseconds from 30 seconds to 60
-            // connectionSource.setCheckConnectionsEveryMillis(60 * 1000);
-            // for extra protection, enable the testing of connections
-            // right before they are handed to the user
-            // connectionSource.setTestBeforeGet(true);
-
+            connectionSource = this.openPooledConnection("stats", this.buildJdbcString(), this.user, this.password);
         } catch (SQLException e) {
             PVPArena.getInstance().getLogger().warning("Can't open Mysql connection: " + e.getMessage());
         }
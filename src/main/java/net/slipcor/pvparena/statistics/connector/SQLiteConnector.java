@@ -1,6 +1,6 @@
 package net.slipcor.pvparena.statistics.connector;
 
-import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
 import net.slipcor.pvparena.PVPArena;
 import org.bukkit.plugin.Plugin;
 
@@ -17,12 +17,12 @@ public class SQLiteConnector extends DatabaseConnector {
     /**
      * Creates a new SQLite instance
      */
-    public SQLiteConnector() {
-        super();
+    public SQLiteConnector(ConnectionPool.Settings poolSettings) {
+        super(poolSettings);
     }
 
     @Override
-    public JdbcPooledConnectionSource openConnection() {
+    public ConnectionSource openConnection() {
         Plugin plugin = PVPArena.getInstance();
 
         final File file = new File(plugin.getDataFolder(), FILE_NAME);
@@ -37,12 +37,10 @@ public class SQLiteConnector extends DatabaseConnector {
             }
         }
 
-        JdbcPooledConnectionSource connection = null;
+        ConnectionSource connection = null;
         try {
-            // pooled connection source
             String jdbcUri = String.format("jdbc:sqlite:%s/%s", plugin.getDataFolder().toPath(), FILE_NAME);
-            connection = new JdbcPooledConnectionSource(jdbcUri);
-            connection.setMaxConnectionAgeMillis(MAX_CONNECTION_AGE_MILLIS);
+            connection = this.openPooledConnection("stats", jdbcUri, null, null);
 
         } catch (SQLException e) {
             PVPArena.getInstance().getLogger().severe( "Can't open Sqlite connection: " + e.getMessage());
@@ -7,16 +7,22 @@ import net.slipcor.pvparena.statistics.model.StatEntry;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface PlayerArenaStatsDao extends Dao<PlayerArenaStats, Long> {
     Optional<PlayerArenaStats> findByPlayerAndArena(Player player, Arena arena);
 
+    List<PlayerArenaStats> findByPlayersAndArenas(Collection<String> playerUuids, Collection<String> arenaUuids) throws SQLException;
+
     Optional<PlayerArenaStats> findStatsSumByPlayer(@NotNull Player player);
 
     List<PlayerArenaStats> findBestStatByArena(StatEntry entryName, Arena arena, Long limit);
 
+    List<PlayerArenaStats> findBestStatByArenaUuid(StatEntry entryName, String arenaUuid, Long limit);
+
     List<PlayerArenaStats> findBestStat(StatEntry entryName, Long limit);
 
     void save(@NotNull PlayerArenaStats playerArenaStats);
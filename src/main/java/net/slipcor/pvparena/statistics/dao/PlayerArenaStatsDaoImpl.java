@@ -15,6 +15,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -61,6 +62,22 @@ public class PlayerArenaStatsDaoImpl extends BaseDaoImpl<PlayerArenaStats, Long>
         }
     }
 
+    @Override
+    public List<PlayerArenaStats> findByPlayersAndArenas(Collection<String> playerUuids, Collection<String> arenaUuids)
+            throws SQLException {
+        debug("Getting stats of {} players for {} arenas", playerUuids.size(), arenaUuids.size());
+
+        // errors are left to the caller: treating them as "no stats" would insert duplicate rows
+        PreparedQuery<PlayerArenaStats> preparedQuery = super.queryBuilder()
+                .where()
+                .in(StatEntry.PLAYER_UUID.getColumn(), playerUuids)
+                .and()
+                .in(StatEntry.ARENA_UUID.getColumn(), arenaUuids)
+                .prepare();
+
+        return super.query(preparedQuery);
+    }
+
     public Optional<PlayerArenaStats> findStatsSumByPlayer(@NotNull Player player) {
         PlayerArenaStats playerArenaStats = null;
         debug("Getting player {} stats for ALL arena", player);
@@ -86,13 +103,16 @@ public class PlayerArenaStatsDaoImpl extends BaseDaoImpl<PlayerArenaStats, Long>
 
     public List<PlayerArenaStats> findBestStatByArena(StatEntry entryName, Arena arena, Long limit) {
         debug("Getting stats ({}) for arena {}", entryName, arena.getName());
+        return this.findBestStatByArenaUuid(entryName, arena.getConfig().getString(Config.CFG.ID), limit);
+    }
 
+    public List<PlayerArenaStats> findBestStatByArenaUuid(StatEntry entryName, String arenaUuid, Long limit) {
         try {
             PreparedQuery<PlayerArenaStats> preparedQuery = super.queryBuilder()
                     .orderBy(entryName.getColumn(), false)
                     .limit(limit)
                     .where()
-                    .eq(StatEntry.ARENA_UUID.getColumn(), arena.getConfig().getString(Config.CFG.ID))
+                    .eq(StatEntry.ARENA_UUID.getColumn(), arenaUuid)
                     .prepare();
 
             return super.query(preparedQuery);
@@ -0,0 +1,30 @@
+package net.slipcor.pvparena.statistics.model;
+
+import org.bukkit.Bukkit;
+
+import java.util.UUID;
+
+/**
+ * A line of a stat leaderboard: a player and its value for the ranked stat
+ */
+public class LeaderboardEntry {
+    private final String playerUuid;
+    private final long value;
+
+    public LeaderboardEntry(String playerUuid, long value) {
+        this.playerUuid = playerUuid;
+        this.value = value;
+    }
+
+    public String getPlayerUuid() {
+        return this.playerUuid;
+    }
+
+    public long getValue() {
+        return this.value;
+    }
+
+    public String getPlayerName() {
+        return Bukkit.getOfflinePlayer(UUID.fromString(this.playerUuid)).getName();
+    }
+}
@@ -0,0 +1,149 @@
+package net.slipcor.pvparena.arena;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArenaClassTest {
+
+    private ServerMock server;
+
+    @BeforeEach
+    void beforeEach() {
+        this.server = MockBukkit.mock();
+    }
+
+    @AfterEach
+    void afterEach() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void shouldPutArmorInStorageWhenSlotIsTaken() {
+        // Given
+        final ArenaClass arenaClass = new ArenaClass("test",
+                new ItemStack[]{
+                        new ItemStack(Material.DIAMOND_HELMET), new ItemStack(Material.DIAMOND_SWORD),
+                        new ItemStack(Material.IRON_LEGGINGS), new ItemStack(Material.IRON_CHESTPLATE)},
+                null,
+                new ItemStack[]{new ItemStack(Material.IRON_HELMET), new ItemStack(Material.IRON_CHESTPLATE)});
+        final PlayerMock player = this.server.addPlayer();
+
+        // When
+        arenaClass.equip(player);
+
+        // Then
+        final PlayerInventory inventory = player.getInventory();
+        assertSlot(inventory.getHelmet(), Material.IRON_HELMET, 1);
+        assertSlot(inventory.getChestplate(), Material.IRON_CHESTPLATE, 1);
+        assertSlot(inventory.getLeggings(), Material.IRON_LEGGINGS, 1);
+        assertEmpty(inventory.getBoots());
+        final ItemStack[] storage = inventory.getStorageContents();
+        assertSlot(storage[0], Material.DIAMOND_HELMET, 1);
+        assertSlot(storage[1], Material.DIAMOND_SWORD, 1);
+        assertSlot(storage[2], Material.IRON_CHESTPLATE, 1);
+        assertEmptyFrom(storage, 3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldSplitStacksAboveMaxSize(boolean inventoryInUse) {
+        // Given
+        final ArenaClass arenaClass = new ArenaClass("test",
+                new ItemStack[]{
+                        new ItemStack(Material.ARROW, 100), new ItemStack(Material.COBBLESTONE, 10),
+                        new ItemStack(Material.ARROW, 40)},
+                null,
+                new ItemStack[0]);
+        final PlayerMock player = this.server.addPlayer();
+        if (inventoryInUse) {
+            // items are then added one by one instead of the prepared kit
+            player.getInventory().setItemInOffHand(new ItemStack(Material.STICK));
+        }
+
+        // When
+        arenaClass.equip(player);
+
+        // Then
+        final ItemStack[] storage = player.getInventory().getStorageContents();
+        assertSlot(storage[0], Material.ARROW, 64);
+        assertSlot(storage[1], Material.ARROW, 64);
+        assertSlot(storage[2], Material.COBBLESTONE, 10);
+        assertSlot(storage[3], Material.ARROW, 12);
+        assertEmptyFrom(storage, 4);
+        assertEmpty(player.getInventory().getItemInOffHand());
+    }
+
+    @Test
+    void shouldMergeIntoPartialStacksOfSmallerMaxSize() {
+        // Given
+        final ArenaClass arenaClass = new ArenaClass("test",
+                new ItemStack[]{
+                        new ItemStack(Material.ENDER_PEARL, 10), new ItemStack(Material.DIAMOND_SWORD),
+                        new ItemStack(Material.ENDER_PEARL, 10), new ItemStack(Material.DIAMOND_SWORD)},
+                null,
+                new ItemStack[0]);
+        final PlayerMock player = this.server.addPlayer();
+
+        // When
+        arenaClass.equip(player);
+
+        // Then
+        // pearls stack by 16, swords don't stack
+        final ItemStack[] storage = player.getInventory().getStorageContents();
+        assertSlot(storage[0], Material.ENDER_PEARL, 16);
+        assertSlot(storage[1], Material.DIAMOND_SWORD, 1);
+        assertSlot(storage[2], Material.ENDER_PEARL, 4);
+        assertSlot(storage[3], Material.DIAMOND_SWORD, 1);
+        assertEmptyFrom(storage, 4);
+    }
+
+    @Test
+    void shouldSkipEmptySlotsAndSetOffHand() {
+        // Given
+        final ArenaClass arenaClass = new ArenaClass("test",
+                new ItemStack[]{
+                        null, new ItemStack(Material.AIR), new ItemStack(Material.BREAD, 5), null,
+                        new ItemStack(Material.BREAD, 3)},
+                new ItemStack(Material.SHIELD),
+                new ItemStack[]{null, new ItemStack(Material.GOLDEN_BOOTS)});
+        final PlayerMock player = this.server.addPlayer();
+
+        // When
+        arenaClass.equip(player);
+
+        // Then
+        final PlayerInventory inventory = player.getInventory();
+        assertSlot(inventory.getStorageContents()[0], Material.BREAD, 8);
+        assertEmptyFrom(inventory.getStorageContents(), 1);
+        assertSlot(inventory.getBoots(), Material.GOLDEN_BOOTS, 1);
+        assertEmpty(inventory.getHelmet());
+        assertSlot(inventory.getItemInOffHand(), Material.SHIELD, 1);
+    }
+
+    private static void assertSlot(ItemStack item, Material type, int amount) {
+        assertThat(item).isNotNull();
+        assertThat(item.getType()).isEqualTo(type);
+        assertThat(item.getAmount()).isEqualTo(amount);
+    }
+
+    private static void assertEmpty(ItemStack item) {
+        assertThat(item == null || item.getType() == Material.AIR).as("empty slot, found %s", item).isTrue();
+    }
+
+    private static void assertEmptyFrom(ItemStack[] items, int firstEmptySlot) {
+        for (int i = firstEmptySlot; i < items.length; i++) {
+            assertEmpty(items[i]);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.slipcor.pvparena.arena;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class ArenaPlayerRegistryTest {
+
+    private static final int PLAYERS = 50;
+    private static final int THREADS = 4;
+    private static final int LOOKUPS_PER_THREAD = 250_000;
+
+    private ServerMock server;
+    private final List<PlayerMock> players = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        this.server = MockBukkit.mock();
+        for (int i = 0; i < PLAYERS; i++) {
+            this.players.add(this.server.addPlayer());
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        this.players.forEach(player -> ArenaPlayer.fromPlayer(player).unload());
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void shouldReturnSameInstanceToConcurrentLookups() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<ArenaPlayer[]>> results = new ArrayList<>();
+
+        try {
+            // When
+            // one million lookups, the chat thread and the main thread both look players up on each event
+            assertTimeout(Duration.ofSeconds(10), () -> {
+                for (int t = 0; t < THREADS; t++) {
+                    results.add(executor.submit(this::lookUpPlayers));
+                }
+                for (Future<ArenaPlayer[]> result : results) {
+                    result.get();
+                }
+            });
+
+            // Then
+            for (Future<ArenaPlayer[]> result : results) {
+                final ArenaPlayer[] found = result.get();
+                for (int i = 0; i < PLAYERS; i++) {
+                    assertThat(found[i]).isSameAs(ArenaPlayer.fromPlayer(this.players.get(i)));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldCreateNewInstanceAfterUnload() {
+        // Given
+        final PlayerMock player = this.players.get(0);
+        final ArenaPlayer first = ArenaPlayer.fromPlayer(player);
+
+        // When
+        first.unload();
+        final ArenaPlayer second = ArenaPlayer.fromPlayer(player);
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(ArenaPlayer.fromPlayer(player)).isSameAs(second);
+    }
+
+    private ArenaPlayer[] lookUpPlayers() {
+        final ArenaPlayer[] found = new ArenaPlayer[PLAYERS];
+        for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+            final int index = i % PLAYERS;
+            final ArenaPlayer arenaPlayer = ArenaPlayer.fromPlayer(this.players.get(index));
+            if (found[index] == null) {
+                found[index] = arenaPlayer;
+            } else if (found[index] != arenaPlayer) {
+                throw new IllegalStateException("Two instances for player " + index);
+            }
+        }
+        return found;
+    }
+}
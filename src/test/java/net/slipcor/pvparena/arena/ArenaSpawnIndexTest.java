@@ -0,0 +1,160 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.classes.PABlock;
+import net.slipcor.pvparena.classes.PABlockLocation;
+import net.slipcor.pvparena.classes.PALocation;
+import net.slipcor.pvparena.classes.PASpawn;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArenaSpawnIndexTest {
+
+    private static final String WORLD = "world";
+
+    private List<PASpawn> spawns;
+    private List<PABlock> blocks;
+    private ArenaSpawnIndex index;
+
+    @BeforeEach
+    void beforeEach() {
+        this.spawns = Arrays.asList(
+                spawn("spawn", 0, null, null),
+                spawn("fight", 1, "red", null),
+                spawn("fight1", 2, "red", null),
+                spawn("fight2", 3, "red", "pyro"),
+                spawn("fight", 4, "blue", null),
+                spawn("fight1", 4, "blue", "tank"),
+                spawn("Fight3", 5, "blue", null),
+                spawn("fighter", 6, null, null),
+                spawn("lounge", 7, "red", null),
+                spawn("lounge", 8, "blue", null),
+                spawn("spectator", 9, null, null),
+                spawn("f", 10, null, null)
+        );
+        this.blocks = Arrays.asList(
+                block("flag", 0, "red"),
+                block("flag", 1, "blue"),
+                block("flag2", 2, "red"),
+                block("goal", 3, null),
+                block("Flag", 4, null)
+        );
+        this.index = new ArenaSpawnIndex(this.spawns, this.blocks);
+    }
+
+    @Test
+    void shouldFindSpawnsByCaseSensitivePrefix() {
+        assertThat(this.index.getSpawnsStartingWith("fight"))
+                .containsExactlyInAnyOrder(this.spawnsAt(1, 2, 3, 4, 5, 7));
+        assertThat(this.index.getSpawnsStartingWith("f"))
+                .containsExactlyInAnyOrder(this.spawnsAt(1, 2, 3, 4, 5, 7, 11));
+        assertThat(this.index.getSpawnsStartingWith("Fight")).containsExactly(this.spawns.get(6));
+        assertThat(this.index.getSpawnsStartingWith("")).containsExactlyInAnyOrderElementsOf(this.spawns);
+        assertThat(this.index.getSpawnsStartingWith("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldFindSpawnsOfTeam() {
+        assertThat(this.index.getSpawnsStartingWith("fight", "red")).containsExactlyInAnyOrder(this.spawnsAt(1, 2, 3));
+        assertThat(this.index.getSpawnsStartingWith("fight", "blue")).containsExactlyInAnyOrder(this.spawnsAt(4, 5));
+        assertThat(this.index.getSpawnsStartingWith("lounge", "red")).containsExactly(this.spawns.get(8));
+        assertThat(this.index.getSpawnsStartingWith("fight", "green")).isEmpty();
+        // no team means spawns without team, not spawns of any team
+        assertThat(this.index.getSpawnsStartingWith("fight", null)).containsExactly(this.spawns.get(7));
+        assertThat(this.index.getSpawnsStartingWith("", null)).containsExactlyInAnyOrder(this.spawnsAt(0, 7, 10, 11));
+    }
+
+    @Test
+    void shouldFindSpawnsOfTeamAndClass() {
+        assertThat(this.index.getSpawnsStartingWith("fight", "red", "pyro")).containsExactly(this.spawns.get(3));
+        assertThat(this.index.getSpawnsStartingWith("fight", "blue", "tank")).containsExactly(this.spawns.get(5));
+        assertThat(this.index.getSpawnsStartingWith("fight", "red", null))
+                .containsExactlyInAnyOrder(this.spawnsAt(1, 2));
+        assertThat(this.index.getSpawnsStartingWith("fight", "red", "tank")).isEmpty();
+        assertThat(this.index.getSpawnsStartingWith("spawn", null, null)).containsExactly(this.spawns.get(0));
+    }
+
+    @Test
+    void shouldFindSpawnLocations() {
+        assertThat(this.index.getSpawnLocationsStartingWith("lounge"))
+                .containsExactlyInAnyOrder(this.spawns.get(8).getPALocation(), this.spawns.get(9).getPALocation());
+        assertThat(this.index.getSpawnLocationsStartingWith("spec"))
+                .containsExactly(this.spawns.get(10).getPALocation());
+        assertThat(this.index.getSpawnLocationsStartingWith("unknown")).isEmpty();
+        // Fight3 contains "ight" although it doesn't start with "fight", the blue fight and fight1 spawns share a place
+        assertThat(this.index.getSpawnLocationsContaining("ight")).containsExactlyInAnyOrder(
+                Arrays.stream(this.spawnsAt(1, 2, 3, 4, 6, 7)).map(PASpawn::getPALocation).toArray(PALocation[]::new));
+        assertThat(this.index.getSpawnLocationsContaining("ound")).hasSize(2);
+    }
+
+    @Test
+    void shouldFindBlocksByPrefixAndTeam() {
+        assertThat(this.index.getBlocksStartingWith("flag")).containsExactlyInAnyOrder(this.blocksAt(0, 1, 2));
+        assertThat(this.index.getBlocksStartingWith("Flag")).containsExactly(this.blocks.get(4));
+        assertThat(this.index.getBlocksStartingWith("")).containsExactlyInAnyOrderElementsOf(this.blocks);
+        assertThat(this.index.getBlocksStartingWith("unknown")).isEmpty();
+
+        assertThat(this.index.getBlocksStartingWith("flag", "red")).containsExactlyInAnyOrder(this.blocksAt(0, 2));
+        assertThat(this.index.getBlocksStartingWith("flag", null)).isEmpty();
+        assertThat(this.index.getBlocksStartingWith("", null)).containsExactlyInAnyOrder(this.blocksAt(3, 4));
+        assertThat(this.index.getBlockLocationsStartingWith("flag", "blue"))
+                .containsExactly(this.blocks.get(1).getLocation());
+        assertThat(this.index.getBlockLocationsStartingWith("goal", "red")).isEmpty();
+    }
+
+    @Test
+    void shouldFindByExactName() {
+        assertThat(this.index.getSpawnByExactName("fighter")).isSameAs(this.spawns.get(7));
+        assertThat(this.index.getSpawnByExactName("FIGHTER")).isNull();
+        assertThat(this.index.getSpawnByExactName("unknown")).isNull();
+        assertThat(this.index.getBlockByExactName("goal")).isSameAs(this.blocks.get(3));
+        assertThat(this.index.getBlockByExactName("GOAL")).isNull();
+    }
+
+    @Test
+    void shouldFindByExactNameIgnoringCase() {
+        assertThat(this.index.getSpawnByExactNameIgnoreCase("FIGHT1", "Blue", "TANK")).isSameAs(this.spawns.get(5));
+        assertThat(this.index.getSpawnByExactNameIgnoreCase("fight3", "BLUE", null)).isSameAs(this.spawns.get(6));
+        assertThat(this.index.getSpawnByExactNameIgnoreCase("fight1", "blue", null)).isNull();
+        assertThat(this.index.getSpawnByExactNameIgnoreCase("spawn", null, null)).isSameAs(this.spawns.get(0));
+        assertThat(this.index.getBlockByExactNameIgnoreCase("FLAG", "Red")).isSameAs(this.blocks.get(0));
+        assertThat(this.index.getBlockByExactNameIgnoreCase("flag", null)).isSameAs(this.blocks.get(4));
+        assertThat(this.index.getBlockByExactNameIgnoreCase("flag", "green")).isNull();
+    }
+
+    @Test
+    void shouldCacheResults() {
+        // Given
+        final Set<PASpawn> fightSpawns = this.index.getSpawnsStartingWith("fight", "red");
+
+        // When
+        final Set<PASpawn> again = this.index.getSpawnsStartingWith("fight", "red");
+
+        // Then
+        assertThat(again).isSameAs(fightSpawns);
+        assertThat(this.index.getDistanceMatrix(new HashSet<>(fightSpawns)))
+                .isSameAs(this.index.getDistanceMatrix(fightSpawns));
+    }
+
+    private PASpawn[] spawnsAt(int... indexes) {
+        return Arrays.stream(indexes).mapToObj(this.spawns::get).toArray(PASpawn[]::new);
+    }
+
+    private PABlock[] blocksAt(int... indexes) {
+        return Arrays.stream(indexes).mapToObj(this.blocks::get).toArray(PABlock[]::new);
+    }
+
+    private static PASpawn spawn(String name, int x, String teamName, String className) {
+        return new PASpawn(new PALocation(WORLD, x, 64, 0, 0, 0), name, teamName, className);
+    }
+
+    private static PABlock block(String name, int x, String teamName) {
+        return new PABlock(new PABlockLocation(WORLD, x, 64, 10), name, teamName);
+    }
+}
@@ -0,0 +1,144 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.classes.PALocation;
+import net.slipcor.pvparena.classes.PASpawn;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpawnDistanceMatrixTest {
+
+    private static final String WORLD = "world";
+
+    @Test
+    void shouldTakeFarthestSpawnAndFirstOneOnTie() {
+        // Given
+        final PASpawn s0 = spawn("fight1", 0, 0);
+        final PASpawn s10 = spawn("fight2", 10, 0);
+        final PASpawn s20 = spawn("fight3", 20, 0);
+        final PASpawn s30 = spawn("fight4", 30, 0);
+        final Set<PASpawn> spawns = spawns(s0, s10, s20, s30);
+
+        // When
+        final PASpawn[] order = new SpawnDistanceMatrix(spawns).orderFarthestFirst(spawns);
+
+        // Then
+        // s10 and s20 both have a sum of 500 once s0 and s30 are taken
+        assertThat(order).containsExactly(s0, s30, s10, s20);
+    }
+
+    @Test
+    void shouldKeepSingleSpawn() {
+        // Given
+        final PASpawn spawn = spawn("fight", 5, 5);
+        final Set<PASpawn> spawns = spawns(spawn);
+
+        // When
+        final PASpawn[] order = new SpawnDistanceMatrix(spawns).orderFarthestFirst(spawns);
+
+        // Then
+        assertThat(order).containsExactly(spawn);
+    }
+
+    @Test
+    void shouldKeepOrderOfSpawnsAtSamePlace() {
+        // Given
+        final PASpawn first = spawn("fight1", 0, 0);
+        final PASpawn second = spawn("fight2", 0, 0);
+        final PASpawn third = spawn("fight3", 0, 0);
+        final PASpawn fourth = spawn("fight4", 0, 0);
+        final Set<PASpawn> spawns = spawns(first, second, third, fourth);
+
+        // When
+        final PASpawn[] order = new SpawnDistanceMatrix(spawns).orderFarthestFirst(spawns);
+
+        // Then
+        // no spawn is ever farther, the first untaken one is picked each time
+        assertThat(order).containsExactly(first, second, third, fourth);
+    }
+
+    @Test
+    void shouldSpreadOverSquareCornersBeforeCenter() {
+        // Given
+        final PASpawn corner = spawn("fight1", 0, 0);
+        final PASpawn nextCorner = spawn("fight2", 10, 0);
+        final PASpawn oppositeCorner = spawn("fight3", 10, 10);
+        final PASpawn lastCorner = spawn("fight4", 0, 10);
+        final PASpawn center = spawn("fight5", 5, 5);
+        final Set<PASpawn> spawns = spawns(corner, nextCorner, oppositeCorner, lastCorner, center);
+
+        // When
+        final PASpawn[] order = new SpawnDistanceMatrix(spawns).orderFarthestFirst(spawns);
+
+        // Then
+        assertThat(order).containsExactly(corner, oppositeCorner, nextCorner, lastCorner, center);
+    }
+
+    @Test
+    void shouldKeepFirstSpawnFirstEvenIfCentered() {
+        // Given
+        final PASpawn center = spawn("fight1", 5, 5);
+        final PASpawn corner = spawn("fight2", 0, 0);
+        final PASpawn nextCorner = spawn("fight3", 10, 0);
+        final PASpawn oppositeCorner = spawn("fight4", 10, 10);
+        final PASpawn lastCorner = spawn("fight5", 0, 10);
+        final Set<PASpawn> spawns = spawns(center, corner, nextCorner, oppositeCorner, lastCorner);
+
+        // When
+        final PASpawn[] order = new SpawnDistanceMatrix(spawns).orderFarthestFirst(spawns);
+
+        // Then
+        // all corners are as far from the center, the first one wins
+        assertThat(order).containsExactly(center, corner, oppositeCorner, nextCorner, lastCorner);
+    }
+
+    @Test
+    void shouldCountDistancesToEveryTakenSpawn() {
+        // Given
+        final PASpawn origin = spawn("fight1", 0, 0);
+        final PASpawn far = spawn("fight2", 30, 0);
+        final PASpawn sameAsFar = spawn("fight3", 30, 0);
+        final PASpawn middle = spawn("fight4", 15, 0);
+        final PASpawn behind = spawn("fight5", -15, 0);
+        final Set<PASpawn> spawns = spawns(origin, far, sameAsFar, middle, behind);
+
+        // When
+        final PASpawn[] order = new SpawnDistanceMatrix(spawns).orderFarthestFirst(spawns);
+
+        // Then
+        // once origin and far are taken, sameAsFar scores 900 + 0 and behind 225 + 2025
+        assertThat(order).containsExactly(origin, far, behind, sameAsFar, middle);
+    }
+
+    @Test
+    void shouldOrderSubsetOfMatrixSpawns() {
+        // Given
+        final PASpawn s0 = spawn("fight1", 0, 0);
+        final PASpawn s10 = spawn("fight2", 10, 0);
+        final PASpawn s20 = spawn("fight3", 20, 0);
+        final PASpawn s30 = spawn("fight4", 30, 0);
+        final SpawnDistanceMatrix matrix = new SpawnDistanceMatrix(spawns(s0, s10, s20, s30));
+
+        // When
+        final PASpawn[] order = matrix.orderFarthestFirst(spawns(s30, s10, s20));
+
+        // Then
+        // s0 isn't part of the subset, so it doesn't count
+        assertThat(order).containsExactly(s30, s10, s20);
+    }
+
+    private static PASpawn spawn(String name, double x, double z) {
+        return new PASpawn(new PALocation(WORLD, x, 64, z, 0, 0), name, "red", null);
+    }
+
+    private static Set<PASpawn> spawns(PASpawn... spawns) {
+        final Set<PASpawn> result = new LinkedHashSet<>();
+        for (PASpawn spawn : spawns) {
+            result.add(spawn);
+        }
+        return result;
+    }
+}
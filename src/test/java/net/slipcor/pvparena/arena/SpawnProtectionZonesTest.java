@@ -0,0 +1,110 @@
+package net.slipcor.pvparena.arena;
+
+import net.slipcor.pvparena.arena.SpawnProtectionZones.Zone;
+import net.slipcor.pvparena.classes.PALocation;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpawnProtectionZonesTest {
+
+    private static final String WORLD = "world";
+    private static final String OTHER_WORLD = "world_nether";
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private World world;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private World otherWorld;
+
+    @BeforeEach
+    void beforeEach() {
+        when(this.world.getName()).thenReturn(WORLD);
+        when(this.otherWorld.getName()).thenReturn(OTHER_WORLD);
+    }
+
+    @Test
+    void shouldCountSpawnsOfSameWorldInRange() {
+        // Given
+        final PALocation spawn = new PALocation(WORLD, 0, 64, 0, 0, 0);
+        final PALocation sameSpawn = new PALocation(WORLD, 0, 64, 0, 0, 0);
+        final PALocation otherSpawn = new PALocation(WORLD, 10, 64, 0, 0, 0);
+        final PALocation otherWorldSpawn = new PALocation(OTHER_WORLD, 0, 64, 0, 0, 0);
+        final List<PALocation> spawns = Arrays.asList(spawn, sameSpawn, otherSpawn, otherWorldSpawn);
+        final Zone zone = new Zone(spawns, 3, true);
+        final Zone wideZone = new Zone(spawns, 10, true);
+
+        // Then
+        // spawns sharing a place are each counted
+        assertThat(zone.countSpawnsInRange(new Location(this.world, 0, 64, 0))).isEqualTo(2);
+        assertThat(zone.countSpawnsInRange(new Location(this.world, 1, 65, 1))).isEqualTo(2);
+        assertThat(zone.countSpawnsInRange(new Location(this.world, 10, 64, 2))).isOne();
+        assertThat(zone.countSpawnsInRange(new Location(this.world, 5, 64, 0))).isZero();
+        assertThat(zone.countSpawnsInRange(new Location(this.world, -2.5, 62.5, 0.5))).isEqualTo(2);
+        assertThat(zone.countSpawnsInRange(new Location(this.otherWorld, 0, 64, 0))).isOne();
+        assertThat(wideZone.countSpawnsInRange(new Location(this.world, 5, 64, 0))).isEqualTo(3);
+        assertThat(wideZone.countSpawnsInRange(new Location(this.world, 5, 64, 9))).isZero();
+    }
+
+    @ParameterizedTest
+    @MethodSource("ranges")
+    void shouldHandleLocationsExactlyAtRange(double range, boolean inclusive) {
+        // Given
+        final PALocation spawn = new PALocation(WORLD, -16, 64, 32, 0, 0);
+        final Zone zone = new Zone(Collections.singletonList(spawn), range, inclusive);
+        final List<Location> atRange = Arrays.asList(
+                new Location(this.world, -16 + range, 64, 32),
+                new Location(this.world, -16 - range, 64, 32),
+                new Location(this.world, -16, 64, 32 + range),
+                new Location(this.world, -16, 64, 32 - range),
+                new Location(this.world, -16, 64 + range, 32));
+
+        for (Location location : atRange) {
+            // When
+            final int count = zone.countSpawnsInRange(location);
+
+            // Then
+            assertThat(count).as("spawn at range of %s", location).isEqualTo(inclusive ? 1 : 0);
+        }
+    }
+
+    @Test
+    void shouldNotFindSpawnsWithoutWorldOrSpawns() {
+        // Given
+        final Zone zone = new Zone(Collections.singletonList(new PALocation(WORLD, 0, 64, 0, 0, 0)), 3, true);
+        final Zone emptyZone = new Zone(Collections.emptyList(), 3, true);
+
+        // Then
+        assertThat(zone.countSpawnsInRange(new Location(null, 0, 64, 0))).isZero();
+        assertThat(emptyZone.countSpawnsInRange(new Location(this.world, 0, 64, 0))).isZero();
+        assertThat(zone.countSpawnsInRange(new Location(this.world, 0, 64, 0))).isOne();
+    }
+
+    private static Stream<Arguments> ranges() {
+        return Stream.of(
+                // spawn protection
+                Arguments.of(3.0, true),
+                Arguments.of(10.0, true),
+                Arguments.of(0.5, true),
+                Arguments.of(0.0, true),
+                // spawn camping
+                Arguments.of(3.0, false)
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.core.Config.CFG;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+class ConfigTest {
+
+    private static final int READS = 1_000_000;
+
+    private Config config;
+
+    @BeforeEach
+    void beforeEach() {
+        // values are only read and set in memory, the file is never written
+        this.config = new Config(new File("test-arena.yml"));
+    }
+
+    @Test
+    void shouldReturnDefaultsOfUnsetNodes() {
+        assertThat(this.config.getBoolean(CFG.PERMS_TEAMKILL)).isTrue();
+        assertThat(this.config.getInt(CFG.PROTECT_SPAWN)).isZero();
+        assertThat(this.config.getInt(CFG.GOAL_DOM_CLAIMRANGE)).isEqualTo(3);
+        // explicit default wins over the node default if the node isn't set
+        assertThat(this.config.getInt(CFG.GOAL_DOM_CLAIMRANGE, 5)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldReadValuesSetAfterFirstRead() {
+        // Given
+        assertThat(this.config.getInt(CFG.PROTECT_SPAWN)).isZero();
+        final long revision = this.config.getRevision();
+
+        // When
+        this.config.set(CFG.PROTECT_SPAWN, 7);
+        this.config.set(CFG.PERMS_TEAMKILL, false);
+
+        // Then
+        assertThat(this.config.getRevision()).isGreaterThan(revision);
+        assertThat(this.config.getInt(CFG.PROTECT_SPAWN)).isEqualTo(7);
+        assertThat(this.config.getInt(CFG.PROTECT_SPAWN, 5)).isEqualTo(7);
+        assertThat(this.config.getBoolean(CFG.PERMS_TEAMKILL)).isFalse();
+    }
+
+    @Test
+    void shouldFallBackToDefaultOfRemovedValues() {
+        // Given
+        this.config.set(CFG.GOAL_DOM_CLAIMRANGE, 10);
+        assertThat(this.config.getInt(CFG.GOAL_DOM_CLAIMRANGE)).isEqualTo(10);
+
+        // When
+        this.config.set(CFG.GOAL_DOM_CLAIMRANGE, null);
+
+        // Then
+        assertThat(this.config.getInt(CFG.GOAL_DOM_CLAIMRANGE)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldHandleManyReadsOfHitNodes() {
+        // Given
+        this.config.set(CFG.PROTECT_SPAWN, 4);
+        this.config.set(CFG.DAMAGE_BLOODPARTICLES, true);
+        final long[] sum = new long[1];
+
+        // When
+        // nodes read on each hit and each goal tick, a million times
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            for (int i = 0; i < READS; i++) {
+                sum[0] += this.config.getInt(CFG.PROTECT_SPAWN);
+                if (this.config.getBoolean(CFG.DAMAGE_BLOODPARTICLES) && !this.config.getBoolean(CFG.PERMS_TEAMKILL)) {
+                    sum[0]++;
+                }
+            }
+        });
+
+        // Then
+        assertThat(sum[0]).isEqualTo(4L * READS);
+    }
+}
@@ -0,0 +1,187 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.PVPArena;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerStateJournalTest {
+
+    private static final byte PUT = 1;
+    private static final byte CLEAR = 2;
+
+    private static final UUID PLAYER_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID PLAYER_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID PLAYER_C = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+
+    @AutoClose
+    private MockedStatic<PVPArena> pvpArenaMock;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private PVPArena plugin;
+
+    @Mock
+    private Logger logger;
+
+    @TempDir
+    private File folder;
+
+    private Path journalPath;
+
+    @BeforeEach
+    void beforeEach() {
+        this.pvpArenaMock = Mockito.mockStatic(PVPArena.class, withSettings().strictness(Strictness.LENIENT));
+        this.pvpArenaMock.when(PVPArena::getInstance).thenReturn(this.plugin);
+        when(this.plugin.getLogger()).thenReturn(this.logger);
+        this.journalPath = new File(this.folder, "states.journal").toPath();
+    }
+
+    @AfterEach
+    void afterEach() {
+        PlayerStateJournal.shutdown();
+    }
+
+    @Test
+    void shouldReplayRecordsInOrder() throws IOException {
+        // Given
+        final byte[] content = concat(
+                record(PUT, PLAYER_A, "a1"),
+                record(PUT, PLAYER_B, "b1"),
+                record(CLEAR, PLAYER_A, ""),
+                record(PUT, PLAYER_B, "b2"),
+                record(PUT, PLAYER_C, "c1"));
+        Files.write(this.journalPath, content);
+
+        // When
+        PlayerStateJournal.init(this.folder);
+        final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+
+        // Then
+        assertThat(journal).isNotNull();
+        assertThat(journal.get(PLAYER_A)).isNull();
+        assertThat(journal.get(PLAYER_B)).isEqualTo("b2");
+        assertThat(journal.get(PLAYER_C)).isEqualTo("c1");
+        assertThat(Files.size(this.journalPath)).isEqualTo(content.length);
+        verify(this.logger, never()).warning(anyString());
+    }
+
+    @Test
+    void shouldDropRecordsFromChecksumMismatch() throws IOException {
+        // Given
+        final byte[] first = record(PUT, PLAYER_A, "a1");
+        final byte[] corrupted = record(PUT, PLAYER_B, "b1");
+        corrupted[corrupted.length - 1] ^= 0x01;
+        Files.write(this.journalPath, concat(first, corrupted, record(PUT, PLAYER_C, "c1")));
+
+        // When
+        PlayerStateJournal.init(this.folder);
+        final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+
+        // Then
+        assertThat(journal).isNotNull();
+        assertThat(journal.get(PLAYER_A)).isEqualTo("a1");
+        assertThat(journal.get(PLAYER_B)).isNull();
+        assertThat(journal.get(PLAYER_C)).isNull();
+        assertThat(Files.size(this.journalPath)).isEqualTo(first.length);
+        verify(this.logger).warning(anyString());
+    }
+
+    @Test
+    void shouldTruncateTornTail() throws IOException {
+        // Given
+        final byte[] first = record(PUT, PLAYER_A, "a1");
+        final byte[] torn = Arrays.copyOf(record(PUT, PLAYER_B, "b1"), 10);
+        Files.write(this.journalPath, concat(first, torn));
+
+        // When
+        PlayerStateJournal.init(this.folder);
+        final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+
+        // Then
+        assertThat(journal).isNotNull();
+        assertThat(journal.get(PLAYER_A)).isEqualTo("a1");
+        assertThat(journal.get(PLAYER_B)).isNull();
+        assertThat(Files.readAllBytes(this.journalPath)).isEqualTo(first);
+        verify(this.logger).warning(anyString());
+    }
+
+    @Test
+    void shouldKeepOnlyLiveStatesWhenCompacting() throws IOException {
+        // Given
+        PlayerStateJournal.init(this.folder);
+        final PlayerStateJournal journal = PlayerStateJournal.getInstanceIfStarted();
+        assertThat(journal).isNotNull();
+        journal.put(PLAYER_A, "a1");
+        journal.put(PLAYER_B, "b1");
+        journal.put(PLAYER_C, "c1");
+        journal.put(PLAYER_B, "b2");
+        journal.clear(PLAYER_A);
+        journal.clear(PLAYER_C);
+
+        // When
+        PlayerStateJournal.shutdown();
+
+        // Then
+        assertThat(Files.readAllBytes(this.journalPath)).isEqualTo(record(PUT, PLAYER_B, "b2"));
+
+        PlayerStateJournal.init(this.folder);
+        final PlayerStateJournal reopened = PlayerStateJournal.getInstanceIfStarted();
+        assertThat(reopened).isNotNull();
+        assertThat(reopened.get(PLAYER_A)).isNull();
+        assertThat(reopened.get(PLAYER_B)).isEqualTo("b2");
+        assertThat(reopened.get(PLAYER_C)).isNull();
+    }
+
+    /**
+     * Journal record layout: type, player UUID, content length, content and CRC32 of all previous fields
+     */
+    private static byte[] record(byte type, UUID playerUUID, String content) {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 8 + 4 + bytes.length + 8);
+        buffer.put(type)
+                .putLong(playerUUID.getMostSignificantBits())
+                .putLong(playerUUID.getLeastSignificantBits())
+                .putInt(bytes.length)
+                .put(bytes);
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        return buffer.array();
+    }
+
+    private static byte[] concat(byte[]... records) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (byte[] record : records) {
+            output.write(record, 0, record.length);
+        }
+        return output.toByteArray();
+    }
+}
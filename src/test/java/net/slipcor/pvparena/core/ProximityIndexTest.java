@@ -0,0 +1,96 @@
+package net.slipcor.pvparena.core;
+
+import net.slipcor.pvparena.arena.ArenaPlayer;
+import net.slipcor.pvparena.arena.ArenaTeam;
+import net.slipcor.pvparena.testUtils.ArenaPlayerTest;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProximityIndexTest {
+
+    @Mock
+    private World world;
+
+    @Mock
+    private World otherWorld;
+
+    private final ArenaTeam red = new ArenaTeam("red", "RED");
+    private final ArenaTeam blue = new ArenaTeam("blue", "BLUE");
+
+    @Test
+    void shouldFindPlayersWithinRange() {
+        // Given
+        final ArenaPlayer atCenter = this.player(this.world, 0, 64, 0, this.red);
+        final ArenaPlayer atRange = this.player(this.world, 0.5, 64, -2.5, this.blue);
+        final ArenaPlayer aboveRange = this.player(this.world, 0, 68, 0, this.blue);
+        final ArenaPlayer inNextCell = this.player(this.world, 3.5, 64, 0.5, this.blue);
+        final ArenaPlayer otherWorldPlayer = this.player(this.otherWorld, 0, 64, 0, this.blue);
+        final ProximityIndex index = ProximityIndex.sample(
+                Arrays.asList(atCenter, atRange, aboveRange, inNextCell, otherWorldPlayer), 3);
+
+        // When
+        final List<ArenaPlayer> players = index.getPlayersNear(new Location(this.world, 0.5, 64, 0.5), 3);
+
+        // Then
+        assertThat(players).containsExactlyInAnyOrder(atCenter, atRange, inNextCell);
+        assertThat(index.getTeamsNear(new Location(this.world, 0.5, 64, 0.5), 3))
+                .containsExactlyInAnyOrder(this.red, this.blue);
+        assertThat(index.getTeamsNear(new Location(this.world, -1, 64, 0), 1)).containsExactly(this.red);
+        assertThat(index.getPlayersNear(new Location(this.world, 100, 64, 100), 3)).isEmpty();
+    }
+
+    @Test
+    void shouldHandleManyGoalTicks() {
+        // Given
+        // 100 fighters spread on an arena of 200 x 200 blocks, checked against 20 flags on each tick
+        final List<ArenaPlayer> fighters = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            fighters.add(this.player(this.world, (i * 37) % 200 - 100, 64, (i * 53) % 200 - 100,
+                    (i % 2 == 0) ? this.red : this.blue));
+        }
+        final List<Location> flags = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            flags.add(new Location(this.world, (i * 41) % 200 - 100, 64, (i * 29) % 200 - 100));
+        }
+        final int[] teamsFound = new int[1];
+
+        // When
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            for (int tick = 0; tick < 10_000; tick++) {
+                final ProximityIndex index = ProximityIndex.sample(fighters, 5);
+                for (Location flag : flags) {
+                    teamsFound[0] += index.getTeamsNear(flag, 5).size();
+                }
+            }
+        });
+
+        // Then
+        final ProximityIndex index = ProximityIndex.sample(fighters, 5);
+        final int teamsPerTick = flags.stream().mapToInt(flag -> index.getTeamsNear(flag, 5).size()).sum();
+        assertThat(teamsFound[0]).isEqualTo(teamsPerTick * 10_000);
+    }
+
+    private ArenaPlayer player(World world, double x, double y, double z, ArenaTeam team) {
+        final Player player = mock(Player.class);
+        when(player.getLocation()).thenReturn(new Location(world, x, y, z));
+        final ArenaPlayerTest arenaPlayer = new ArenaPlayerTest(player);
+        arenaPlayer.setTeamMock(team);
+        return arenaPlayer;
+    }
+}
@@ -0,0 +1,114 @@
+package net.slipcor.pvparena.listeners;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.slipcor.pvparena.PVPArena;
+import net.slipcor.pvparena.arena.Arena;
+import net.slipcor.pvparena.arena.ArenaPlayer;
+import net.slipcor.pvparena.arena.ArenaTeam;
+import net.slipcor.pvparena.core.Config;
+import net.slipcor.pvparena.core.Config.CFG;
+import net.slipcor.pvparena.testUtils.ArenaPlayerTest;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AutoClose;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class EntityListenerDamageTest {
+
+    private static final int HITS = 10_000;
+
+    @AutoClose
+    private MockedStatic<ArenaPlayer> arenaPlayerMock;
+
+    @AutoClose
+    private MockedStatic<PVPArena> pluginMock;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private Config config;
+
+    @Mock
+    private PVPArena plugin;
+
+    private ServerMock server;
+
+    private PlayerMock attacker;
+    private PlayerMock teamMate;
+    private PlayerMock opponent;
+
+    @BeforeEach
+    void beforeEach() {
+        this.server = MockBukkit.mock();
+        this.pluginMock = Mockito.mockStatic(PVPArena.class);
+        this.pluginMock.when(PVPArena::getInstance).thenReturn(this.plugin);
+        this.arenaPlayerMock = Mockito.mockStatic(ArenaPlayer.class, withSettings().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+
+        final Arena arena = new Arena("Test");
+        arena.setConfig(this.config);
+        final ArenaTeam red = new ArenaTeam("red", "RED");
+        final ArenaTeam blue = new ArenaTeam("blue", "BLUE");
+
+        this.attacker = this.server.addPlayer();
+        this.teamMate = this.server.addPlayer();
+        this.opponent = this.server.addPlayer();
+        this.fighter(arena, this.attacker, red);
+        this.fighter(arena, this.teamMate, red);
+        this.fighter(arena, this.opponent, blue);
+    }
+
+    @AfterEach
+    void afterEach() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void shouldHandleManyHitsWithoutReadingConfig() {
+        // Given
+        final EntityDamageByEntityEvent[] events = new EntityDamageByEntityEvent[HITS];
+        for (int i = 0; i < HITS; i++) {
+            final PlayerMock defender = (i % 2 == 0) ? this.teamMate : this.opponent;
+            events[i] = new EntityDamageByEntityEvent(this.attacker, defender, DamageCause.ENTITY_ATTACK, 1.0);
+        }
+
+        // When
+        // static mocks are bound to the test thread, so the timeout isn't preemptive
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            for (EntityDamageByEntityEvent event : events) {
+                EntityListener.onEntityDamageByEntity(event);
+            }
+        });
+
+        // Then
+        // team hits are cancelled by teamkill rule, others because the fight hasn't started
+        assertThat(events).allMatch(EntityDamageByEntityEvent::isCancelled);
+        // rules are taken from the config once, not on each hit
+        verify(this.config, times(1)).getBoolean(CFG.PERMS_TEAMKILL);
+        verify(this.config, times(1)).getBoolean(CFG.DAMAGE_FROMOUTSIDERS);
+    }
+
+    private void fighter(Arena arena, PlayerMock player, ArenaTeam team) {
+        final ArenaPlayerTest arenaPlayer = new ArenaPlayerTest(player);
+        arenaPlayer.setArena(arena);
+        arenaPlayer.setTeamMock(team);
+        team.add(arenaPlayer);
+        this.arenaPlayerMock.when(() -> ArenaPlayer.fromPlayer(eq(player))).thenReturn(arenaPlayer);
+    }
+}
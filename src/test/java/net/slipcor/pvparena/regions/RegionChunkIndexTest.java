@@ -0,0 +1,131 @@
+package net.slipcor.pvparena.regions;
+
+import net.slipcor.pvparena.classes.PABlockLocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegionChunkIndexTest {
+
+    private static final String WORLD = "world";
+    private static final String OTHER_WORLD = "world_nether";
+
+    private final List<ArenaRegion> regions = new ArrayList<>();
+
+    @AfterEach
+    void afterEach() {
+        this.regions.forEach(RegionChunkIndex::remove);
+    }
+
+    @Test
+    void shouldReturnEveryRegionContainingLocation() {
+        // Given
+        final ArenaRegion inOneChunk = this.region(WORLD, 0, 0, 15, 15);
+        final ArenaRegion acrossChunks = this.region(WORLD, -20, -20, 40, 40);
+        final ArenaRegion negativeCoords = this.region(WORLD, 100, -50, 130, -10);
+        final ArenaRegion otherWorld = this.region(OTHER_WORLD, 0, 0, 15, 15);
+        final int[][] bounds = {{0, 0, 15, 15}, {-20, -20, 40, 40}, {100, -50, 130, -10}};
+        final ArenaRegion[] sameWorldRegions = {inOneChunk, acrossChunks, negativeCoords};
+
+        for (int x = -40; x <= 150; x += 3) {
+            for (int z = -70; z <= 60; z += 3) {
+                // When
+                final List<ArenaRegion> candidates = RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, x, 64, z));
+
+                // Then
+                for (int i = 0; i < bounds.length; i++) {
+                    if (x >= bounds[i][0] && z >= bounds[i][1] && x <= bounds[i][2] && z <= bounds[i][3]) {
+                        assertThat(candidates).as("candidates at %d;%d", x, z).contains(sameWorldRegions[i]);
+                    }
+                }
+                assertThat(candidates).doesNotContain(otherWorld);
+            }
+        }
+    }
+
+    @Test
+    void shouldNotReturnRegionsOfFarChunks() {
+        // Given
+        final ArenaRegion region = this.region(WORLD, 0, 0, 15, 15);
+
+        // When
+        final List<ArenaRegion> candidates = RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, 500, 64, 500));
+
+        // Then
+        assertThat(candidates).doesNotContain(region);
+    }
+
+    @Test
+    void shouldAlwaysReturnOversizedRegionsOfWorld() {
+        // Given
+        final ArenaRegion small = this.region(WORLD, 0, 0, 15, 15);
+        final ArenaRegion oversized = this.region(WORLD, 0, 0, 2000, 2000);
+
+        // When
+        final List<ArenaRegion> inside = RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, 5, 64, 5));
+        final List<ArenaRegion> outside = RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, 5000, 64, 5000));
+        final List<ArenaRegion> otherWorld = RegionChunkIndex.getCandidates(new PABlockLocation(OTHER_WORLD, 5, 64, 5));
+
+        // Then
+        assertThat(inside).containsExactlyInAnyOrder(small, oversized);
+        assertThat(outside).containsExactly(oversized);
+        assertThat(otherWorld).isEmpty();
+    }
+
+    @Test
+    void shouldForgetRemovedRegions() {
+        // Given
+        final ArenaRegion region = this.region(WORLD, 0, 0, 40, 40);
+        final ArenaRegion oversized = this.region(WORLD, 0, 0, 2000, 2000);
+
+        // When
+        RegionChunkIndex.remove(region);
+        RegionChunkIndex.remove(oversized);
+
+        // Then
+        assertThat(RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, 20, 64, 20))).isEmpty();
+    }
+
+    @Test
+    void shouldReindexMovedRegion() {
+        // Given
+        final ArenaRegion region = mock(ArenaRegion.class);
+        final ArenaRegionShape shape = mock(ArenaRegionShape.class);
+        when(region.getWorldName()).thenReturn(WORLD);
+        when(region.getShape()).thenReturn(shape);
+        when(shape.getMinimumLocation()).thenReturn(
+                new PABlockLocation(WORLD, 0, 0, 0), new PABlockLocation(WORLD, 300, 0, 300));
+        when(shape.getMaximumLocation()).thenReturn(
+                new PABlockLocation(WORLD, 15, 255, 15), new PABlockLocation(WORLD, 315, 255, 315));
+        RegionChunkIndex.add(region);
+        this.regions.add(region);
+
+        // When
+        RegionChunkIndex.update(region);
+
+        // Then
+        assertThat(RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, 5, 64, 5))).doesNotContain(region);
+        assertThat(RegionChunkIndex.getCandidates(new PABlockLocation(WORLD, 305, 64, 305))).contains(region);
+    }
+
+    private ArenaRegion region(String world, int minX, int minZ, int maxX, int maxZ) {
+        final ArenaRegion region = mock(ArenaRegion.class);
+        final ArenaRegionShape shape = mock(ArenaRegionShape.class);
+        when(region.getWorldName()).thenReturn(world);
+        when(region.getShape()).thenReturn(shape);
+        when(shape.getMinimumLocation()).thenReturn(new PABlockLocation(world, minX, 0, minZ));
+        when(shape.getMaximumLocation()).thenReturn(new PABlockLocation(world, maxX, 255, maxZ));
+        RegionChunkIndex.add(region);
+        this.regions.add(region);
+        return region;
+    }
+}